@@ -0,0 +1,53 @@
+package org.krmdemo.techlabs.core.dump;
+
+import org.krmdemo.techlabs.core.utils.CoreStreamUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.nameValue;
+
+/**
+ * JMH-benchmark to measure the whole dump-pipeline of {@link DumpUtils#dumpAsJsonTxt(Object)}
+ * and {@link DumpUtils#dumpAsYamlTxt(Object)} for the linked map of named integers.
+ * <hr/>
+ * The dump is single-threaded - so, there's no {@code parallel}-parameter here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DumpUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    SequencedMap<String, Integer> valuesMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        valuesMap = CoreStreamUtils.linkedMap(IntStream.range(0, size)
+            .mapToObj(i -> nameValue("key-" + i, i)));
+    }
+
+    @Benchmark
+    public String dumpAsJsonTxt() {
+        return DumpUtils.dumpAsJsonTxt(valuesMap);
+    }
+
+    @Benchmark
+    public String dumpAsYamlTxt() {
+        return DumpUtils.dumpAsYamlTxt(valuesMap);
+    }
+}
@@ -0,0 +1,64 @@
+package org.krmdemo.techlabs.core.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.intsList;
+
+/**
+ * JMH-benchmark to measure the collectors of {@link CoreCollectors}, which accumulate the elements in reverse order
+ * (the input is the list of boxed {@link Integer}s, that is streamed either sequentially or in parallel).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CoreCollectorsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    List<Integer> values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = intsList(new RandomHelper(size).randomRangeArr(0, size));
+    }
+
+    private Stream<Integer> valuesStream() {
+        return parallel ? values.parallelStream() : values.stream();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> toListReversed() {
+        return valuesStream().collect(CoreCollectors.toListReversed());
+    }
+
+    @Benchmark
+    public LinkedList<Integer> toLinkedListReversed() {
+        return valuesStream().collect(CoreCollectors.toLinkedListReversed());
+    }
+
+    @Benchmark
+    public Deque<Integer> toDequeReversed() {
+        return valuesStream().collect(CoreCollectors.toDequeReversed());
+    }
+}
@@ -0,0 +1,244 @@
+package org.krmdemo.techlabs.core.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * JMH-benchmark to measure the reading of text-file with {@code size} lines (like the lines of log-file), where
+ * {@link CoreFileUtils#loadFileLines(Path)} that keeps all the lines in the list is compared with the lazy
+ * {@link CoreFileUtils#streamFileLines(Path)} and with the memory-mapped {@link CoreFileUtils#mappedFileLines(Path, Charset, boolean)}
+ * (sequential and parallel), where each line is processed as the sum of its lengths.
+ * The copying of the directory with {@code min(size, }{@value #MAX_MIRROR_FILES}{@code )} files one by one
+ * with {@link CoreFileUtils#copyFile(java.io.File, java.io.File)} is compared with {@link CoreFileUtils#mirrorDir(Path, Path, CoreFileUtils.MirrorOptions)},
+ * which copies the files concurrently (or skips the unchanged ones). The removing of such directory by walking and
+ * sorting all its paths in reverse order (the initial implementation of {@link CoreFileUtils#removeSilent(java.io.File)})
+ * is compared with the post-order {@link CoreFileUtils#removeTree(Path, boolean)} (sequential and parallel).
+ * The saving of {@code min(size, }{@value #MAX_WRITE_LINES}{@code )} lines that are joined into one string
+ * by {@link CoreFileUtils#saveFileContent(java.io.File, String, CoreFileUtils.WriteMode)} (in each write-mode)
+ * is compared with the streaming {@link CoreFileUtils#writeFileContent(Path, Charset, CoreFileUtils.WriteMode, org.apache.commons.io.function.IOConsumer)}.
+ * The encoding of JPEG-file of {@code min(size, }{@value #MAX_IMAGE_BYTES}{@code )} bytes as data-URI by the initial
+ * implementation of {@link CoreFileUtils#imageFileData64(java.io.File)} (that loads, encodes and concatenates the arrays)
+ * is compared with the current one and with the streaming {@link CoreFileUtils#appendImageData64(java.io.File, Appendable)}.
+ * The repeated loading of the same template (of {@code min(size, }{@value #MAX_WRITE_LINES}{@code )} lines)
+ * by {@link CoreFileUtils#loadFileAsText(java.io.File)} is compared with {@link TextContentCache#loadFileAsText(java.io.File)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CoreFileUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    static final int MAX_MIRROR_FILES = 5000;
+
+    static final int MAX_WRITE_LINES = 100_000;
+
+    static final int MAX_IMAGE_BYTES = 1 << 23;
+
+    Path linesPath;
+    Path mirrorSourceDir;
+    Path mirrorTargetDir;
+    List<Path> mirrorFiles;
+    List<String> writeLines;
+    Path writePath;
+    Path imagePath;
+    Path templatePath;
+    TextContentCache contentCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        linesPath = Files.createTempFile("core-file-utils-benchmark-", ".log");
+        RandomHelper rnd = new RandomHelper(size);
+        Files.writeString(linesPath, IntStream.range(0, size)
+            .mapToObj(i -> String.format("%08d INFO [thread-%d] %s", i, i % 16, rnd.randomLowerCase(20 + i % 60)))
+            .collect(Collectors.joining("\n", "", "\n")));
+        writeLines = IntStream.range(0, Math.min(size, MAX_WRITE_LINES))
+            .mapToObj(i -> String.format("<li id=\"item-%d\">%s</li>", i, rnd.randomLowerCase(20 + i % 60)))
+            .toList();
+        writePath = Files.createTempFile("core-file-utils-benchmark-", ".html");
+        templatePath = Files.createTempFile("core-file-utils-benchmark-", ".html");
+        Files.write(templatePath, writeLines);
+        contentCache = TextContentCache.of(Long.MAX_VALUE);
+        imagePath = Files.createTempFile("core-file-utils-benchmark-", ".jpg");
+        byte[] imageBytes = rnd.randomAsciiBytes(Math.min(size, MAX_IMAGE_BYTES), RandomHelper.Alphabet.ALPHANUMERIC);
+        imageBytes[0] = (byte) 0xFF;  // <-- the magic bytes of JPEG
+        Files.write(imagePath, imageBytes);
+        mirrorSourceDir = Files.createTempDirectory("core-file-utils-mirror-source-");
+        mirrorTargetDir = Files.createTempDirectory("core-file-utils-mirror-target-");
+        mirrorFiles = IntStream.range(0, Math.min(size, MAX_MIRROR_FILES))
+            .mapToObj(i -> Paths.get("dir-" + i % 50, "file-" + i + ".html"))
+            .toList();
+        for (Path mirrorFile : mirrorFiles) {
+            Files.createDirectories(mirrorSourceDir.resolve(mirrorFile).getParent());
+            Files.writeString(mirrorSourceDir.resolve(mirrorFile), rnd.randomLowerCase(4096));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(linesPath);
+        Files.deleteIfExists(writePath);
+        Files.deleteIfExists(imagePath);
+        Files.deleteIfExists(templatePath);
+        CoreFileUtils.removeSilent(mirrorSourceDir.toFile());
+        CoreFileUtils.removeSilent(mirrorTargetDir.toFile());
+    }
+
+    @Benchmark
+    public long loadFileLines() {
+        return CoreFileUtils.loadFileLines(linesPath).stream().mapToLong(String::length).sum();
+    }
+
+    @Benchmark
+    public long streamFileLines() {
+        return CoreFileUtils.streamFileLines(linesPath).mapToLong(String::length).sum();
+    }
+
+    @Benchmark
+    public long mappedFileLines() {
+        return CoreFileUtils.mappedFileLines(linesPath, StandardCharsets.UTF_8, false).mapToLong(String::length).sum();
+    }
+
+    @Benchmark
+    public long mappedFileLinesParallel() {
+        return CoreFileUtils.mappedFileLines(linesPath, StandardCharsets.UTF_8, true).mapToLong(String::length).sum();
+    }
+
+    @Benchmark
+    public Path saveFileContentDirect() {
+        CoreFileUtils.saveFileContent(writePath.toFile(), String.join("\n", writeLines), CoreFileUtils.WriteMode.DIRECT);
+        return writePath;
+    }
+
+    @Benchmark
+    public Path saveFileContentAtomic() {
+        CoreFileUtils.saveFileContent(writePath.toFile(), String.join("\n", writeLines), CoreFileUtils.WriteMode.ATOMIC);
+        return writePath;
+    }
+
+    @Benchmark
+    public Path saveFileContentAtomicDurable() {
+        CoreFileUtils.saveFileContent(writePath.toFile(), String.join("\n", writeLines), CoreFileUtils.WriteMode.ATOMIC_DURABLE);
+        return writePath;
+    }
+
+    @Benchmark
+    public Path writeFileContentAtomic() {
+        CoreFileUtils.writeFileContent(writePath, StandardCharsets.UTF_8, CoreFileUtils.WriteMode.ATOMIC, writer -> {
+            for (String line : writeLines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        });
+        return writePath;
+    }
+
+    @Benchmark
+    public String loadTemplateAsText() {
+        return CoreFileUtils.loadFileAsText(templatePath.toFile());
+    }
+
+    @Benchmark
+    public String cachedTemplateAsText() {
+        return contentCache.loadFileAsText(templatePath.toFile());
+    }
+
+    @Benchmark
+    public String imageFileData64Copies() {
+        return "data:image/jpg;base64," + CoreFileUtils.encodeBase64(CoreFileUtils.loadFileAsBytes(imagePath.toFile()));
+    }
+
+    @Benchmark
+    public String imageFileData64() {
+        return CoreFileUtils.imageFileData64(imagePath.toFile());
+    }
+
+    @Benchmark
+    public Writer appendImageData64() {
+        return CoreFileUtils.appendImageData64(imagePath.toFile(), Writer.nullWriter());
+    }
+
+    @Benchmark
+    public int copyFilesOneByOne() {
+        for (Path mirrorFile : mirrorFiles) {
+            CoreFileUtils.copyFile(mirrorSourceDir.resolve(mirrorFile).toFile(), mirrorTargetDir.resolve(mirrorFile).toFile());
+        }
+        return mirrorFiles.size();
+    }
+
+    @Benchmark
+    public CoreFileUtils.MirrorResult mirrorDirAlways() {
+        return CoreFileUtils.mirrorDir(mirrorSourceDir, mirrorTargetDir,
+            CoreFileUtils.MirrorOptions.of(CoreFileUtils.ChangeDetection.ALWAYS));
+    }
+
+    @Benchmark
+    public CoreFileUtils.MirrorResult mirrorDirUnchanged() {
+        return CoreFileUtils.mirrorDir(mirrorSourceDir, mirrorTargetDir);
+    }
+
+    @Benchmark
+    public long removeSortedPaths(RemoveTreeState state) throws IOException {
+        try (Stream<Path> walkPathStream = Files.walk(state.treeDir)) {
+            return walkPathStream.sorted(Comparator.reverseOrder())
+                .filter(CoreFileUtils::removePathSilent)
+                .count();
+        }
+    }
+
+    @Benchmark
+    public CoreFileUtils.RemoveResult removeTree(RemoveTreeState state) {
+        return CoreFileUtils.removeTree(state.treeDir, false);
+    }
+
+    @Benchmark
+    public CoreFileUtils.RemoveResult removeTreeParallel(RemoveTreeState state) {
+        return CoreFileUtils.removeTree(state.treeDir, true);
+    }
+
+    /**
+     * The tree of mirrored files, which is copied before each invocation of benchmark to remove it
+     */
+    @State(Scope.Thread)
+    public static class RemoveTreeState {
+
+        Path treeDir;
+
+        @Setup(Level.Invocation)
+        public void setUp(CoreFileUtilsBenchmark benchmark) throws IOException {
+            treeDir = Files.createTempDirectory("core-file-utils-remove-tree-");
+            CoreFileUtils.mirrorDir(benchmark.mirrorSourceDir, treeDir,
+                CoreFileUtils.MirrorOptions.of(CoreFileUtils.ChangeDetection.ALWAYS).withHardLinks(true));
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            CoreFileUtils.removeTree(treeDir);
+        }
+    }
+}
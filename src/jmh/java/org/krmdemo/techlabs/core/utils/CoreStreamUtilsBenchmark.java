@@ -0,0 +1,191 @@
+package org.krmdemo.techlabs.core.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.keyValue;
+
+/**
+ * JMH-benchmark to measure {@link CoreStreamUtils#sortedMap(Stream)} and {@link CoreStreamUtils#linkedMap(Stream)}
+ * over the entries with shuffled keys, where every tenth key is duplicated (to involve the merge-function).
+ * The same entries are split into four already sorted partitions to compare re-sorting them by
+ * {@link CoreStreamUtils#sortedMap(Stream)} with the lazy k-way merge of
+ * {@link CoreStreamUtils#mergeSorted(MergeFunction, Stream[])}. Also the building and lookups of
+ * {@link CoreStreamUtils#frozenSortedMap(Stream)} are compared with the ones of {@link java.util.TreeMap},
+ * and the summing aggregation by {@link CoreCollectors#toSortedMap(Function, Function, MergeFunction)}
+ * is compared with the concurrent one by {@link CoreCollectors#toConcurrentSortedMap(Function, Function, MergeFunction)}.
+ * The reversed streams by {@link CoreStreamUtils#reversed(int...)} and {@link CoreStreamUtils#reversedStream(List, boolean)}
+ * (with the spliterators that are split in halves) are compared with the reversed range of indexes that is mapped to elements.
+ * The sliding windows by {@link CoreStreamUtils#windows(Stream, int)} over the shared buffer are compared with
+ * the copy of each window, and the batches by {@link CoreStreamUtils#batches(Stream, int)} are also measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CoreStreamUtilsBenchmark {
+
+    private static final int WINDOW_SIZE = 50;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    List<Map.Entry<Integer, Integer>> entries;
+    List<List<Map.Entry<Integer, Integer>>> sortedPartitions;
+    NavigableMap<Integer, Integer> treeLookupMap;
+    NavigableMap<Integer, Integer> frozenLookupMap;
+    Integer[] lookupKeys;
+    int[] valuesArr;
+    List<Integer> valuesList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entries = Arrays.stream(new RandomHelper(size).randomRangeArr(0, size))
+            .mapToObj(value -> keyValue(value % 10 == 9 ? value - 1 : value, value))
+            .toList();
+        int partitionSize = (entries.size() + 3) / 4;
+        sortedPartitions = Stream.iterate(0, from -> from < entries.size(), from -> from + partitionSize)
+            .map(from -> entries.subList(from, Math.min(from + partitionSize, entries.size())).stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .toList())
+            .toList();
+        treeLookupMap = CoreStreamUtils.sortedMap(entries.stream());
+        frozenLookupMap = CoreStreamUtils.frozenSortedMap(entries.stream());
+        lookupKeys = Arrays.stream(new RandomHelper(size + 1).randomRangeArr(0, size)).boxed().toArray(Integer[]::new);
+        valuesArr = new RandomHelper(size + 2).randomRangeArr(0, size);
+        valuesList = Arrays.stream(valuesArr).boxed().toList();
+    }
+
+    private Stream<Map.Entry<Integer, Integer>> entriesStream() {
+        return parallel ? entries.parallelStream() : entries.stream();
+    }
+
+    @Benchmark
+    public NavigableMap<Integer, Integer> sortedMap() {
+        return CoreStreamUtils.sortedMap(entriesStream());
+    }
+
+    @Benchmark
+    public SequencedMap<Integer, Integer> linkedMap() {
+        return CoreStreamUtils.linkedMap(entriesStream());
+    }
+
+    @Benchmark
+    public NavigableMap<Integer, Integer> sortedMapOfPartitions() {
+        Stream<Map.Entry<Integer, Integer>> partitionsStream = sortedPartitions.stream().flatMap(List::stream);
+        return CoreStreamUtils.sortedMap(parallel ? partitionsStream.parallel() : partitionsStream);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Map.Entry<Integer, Integer>> mergeSortedPartitions() {
+        // the k-way merge itself is sequential - so, the parameter "parallel" does not matter here
+        return CoreStreamUtils.mergeSorted(MergeFunction.OVERWRITE,
+            sortedPartitions.stream().map(List::stream).toArray(Stream[]::new)).toList();
+    }
+
+    @Benchmark
+    public NavigableMap<Integer, Integer> frozenSortedMap() {
+        return CoreStreamUtils.frozenSortedMap(entriesStream());
+    }
+
+    @Benchmark
+    public long sortedMapLookups() {
+        return lookups(treeLookupMap);
+    }
+
+    @Benchmark
+    public long frozenSortedMapLookups() {
+        return lookups(frozenLookupMap);
+    }
+
+    private long lookups(NavigableMap<Integer, Integer> lookupMap) {
+        // the parameter "parallel" does not matter for lookups
+        long sum = 0L;
+        for (Integer key : lookupKeys) {
+            Integer value = lookupMap.get(key);
+            sum += value == null ? lookupMap.floorKey(key) : value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public NavigableMap<Integer, Integer> sortedMapSum() {
+        return entriesStream().collect(CoreCollectors.toSortedMap(
+            entry -> entry.getKey() % 1000, Map.Entry::getValue, MergeFunction.SUM));
+    }
+
+    @Benchmark
+    public NavigableMap<Integer, Integer> concurrentSortedMapSum() {
+        return entriesStream().collect(CoreCollectors.toConcurrentSortedMap(
+            entry -> entry.getKey() % 1000, Map.Entry::getValue, MergeFunction.SUM));
+    }
+
+    @Benchmark
+    public long reversedRangeMapSum() {
+        IntStream reversedStream = IntStream.rangeClosed(1, valuesArr.length).map(i -> valuesArr[valuesArr.length - i]);
+        return (parallel ? reversedStream.parallel() : reversedStream).asLongStream().map(value -> value * value).sum();
+    }
+
+    @Benchmark
+    public long reversedSpliteratorSum() {
+        IntStream reversedStream = CoreStreamUtils.reversed(valuesArr);
+        return (parallel ? reversedStream.parallel() : reversedStream).asLongStream().map(value -> value * value).sum();
+    }
+
+    @Benchmark
+    public List<Integer> reversedListViewToList() {
+        Stream<Integer> reversedStream = valuesList.reversed().stream();
+        return (parallel ? reversedStream.parallel() : reversedStream).map(value -> value * 2).toList();
+    }
+
+    @Benchmark
+    public List<Integer> reversedStreamToList() {
+        return CoreStreamUtils.reversedStream(valuesList, parallel).map(value -> value * 2).toList();
+    }
+
+    @Benchmark
+    public long windowsCopyingSum() {
+        // the parameter "parallel" does not matter for sliding windows
+        return IntStream.rangeClosed(0, valuesList.size() - WINDOW_SIZE)
+            .mapToObj(from -> List.copyOf(valuesList.subList(from, from + WINDOW_SIZE)))
+            .mapToLong(window -> window.getFirst() + window.getLast())
+            .sum();
+    }
+
+    @Benchmark
+    public long windowsSum() {
+        return CoreStreamUtils.windows(valuesList.stream(), WINDOW_SIZE)
+            .mapToLong(window -> window.getFirst() + window.getLast())
+            .sum();
+    }
+
+    @Benchmark
+    public long batchesSum() {
+        return CoreStreamUtils.batches(valuesList.stream(), 500)
+            .mapToLong(batch -> batch.getFirst() + batch.getLast())
+            .sum();
+    }
+}
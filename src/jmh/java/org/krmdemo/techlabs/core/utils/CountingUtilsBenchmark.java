@@ -0,0 +1,105 @@
+package org.krmdemo.techlabs.core.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.intsList;
+
+/**
+ * JMH-benchmark to measure {@link CountingUtils#countingMap(Stream)} over the stream of random {@link Integer}s,
+ * where the number of distinct values is about one tenth of the stream size, in comparison with
+ * {@link CountingUtils#countingObjMap(Stream)}, {@link CountingUtils#countingConcurrentMap(Stream)}
+ * and primitive {@link CountingUtils#countingIntMap(IntStream)}; the exact top-K selection
+ * {@link CountingUtils#topCounts(Stream, int)} is compared with fixed-memory
+ * {@link CountingUtils#heavyHitters(Stream, int, double)}, and the exact number of distinct values
+ * {@code countingMap(...).size()} is compared with the estimation of {@link CountingUtils#hyperLogLog(Stream)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CountingUtilsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    int[] valuesArr;
+    List<Integer> values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        valuesArr = new RandomHelper(size).ints(size, 0, Math.max(1, size / 10)).toArray();
+        values = intsList(valuesArr);
+    }
+
+    private Stream<Integer> valuesStream() {
+        return parallel ? values.parallelStream() : values.stream();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> countingMap() {
+        return CountingUtils.countingMap(valuesStream());
+    }
+
+    @Benchmark
+    public ObjCountingMap<Integer> countingObjMap() {
+        return CountingUtils.countingObjMap(valuesStream());
+    }
+
+    @Benchmark
+    public ConcurrentCountingMap<Integer> countingConcurrentMap() {
+        return CountingUtils.countingConcurrentMap(valuesStream());
+    }
+
+    @Benchmark
+    public IntCountingMap countingIntMap() {
+        IntStream valuesStream = Arrays.stream(valuesArr);
+        return CountingUtils.countingIntMap(parallel ? valuesStream.parallel() : valuesStream);
+    }
+
+    @Benchmark
+    public SequencedMap<Integer, Integer> topCounts() {
+        return CountingUtils.topCounts(valuesStream(), 20);
+    }
+
+    @Benchmark
+    public SequencedMap<Integer, Long> heavyHitters() {
+        return CountingUtils.heavyHitters(valuesStream(), 20, 0.001);
+    }
+
+    @Benchmark
+    public int exactDistinctCount() {
+        return CountingUtils.countingMap(valuesStream()).size();
+    }
+
+    @Benchmark
+    public long hyperLogLogDistinctCount() {
+        return CountingUtils.hyperLogLog(valuesStream()).cardinality();
+    }
+
+    @Benchmark
+    public long hyperLogLogIntDistinctCount() {
+        IntStream valuesStream = Arrays.stream(valuesArr);
+        return CountingUtils.hyperLogLog(parallel ? valuesStream.parallel() : valuesStream,
+            HyperLogLogSketch.DEFAULT_PRECISION).cardinality();
+    }
+}
@@ -0,0 +1,206 @@
+package org.krmdemo.techlabs.core.utils;
+
+import org.krmdemo.techlabs.core.utils.RandomHelper.Alphabet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * JMH-benchmark to measure the generation of random strings by {@link RandomHelper}, where the initial implementation
+ * of {@link RandomHelper#randomLowerCase(int)} (that boxes each character and joins one-char strings) is compared with
+ * the current one and with the bulk generation by {@link RandomHelper#randomString(int, Alphabet)},
+ * {@link RandomHelper#randomAsciiBytes(int, Alphabet)} and {@link RandomHelper#fillRandomChars(char[], int, int, Alphabet)}.
+ * The array generators of {@link RandomHelper} (over the atomic seed of {@link java.util.Random}) are compared with
+ * the ones of {@link SplittableRandomHelper}, which fill the blocks of array by split generators sequentially or in parallel.
+ * The sampling of distinct integers in the dense range (of size {@code 4*size}) is compared with the initial implementation
+ * of {@link RandomHelper#randomDistinctIntArr(long, int, int)}, which boxed and de-duplicated {@code 5*size} candidates.
+ * The reservoir sampling of {@value #SAMPLE_SIZE} elements by {@link RandomHelper#toSample(int)} is compared with
+ * the shuffling of the whole collected list. The in-place shuffles of {@link RandomHelper} are compared with the shuffle
+ * by random buckets of {@link SplittableRandomHelper#shuffleArr(int[], boolean)}, and the visiting of the range in random
+ * order by the lazy {@link RandomHelper#randomPermutation(long)} is compared with the shuffled array of that range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RandomHelperBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    static final int SAMPLE_SIZE = 100;
+
+    RandomHelper rnd;
+    SplittableRandomHelper splittableRnd;
+    char[] charsBuffer;
+    List<Integer> valuesList;
+    int[] intsArr;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rnd = new RandomHelper(size);
+        splittableRnd = new SplittableRandomHelper(size);
+        charsBuffer = new char[size];
+        valuesList = IntStream.range(0, size).boxed().toList();
+        intsArr = IntStream.range(0, size).toArray();
+    }
+
+    @Benchmark
+    public String boxedLowerCase() {
+        return rnd.ints(size, 'a', 'z' + 1)
+            .mapToObj(chInt -> (char)chInt)
+            .map(String::valueOf)
+            .collect(joining());
+    }
+
+    @Benchmark
+    public String randomLowerCase() {
+        return rnd.randomLowerCase(size);
+    }
+
+    @Benchmark
+    public String randomStringLowerCase() {
+        return rnd.randomString(size, Alphabet.LOWER_CASE);
+    }
+
+    @Benchmark
+    public String randomStringAlphanumeric() {
+        return rnd.randomString(size, Alphabet.ALPHANUMERIC);
+    }
+
+    @Benchmark
+    public byte[] randomAsciiBytes() {
+        return rnd.randomAsciiBytes(size, Alphabet.LOWER_CASE);
+    }
+
+    @Benchmark
+    public char[] fillRandomChars() {
+        rnd.fillRandomChars(charsBuffer, 0, size, Alphabet.LOWER_CASE);
+        return charsBuffer;
+    }
+
+    @Benchmark
+    public int[] randomSortedIntArr() {
+        return rnd.randomSortedIntArr(size, 0, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int[] splittableSortedIntArr() {
+        return splittableRnd.randomSortedIntArr(size, 0, Integer.MAX_VALUE, false);
+    }
+
+    @Benchmark
+    public int[] splittableSortedIntArrParallel() {
+        return splittableRnd.randomSortedIntArr(size, 0, Integer.MAX_VALUE, true);
+    }
+
+    @Benchmark
+    public int[] randomDistinctIntArr() {
+        return rnd.randomDistinctIntArr(size, 0, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int[] boxedDistinctIntArrDense() {
+        return rnd.ints(5L * size, 0, 4 * size).distinct().limit(size).toArray();
+    }
+
+    @Benchmark
+    public int[] randomDistinctIntArrDense() {
+        return rnd.randomDistinctIntArr(size, 0, 4 * size);
+    }
+
+    @Benchmark
+    public int[] boxedIncreasingIntArrDense() {
+        return rnd.ints(5L * size, 0, 4 * size).distinct().limit(size).sorted().toArray();
+    }
+
+    @Benchmark
+    public int[] randomIncreasingIntArrDense() {
+        return rnd.randomIncreasingIntArr(size, 0, 4 * size);
+    }
+
+    @Benchmark
+    public int[] splittableDistinctIntArrParallel() {
+        return splittableRnd.randomDistinctIntArr(size, 0, Integer.MAX_VALUE, true);
+    }
+
+    @Benchmark
+    public List<Integer> shuffledSample() {
+        List<Integer> shuffled = valuesList.stream().collect(Collectors.toCollection(ArrayList::new));
+        Collections.shuffle(shuffled, rnd);
+        return shuffled.subList(0, Math.min(SAMPLE_SIZE, size));
+    }
+
+    @Benchmark
+    public List<Integer> reservoirSample() {
+        return valuesList.stream().collect(rnd.toSample(SAMPLE_SIZE));
+    }
+
+    @Benchmark
+    public List<Integer> weightedReservoirSample() {
+        return valuesList.stream().collect(rnd.toWeightedSample(SAMPLE_SIZE, value -> 1.0 + (value & 7)));
+    }
+
+    @Benchmark
+    public int[] shuffleStreamRange() {
+        return rnd.shuffle(IntStream.range(0, size));
+    }
+
+    @Benchmark
+    public int[] randomRangeArr() {
+        return rnd.randomRangeArr(0, size);
+    }
+
+    @Benchmark
+    public int[] shuffleIntArr() {
+        rnd.shuffleArr(intsArr);
+        return intsArr;
+    }
+
+    @Benchmark
+    public int[] splittableShuffleIntArr() {
+        splittableRnd.shuffleArr(intsArr, false);
+        return intsArr;
+    }
+
+    @Benchmark
+    public int[] splittableShuffleIntArrParallel() {
+        splittableRnd.shuffleArr(intsArr, true);
+        return intsArr;
+    }
+
+    @Benchmark
+    public long randomRangeArrSum() {
+        long sum = 0;
+        for (int value : rnd.randomRangeArr(0, size)) {
+            sum = 31 * sum + value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long lazyPermutationSum() {
+        long sum = 0;
+        for (PrimitiveIterator.OfLong iterator = rnd.randomPermutation(size).iterator(); iterator.hasNext(); ) {
+            sum = 31 * sum + iterator.nextLong();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,190 @@
+package org.krmdemo.techlabs.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.krmdemo.techlabs.core.utils.JacksonUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.StreamSupport;
+
+/**
+ * A command-line tool that compares the JSON-result of JMH-benchmarks (see {@code -rf json} option of JMH)
+ * with the committed baseline (either of the same format or trimmed by {@link JmhBaselineTrim})
+ * and fails if any common benchmark becomes worse than the baseline more than the passed tolerance
+ * (the relative value like {@code 0.25} for 25%).
+ * <hr/>
+ * Two metrics are compared for each pair of benchmarks with the same name, mode and parameters:<ul>
+ *     <li>the primary score (lower is better for time-modes and higher is better for {@code thrpt}-mode)</li>
+ *     <li>the normalized allocation per operation {@code gc.alloc.rate.norm} provided by {@code -prof gc}</li>
+ * </ul>
+ * The score is treated as worse only if it exceeds the tolerance and the difference is greater than the sum
+ * of the errors of both scores (so, the noisy measurements, whose confidence intervals overlap, are reported
+ * as {@code (noisy)}, but not treated as failures). The benchmarks that are present only in one of the files
+ * are reported, but not treated as failures as well.
+ * <hr/>
+ * In <b>advisory</b> mode the regressions are only reported (the baseline that is recorded on a different machine,
+ * or on the machine with few cores, is not stable enough to fail the build).
+ */
+public class JmhBaselineCompare {
+
+    /**
+     * The name of secondary metric provided by JMH's {@code gc}-profiler with allocated bytes per operation
+     */
+    public static final String METRIC_NAME__ALLOC_NORM = "gc.alloc.rate.norm";
+
+    /**
+     * The allocations that are less than this threshold (in bytes per operation) are not compared at all,
+     * because the relative deviation of such small values is too noisy
+     */
+    public static final double ALLOC_NORM_THRESHOLD = 64.0;
+
+    /**
+     * A single JMH-measurement that is identified by {@link #key()}
+     *
+     * @param key the name of benchmark, its mode and parameters
+     * @param mode the mode of benchmark ({@code thrpt}, {@code avgt}, {@code sample} or {@code ss})
+     * @param score the primary score of benchmark
+     * @param scoreError the error of primary score (half of the confidence interval), or {@link Double#NaN} if unknown
+     * @param scoreUnit the units of primary score
+     * @param allocNorm the allocated bytes per operation (or {@link Double#NaN} if "gc"-profiler was not used)
+     */
+    public record Measurement(String key, String mode, double score, double scoreError, String scoreUnit, double allocNorm) {
+
+        /**
+         * @return {@code true} if higher score is better for the {@link #mode()} of this measurement
+         */
+        public boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        /**
+         * @param other the measurement to compare with
+         * @return {@code true} if the difference of scores is within the sum of their errors (the unknown error is zero)
+         */
+        public boolean overlaps(Measurement other) {
+            double errorSum = (Double.isNaN(scoreError) ? 0.0 : scoreError)
+                + (Double.isNaN(other.scoreError) ? 0.0 : other.scoreError);
+            return Math.abs(score - other.score) <= errorSum;
+        }
+    }
+
+    /**
+     * Loading the measurements from JMH-result JSON-file.
+     *
+     * @param jmhResultFile the JSON-file with the result of JMH-benchmarks
+     * @return a sorted map of measurements by their keys
+     */
+    public static NavigableMap<String, Measurement> loadMeasurements(File jmhResultFile) {
+        JsonNode resultArr = JacksonUtils.jsonTreeFromFile(jmhResultFile);
+        if (resultArr == null || !resultArr.isArray()) {
+            throw new IllegalStateException(String.format(
+                "could not load JMH-result from file '%s' as JSON-array", jmhResultFile));
+        }
+        NavigableMap<String, Measurement> measurementsMap = new TreeMap<>();
+        StreamSupport.stream(resultArr.spliterator(), false)
+            .map(JmhBaselineCompare::measurement)
+            .forEach(m -> measurementsMap.put(m.key(), m));
+        return measurementsMap;
+    }
+
+    /**
+     * @param resultNode either the full JMH-result of a benchmark or its trimmed form (see {@link JmhBaselineTrim})
+     * @return the measurement of the benchmark
+     */
+    static Measurement measurement(JsonNode resultNode) {
+        StringBuilder sbKey = new StringBuilder(resultNode.path("benchmark").asText());
+        String mode = resultNode.path("mode").asText();
+        sbKey.append(" [").append(mode).append("]");
+        resultNode.path("params").properties().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> sbKey.append(" ").append(e.getKey()).append("=").append(e.getValue().asText()));
+        JsonNode primaryMetric = resultNode.has("primaryMetric") ? resultNode.path("primaryMetric") : resultNode;
+        double allocNorm = resultNode.path(METRIC_NAME__ALLOC_NORM).asDouble(Double.NaN);
+        for (Map.Entry<String, JsonNode> secondary : resultNode.path("secondaryMetrics").properties()) {
+            // older versions of JMH prepend the names of profiler's metrics with the middle-dot symbol
+            if (secondary.getKey().replace("·", "").equals(METRIC_NAME__ALLOC_NORM)) {
+                allocNorm = secondary.getValue().path("score").asDouble(Double.NaN);
+            }
+        }
+        return new Measurement(sbKey.toString(), mode,
+            primaryMetric.path("score").asDouble(Double.NaN),
+            primaryMetric.path("scoreError").asDouble(Double.NaN),
+            primaryMetric.path("scoreUnit").asText(),
+            allocNorm);
+    }
+
+    /**
+     * Comparing the actual measurements with the baseline ones.
+     *
+     * @param baselineMap the baseline measurements
+     * @param actualMap the actual measurements
+     * @param tolerance the relative degradation that is still acceptable (like {@code 0.25} for 25%)
+     * @return the list of human-readable descriptions of regressions (empty if there's no regressions)
+     */
+    public static List<String> regressions(NavigableMap<String, Measurement> baselineMap,
+                                           NavigableMap<String, Measurement> actualMap,
+                                           double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Measurement actual : actualMap.values()) {
+            Measurement baseline = baselineMap.get(actual.key());
+            if (baseline == null) {
+                System.out.printf("(new) %s :: %.3f %s%n", actual.key(), actual.score(), actual.scoreUnit());
+                continue;
+            }
+            double scoreRatio = actual.higherIsBetter()
+                ? baseline.score() / actual.score()
+                : actual.score() / baseline.score();
+            boolean exceeded = scoreRatio > 1.0 + tolerance;
+            boolean worse = exceeded && !actual.overlaps(baseline);
+            System.out.printf("%-7s %s :: %.3f --> %.3f %s (x%.2f)%n",
+                worse ? "(WORSE)" : exceeded ? "(noisy)" : "(ok)",
+                actual.key(), baseline.score(), actual.score(), actual.scoreUnit(), scoreRatio);
+            if (worse) {
+                regressions.add(String.format("%s - score %.3f --> %.3f %s",
+                    actual.key(), baseline.score(), actual.score(), actual.scoreUnit()));
+            }
+            if (baseline.allocNorm() > ALLOC_NORM_THRESHOLD && actual.allocNorm() > ALLOC_NORM_THRESHOLD
+                    && actual.allocNorm() / baseline.allocNorm() > 1.0 + tolerance) {
+                regressions.add(String.format("%s - allocation %.0f --> %.0f B/op",
+                    actual.key(), baseline.allocNorm(), actual.allocNorm()));
+            }
+        }
+        baselineMap.keySet().stream()
+            .filter(key -> !actualMap.containsKey(key))
+            .forEach(key -> System.out.printf("(skipped) %s%n", key));
+        return regressions;
+    }
+
+    /**
+     * The entry-point of command-line tool.
+     *
+     * @param args positional arguments: baseline-file, actual result-file, tolerance and optional advisory-flag
+     */
+    public static void main(String[] args) {
+        if (args.length != 3 && args.length != 4) {
+            throw new IllegalArgumentException(
+                "usage: JmhBaselineCompare <baseline-json-file> <result-json-file> <tolerance> [<advisory>]");
+        }
+        NavigableMap<String, Measurement> baselineMap = loadMeasurements(new File(args[0]));
+        NavigableMap<String, Measurement> actualMap = loadMeasurements(new File(args[1]));
+        double tolerance = Double.parseDouble(args[2]);
+        boolean advisory = args.length == 4 && Boolean.parseBoolean(args[3]);
+        List<String> regressions = regressions(baselineMap, actualMap, tolerance);
+        if (!regressions.isEmpty()) {
+            String message = String.format(
+                "%d JMH-benchmark(s) are worse than the baseline more than %.0f%%:%n%s",
+                regressions.size(), tolerance * 100, String.join(System.lineSeparator(), regressions));
+            if (!advisory) {
+                throw new IllegalStateException(message);
+            }
+            System.out.printf("(advisory) %s%n", message);
+            return;
+        }
+        System.out.printf("all %d common JMH-benchmark(s) are within %.0f%% of the baseline%n",
+            actualMap.keySet().stream().filter(baselineMap::containsKey).count(), tolerance * 100);
+    }
+}
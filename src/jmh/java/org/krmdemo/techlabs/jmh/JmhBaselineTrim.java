@@ -0,0 +1,97 @@
+package org.krmdemo.techlabs.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.krmdemo.techlabs.core.dump.JacksonTree;
+import org.krmdemo.techlabs.core.utils.CoreFileUtils;
+import org.krmdemo.techlabs.core.utils.JacksonUtils;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.StreamSupport;
+
+/**
+ * A command-line tool that converts the JSON-result of JMH-benchmarks (see {@code -rf json} option of JMH)
+ * into the trimmed baseline, which is committed and compared by {@link JmhBaselineCompare}. Only the values
+ * that are compared are kept for each benchmark (the raw data, percentiles, JVM-path and the other
+ * machine-specific details of JMH-result are dropped):<ul>
+ *     <li>{@code benchmark}, {@code mode} and {@code params} - that identify the measurement</li>
+ *     <li>{@code score}, {@code scoreError} and {@code scoreUnit} - the primary score of benchmark and its error</li>
+ *     <li>{@value JmhBaselineCompare#METRIC_NAME__ALLOC_NORM} - the allocated bytes per operation (if "gc"-profiler was used)</li>
+ * </ul>
+ * The scores are rounded to {@value #SIGNIFICANT_DIGITS} significant digits, which is much more precise
+ * than the deviation of measurements anyway.
+ */
+public class JmhBaselineTrim {
+
+    /**
+     * The number of significant digits of the scores in the trimmed baseline
+     */
+    public static final int SIGNIFICANT_DIGITS = 4;
+
+    /**
+     * Trimming the JMH-result to the values that are compared with the baseline.
+     *
+     * @param jmhResultFile the JSON-file with the result of JMH-benchmarks
+     * @return the list of trimmed measurements in the same order
+     */
+    public static List<Map<String, Object>> trimmedResult(File jmhResultFile) {
+        JsonNode resultArr = JacksonUtils.jsonTreeFromFile(jmhResultFile);
+        if (resultArr == null || !resultArr.isArray()) {
+            throw new IllegalStateException(String.format(
+                "could not load JMH-result from file '%s' as JSON-array", jmhResultFile));
+        }
+        return StreamSupport.stream(resultArr.spliterator(), false)
+            .map(JmhBaselineTrim::trimmedMeasurement)
+            .toList();
+    }
+
+    private static Map<String, Object> trimmedMeasurement(JsonNode resultNode) {
+        JmhBaselineCompare.Measurement measurement = JmhBaselineCompare.measurement(resultNode);
+        Map<String, Object> trimmed = new LinkedHashMap<>();
+        trimmed.put("benchmark", resultNode.path("benchmark").asText());
+        trimmed.put("mode", measurement.mode());
+        Map<String, String> params = new TreeMap<>();
+        resultNode.path("params").properties().forEach(e -> params.put(e.getKey(), e.getValue().asText()));
+        trimmed.put("params", params);
+        trimmed.put("score", rounded(measurement.score()));
+        if (!Double.isNaN(measurement.scoreError())) {
+            trimmed.put("scoreError", rounded(measurement.scoreError()));
+        }
+        trimmed.put("scoreUnit", measurement.scoreUnit());
+        if (!Double.isNaN(measurement.allocNorm())) {
+            trimmed.put(JmhBaselineCompare.METRIC_NAME__ALLOC_NORM, rounded(measurement.allocNorm()));
+        }
+        return trimmed;
+    }
+
+    private static double rounded(double value) {
+        return new BigDecimal(value).round(new MathContext(SIGNIFICANT_DIGITS)).doubleValue();
+    }
+
+    /**
+     * The entry-point of command-line tool.
+     *
+     * @param args two positional arguments: JMH result-file and baseline-file to write
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException(
+                "usage: JmhBaselineTrim <result-json-file> <baseline-json-file>");
+        }
+        List<Map<String, Object>> trimmedList = trimmedResult(new File(args[0]));
+        String baselineJson;
+        try {
+            baselineJson = JacksonTree.DEFAULT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(trimmedList);
+        } catch (JsonProcessingException jsonEx) {
+            throw new IllegalStateException("could not serialize the trimmed JMH-result into JSON", jsonEx);
+        }
+        CoreFileUtils.saveFileContent(new File(args[1]), baselineJson + System.lineSeparator());
+        System.out.printf("%d JMH-measurement(s) are saved as the baseline '%s'%n", trimmedList.size(), args[1]);
+    }
+}
@@ -1,14 +1,17 @@
 package org.krmdemo.techlabs.core.dump.render;
 
-import java.util.Base64;
+import java.nio.charset.StandardCharsets;
 
-import static org.krmdemo.techlabs.core.utils.CoreFileUtils.encodeBase64;
+import static org.krmdemo.techlabs.core.utils.CoreFileUtils.appendDataUri;
 
 /**
  * Utility-class to wrap inner-HTML or inner-SVG with outer HTML-tags
  */
 public class OuterTagUtils {
 
+    private static final String EMBEDDED_SVG_PREFIX = "<img alt=\"embedded SVG-iamge\" src=\"";
+    private static final String EMBEDDED_SVG_SUFFIX = "\" />";
+
     public static String outerDivStyle(String innerHtml, String outerStyle) {
         return String.format("""
             <div style="font-family: monospace; font-size: 14px; %s">
@@ -98,10 +101,13 @@ public class OuterTagUtils {
     }
 
     public static String embeddedSvgTag(String outerSvgTag) {
-        return String.format("""
-            <img alt="embedded SVG-iamge" src="data:image/svg+xml;base64,%s" />""",
-            encodeBase64(outerSvgTag)
-        );
+        // the data-URI is encoded directly into the builder of exact size (so, the builder is never grown)
+        byte[] svgBytes = outerSvgTag.getBytes(StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(EMBEDDED_SVG_PREFIX.length() + EMBEDDED_SVG_SUFFIX.length()
+            + "data:image/svg+xml;base64,".length() + 4 * ((svgBytes.length + 2) / 3));
+        sb.append(EMBEDDED_SVG_PREFIX);
+        appendDataUri("image/svg+xml", svgBytes, sb);
+        return sb.append(EMBEDDED_SVG_SUFFIX).toString();
     }
 
     // --------------------------------------------------------------------------------------------
@@ -0,0 +1,124 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SequencedMap;
+import java.util.TreeMap;
+
+/**
+ * A counting-map of primitive {@code char}-keys to primitive {@code int}-counters,
+ * which is backed by open-addressing {@link IntCountingMap} - so, no {@link Character} is boxed while counting.
+ * <hr/>
+ * The public API of this class is <b>read-only</b> - the instances are produced by
+ * {@link CountingUtils#countingCharMap(CharSequence)}, and the result could be converted on demand
+ * into any of map-shapes: {@link #toMap()}, {@link #toSortedMap()} and {@link #toLinkedMap()}.
+ */
+public final class CharCountingMap {
+
+    private final IntCountingMap intCounts = new IntCountingMap();
+
+    CharCountingMap() {
+        // the instances are created only by counting-utilities in the same package
+    }
+
+    /**
+     * @return the number of distinct characters
+     */
+    public int size() {
+        return intCounts.size();
+    }
+
+    /**
+     * @return {@code true} if nothing was counted
+     */
+    public boolean isEmpty() {
+        return intCounts.isEmpty();
+    }
+
+    /**
+     * @param ch the character to check
+     * @return {@code true} if the character {@code ch} was counted at least once
+     */
+    public boolean containsKey(char ch) {
+        return intCounts.containsKey(ch);
+    }
+
+    /**
+     * @param ch the character to get the number of occurrences
+     * @return the number of occurrences of {@code ch} (or zero if the character was not counted)
+     */
+    public int count(char ch) {
+        return intCounts.count(ch);
+    }
+
+    /**
+     * @return the sum of all counters (the length of counted character sequences)
+     */
+    public long total() {
+        return intCounts.total();
+    }
+
+    /**
+     * @return distinct characters in the order of their first occurrence
+     */
+    public char[] keysArr() {
+        int[] keysArr = intCounts.keysArr();
+        char[] chars = new char[keysArr.length];
+        for (int i = 0; i < keysArr.length; i++) {
+            chars[i] = (char) keysArr[i];
+        }
+        return chars;
+    }
+
+    /**
+     * @return a counting-map as {@link HashMap} (the only place where keys and counters are boxed)
+     */
+    public Map<Character, Integer> toMap() {
+        return fillMap(HashMap.newHashMap(size()));
+    }
+
+    /**
+     * @return a <b>sorted</b> counting-map as {@link TreeMap}
+     */
+    public NavigableMap<Character, Integer> toSortedMap() {
+        return fillMap(new TreeMap<>());
+    }
+
+    /**
+     * @return a counting-map as {@link LinkedHashMap}, where the order of keys corresponds to their first occurrence
+     */
+    public SequencedMap<Character, Integer> toLinkedMap() {
+        return fillMap(LinkedHashMap.newLinkedHashMap(size()));
+    }
+
+    private <M extends Map<Character, Integer>> M fillMap(M map) {
+        for (char ch : keysArr()) {
+            map.put(ch, count(ch));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toLinkedMap().toString();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    void increment(char ch) {
+        intCounts.increment(ch);
+    }
+
+    void incrementAll(CharSequence str) {
+        for (int i = 0; i < str.length(); i++) {
+            intCounts.increment(str.charAt(i));
+        }
+    }
+
+    CharCountingMap merge(CharCountingMap other) {
+        intCounts.merge(other.intCounts);
+        return this;
+    }
+}
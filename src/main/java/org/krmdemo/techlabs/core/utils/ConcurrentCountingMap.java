@@ -0,0 +1,115 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A thread-safe counting-map of any objects to striped {@link LongAdder}-counters over {@link ConcurrentHashMap}.
+ * It's a result-container of concurrent collector {@link CountingUtils#toConcurrentCountingMap()},
+ * where all threads of parallel stream increment the counters in the same instance, so there's no merge of
+ * per-thread maps at all, and the contention on the same hot keys is spread over the cells of {@link LongAdder}.
+ * <hr/>
+ * The public API of this class is <b>read-only</b>, and the result could be converted on demand
+ * into regular (non-concurrent) map-shapes: {@link #toMap()} and {@link #toSortedMap()}.
+ * There's no linked variant, because the order of first occurrence is undefined for concurrent counting.
+ *
+ * @param <V> the type of counted elements (with properly implemented {@link Object#equals} and {@link Object#hashCode})
+ */
+public final class ConcurrentCountingMap<V> {
+
+    private final ConcurrentHashMap<V, LongAdder> addersMap = new ConcurrentHashMap<>();
+
+    ConcurrentCountingMap() {
+        // the instances are created only by counting-utilities in the same package
+    }
+
+    /**
+     * @return the number of distinct keys
+     */
+    public int size() {
+        return addersMap.size();
+    }
+
+    /**
+     * @return {@code true} if nothing was counted
+     */
+    public boolean isEmpty() {
+        return addersMap.isEmpty();
+    }
+
+    /**
+     * @param key the key to check
+     * @return {@code true} if the {@code key} was counted at least once
+     */
+    public boolean containsKey(V key) {
+        return addersMap.containsKey(key);
+    }
+
+    /**
+     * @param key the key to get the number of occurrences
+     * @return the number of occurrences of {@code key} (or zero if the key was not counted)
+     */
+    public long count(V key) {
+        LongAdder adder = addersMap.get(key);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * @return the sum of all counters
+     */
+    public long total() {
+        return addersMap.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return the stream of distinct keys in undefined order
+     */
+    public Stream<V> keys() {
+        return addersMap.keySet().stream();
+    }
+
+    /**
+     * @return a counting-map as {@link HashMap} (the same shape as {@link CountingUtils#countingMapLong(Stream)})
+     */
+    public Map<V, Long> toMap() {
+        return fillMap(HashMap.newHashMap(size()));
+    }
+
+    /**
+     * @return a <b>sorted</b> counting-map as {@link TreeMap} (the keys are expected to implement {@link Comparable})
+     */
+    public NavigableMap<V, Long> toSortedMap() {
+        return fillMap(new TreeMap<>());
+    }
+
+    private <M extends Map<V, Long>> M fillMap(M map) {
+        addersMap.forEach((key, adder) -> map.put(key, adder.sum()));
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    void increment(V key) {
+        LongAdder adder = addersMap.get(key);  // <-- lock-free fast-path for already existing keys
+        if (adder == null) {
+            adder = addersMap.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    ConcurrentCountingMap<V> merge(ConcurrentCountingMap<V> other) {
+        other.addersMap.forEach((key, otherAdder) ->
+            addersMap.computeIfAbsent(key, k -> new LongAdder()).add(otherAdder.sum()));
+        return this;
+    }
+}
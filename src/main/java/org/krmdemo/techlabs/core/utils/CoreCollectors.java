@@ -1,6 +1,11 @@
 package org.krmdemo.techlabs.core.utils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -14,17 +19,25 @@ public class CoreCollectors {
 
     /**
      * The same as {@link Collectors#toList()}, but tp collect the items in <b>reverse order</b>.
+     * <hr/>
+     * The elements are appended in encounter order and the whole list is reversed only once by the finisher,
+     * so the collecting takes a linear time (unlike {@link ArrayList#addFirst} for each element, which is quadratic).
+     * The combiner just appends the right part to the left one, which keeps the parallel collecting linear as well.
      *
      * @return a {@code Collector} which collects all the input elements into an {@link ArrayList} in <b>reverse order</b>.
      * @param <T> the type of the elements in stream to collect
      */
     public static <T> Collector<T, ?, ArrayList<T>> toListReversed() {
-        return Collector.of(
+        return Collector.<T, ArrayList<T>, ArrayList<T>>of(
             ArrayList::new,
-            ArrayList::addFirst,
+            ArrayList::add,
             (left, right) -> {
-                right.addAll(0, left);
-                return right;
+                left.addAll(right);
+                return left;
+            },
+            list -> {
+                Collections.reverse(list);
+                return list;
             }
         );
     }
@@ -50,7 +63,8 @@ public class CoreCollectors {
             LinkedList::new,
             LinkedList::addFirst,
             (left, right) -> {
-                right.addAll(0, left);
+                // the reversed right part goes before the reversed left part
+                right.addAll(left);
                 return right;
             }
         );
@@ -203,7 +217,27 @@ public class CoreCollectors {
     toSortedMap(Function<? super T, ? extends K> keyMapper,
                 Function<? super T, ? extends U> valueMapper,
                 MergeFunction mergeFunction) {
-        return Collectors.toMap(keyMapper, valueMapper, mergeFunction.op(), TreeMap::new);
+        return toSortedMap(keyMapper, valueMapper, mergeFunction.op());
+    }
+
+    /**
+     * The same as {@link #toSortedMap(Function, Function, MergeFunction) toSortedMap(keyMapper,valueMapper,mergeFunction)},
+     * but allows to handle duplicates with any custom {@link BinaryOperator} (like {@code Integer::sum}).
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i> function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @param mergeOp a function to merge the values of the same key
+     * @return a {@link Collector}, that collects elements into a {@link TreeMap}
+     */
+    public static <T, K, U>
+    Collector<T, ?, NavigableMap<K,U>>
+    toSortedMap(Function<? super T, ? extends K> keyMapper,
+                Function<? super T, ? extends U> valueMapper,
+                BinaryOperator<U> mergeOp) {
+        return Collectors.toMap(keyMapper, valueMapper, mergeOp, TreeMap::new);
     }
 
     /**
@@ -272,7 +306,294 @@ public class CoreCollectors {
     toLinkedMap(Function<? super T, ? extends K> keyMapper,
                 Function<? super T, ? extends U> valueMapper,
                 MergeFunction mergeFunction) {
-        return Collectors.toMap(keyMapper, valueMapper, mergeFunction.op(), LinkedHashMap::new);
+        return toLinkedMap(keyMapper, valueMapper, mergeFunction.op());
+    }
+
+    /**
+     * The same as {@link #toLinkedMap(Function, Function, MergeFunction) toLinkedMap(keyMapper,valueMapper,mergeFunction)},
+     * but allows to handle duplicates with any custom {@link BinaryOperator} (like {@code Integer::sum}).
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i>  function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @param mergeOp a function to merge the values of the same key
+     * @return a {@link Collector} that collects elements into a {@link LinkedHashMap}
+     */
+    public static <T, K, U>
+    Collector<T, ?, SequencedMap<K,U>>
+    toLinkedMap(Function<? super T, ? extends K> keyMapper,
+                Function<? super T, ? extends U> valueMapper,
+                BinaryOperator<U> mergeOp) {
+        return Collectors.toMap(keyMapper, valueMapper, mergeOp, LinkedHashMap::new);
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The concurrent version of {@link #toSortedMap() toSortedMap()}.
+     *
+     * @return a {@link Collector.Characteristics#CONCURRENT concurrent} {@link Collector},
+     * which collects all the input entries into a {@link ConcurrentSkipListMap}
+     * @param <K> the type of {@link Map.Entry#getKey() key} for {@link Map.Entry entries} in input stream
+     * @param <U> the type of {@link Map.Entry#getValue() value} for {@link Map.Entry entries} in input stream
+     */
+    public static <K, U>
+    Collector<Map.Entry<K,U>, ?, ConcurrentNavigableMap<K,U>>
+    toConcurrentSortedMap() {
+        return toConcurrentSortedMap(Map.Entry::getKey, Map.Entry::getValue, MergeFunction.OVERWRITE);
+    }
+
+    /**
+     * The concurrent version of {@link #toSortedMap(Function, Function, MergeFunction)}, where all threads
+     * of parallel stream merge the values into the same {@link ConcurrentHashMap} (the merging of the same key
+     * is atomic, so any {@link MergeFunction} is safe) and the finisher sorts the result only once.
+     * There's no single-threaded combining of per-thread maps at all.
+     * <hr/>
+     * <u><i>Note:</i></u> the result of {@link MergeFunction#OVERWRITE} and {@link MergeFunction#IGNORE}
+     * depends on the order of arrival, so the associative reducers (like {@link MergeFunction#SUM}) are recommended.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i> function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @param mergeFunction one of values that are represented by {@link MergeFunction}-enum
+     * @return a {@link Collector.Characteristics#CONCURRENT concurrent} {@link Collector},
+     * that collects elements into a {@link ConcurrentSkipListMap}
+     */
+    public static <T, K, U>
+    Collector<T, ?, ConcurrentNavigableMap<K,U>>
+    toConcurrentSortedMap(Function<? super T, ? extends K> keyMapper,
+                          Function<? super T, ? extends U> valueMapper,
+                          MergeFunction mergeFunction) {
+        return toConcurrentSortedMap(keyMapper, valueMapper, mergeFunction.op());
+    }
+
+    /**
+     * The same as {@link #toConcurrentSortedMap(Function, Function, MergeFunction)},
+     * but allows to handle duplicates with any custom {@link BinaryOperator}.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i> function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @param mergeOp a function to merge the values of the same key
+     * @return a {@link Collector.Characteristics#CONCURRENT concurrent} {@link Collector},
+     * that collects elements into a {@link ConcurrentSkipListMap}
+     */
+    public static <T, K, U>
+    Collector<T, ?, ConcurrentNavigableMap<K,U>>
+    toConcurrentSortedMap(Function<? super T, ? extends K> keyMapper,
+                          Function<? super T, ? extends U> valueMapper,
+                          BinaryOperator<U> mergeOp) {
+        return Collector.<T, ConcurrentHashMap<K, U>, ConcurrentNavigableMap<K, U>>of(
+            ConcurrentHashMap::new,
+            (map, elem) -> map.merge(keyMapper.apply(elem), valueMapper.apply(elem), mergeOp),
+            (left, right) -> {
+                right.forEach((key, value) -> left.merge(key, value, mergeOp));
+                return left;
+            },
+            ConcurrentSkipListMap::new,
+            Collector.Characteristics.CONCURRENT,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * The concurrent version of {@link #toLinkedMap() toLinkedMap()}.
+     *
+     * @return a {@link Collector.Characteristics#CONCURRENT concurrent} {@link Collector},
+     * which collects all the input entries into a {@link LinkedHashMap}
+     * @param <K> the type of {@link Map.Entry#getKey() key} for {@link Map.Entry entries} in input stream
+     * @param <U> the type of {@link Map.Entry#getValue() value} for {@link Map.Entry entries} in input stream
+     */
+    public static <K, U>
+    Collector<Map.Entry<K,U>, ?, SequencedMap<K,U>>
+    toConcurrentLinkedMap() {
+        return toConcurrentLinkedMap(Map.Entry::getKey, Map.Entry::getValue, MergeFunction.OVERWRITE);
+    }
+
+    /**
+     * The concurrent version of {@link #toLinkedMap(Function, Function, MergeFunction)}, where all threads
+     * of parallel stream merge the values into the same {@link ConcurrentHashMap}, and each key is stamped
+     * with the sequence number of its first arrival. The finisher orders the keys by those numbers into {@link LinkedHashMap}.
+     * <hr/>
+     * <u><i>Note:</i></u> for parallel streams the order of keys is the order of their <b>first arrival</b>
+     * (rather than the encounter order of stream), which is the only feasible "insertion order" for concurrent collecting.
+     * For sequential streams that is the same as the encounter order.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i>  function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @param mergeFunction one of values that are represented by {@link MergeFunction}-enum
+     * @return a {@link Collector.Characteristics#CONCURRENT concurrent} {@link Collector},
+     * that collects elements into a {@link LinkedHashMap}
+     */
+    public static <T, K, U>
+    Collector<T, ?, SequencedMap<K,U>>
+    toConcurrentLinkedMap(Function<? super T, ? extends K> keyMapper,
+                          Function<? super T, ? extends U> valueMapper,
+                          MergeFunction mergeFunction) {
+        return toConcurrentLinkedMap(keyMapper, valueMapper, mergeFunction.op());
+    }
+
+    /**
+     * The same as {@link #toConcurrentLinkedMap(Function, Function, MergeFunction)},
+     * but allows to handle duplicates with any custom {@link BinaryOperator}.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i>  function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @param mergeOp a function to merge the values of the same key
+     * @return a {@link Collector.Characteristics#CONCURRENT concurrent} {@link Collector},
+     * that collects elements into a {@link LinkedHashMap}
+     */
+    public static <T, K, U>
+    Collector<T, ?, SequencedMap<K,U>>
+    toConcurrentLinkedMap(Function<? super T, ? extends K> keyMapper,
+                          Function<? super T, ? extends U> valueMapper,
+                          BinaryOperator<U> mergeOp) {
+        return Collector.<T, ArrivalOrderMap<K, U>, SequencedMap<K, U>>of(
+            ArrivalOrderMap::new,
+            (map, elem) -> map.merge(keyMapper.apply(elem), valueMapper.apply(elem), mergeOp),
+            (left, right) -> left.mergeAll(right, mergeOp),
+            ArrivalOrderMap::toLinkedMap,
+            Collector.Characteristics.CONCURRENT,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * The result-container of {@link #toConcurrentLinkedMap(Function, Function, BinaryOperator)},
+     * where each key is stamped with the sequence number of its first arrival
+     */
+    private static final class ArrivalOrderMap<K, U> {
+
+        private static final class Slot<U> {
+            final long seq;
+            U value;
+            Slot(long seq, U value) {
+                this.seq = seq;
+                this.value = value;
+            }
+        }
+
+        private final ConcurrentHashMap<K, Slot<U>> slotsMap = new ConcurrentHashMap<>();
+        private final AtomicLong seqCounter = new AtomicLong();
+
+        void merge(K key, U value, BinaryOperator<U> mergeOp) {
+            Objects.requireNonNull(value, "the value cannot be << NULL >>");
+            slotsMap.compute(key, (k, slot) -> {  // <-- the compute-function is atomic per key
+                if (slot == null) {
+                    return new Slot<>(seqCounter.getAndIncrement(), value);
+                }
+                slot.value = mergeOp.apply(slot.value, value);
+                return slot;
+            });
+        }
+
+        ArrivalOrderMap<K, U> mergeAll(ArrivalOrderMap<K, U> other, BinaryOperator<U> mergeOp) {
+            other.slotsMap.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().seq))
+                .forEachOrdered(e -> merge(e.getKey(), e.getValue().value, mergeOp));
+            return this;
+        }
+
+        SequencedMap<K, U> toLinkedMap() {
+            SequencedMap<K, U> linkedMap = LinkedHashMap.newLinkedHashMap(slotsMap.size());
+            slotsMap.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().seq))
+                .forEachOrdered(e -> linkedMap.put(e.getKey(), e.getValue().value));
+            return linkedMap;
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The same as {@link #toSortedSet() toSortedSet()}, but produces the immutable {@link FrozenSortedSet},
+     * which is backed by the sorted array (that is sorted only once in the finisher).
+     *
+     * @return a {@link Collector}, which collects all the input elements into a {@link FrozenSortedSet}
+     * @param <T> the type of the elements in stream to collect (must implement {@link Comparable})
+     */
+    public static <T extends Comparable<T>> Collector<T, ?, NavigableSet<T>> toFrozenSortedSet() {
+        return toFrozenSortedSet(null);
+    }
+
+    /**
+     * The same as {@link #toFrozenSortedSet() toFrozenSortedSet()}, but with {@code comparator} as parameter
+     *
+     * @param comparator a function to compare the elements (or {@code null} for natural order)
+     * @return a {@link Collector}, which collects all the input elements into a {@link FrozenSortedSet}
+     * @param <T> the type of the elements in stream to collect (not necessary to implement {@link Comparable})
+     */
+    public static <T> Collector<T, ?, NavigableSet<T>>
+    toFrozenSortedSet(Comparator<T> comparator) {
+        return Collectors.collectingAndThen(Collectors.toList(),
+            list -> FrozenSortedSet.ofElements(list.toArray(), comparator));
+    }
+
+    /**
+     * The same as {@link #toSortedMap() toSortedMap()}, but produces the immutable {@link FrozenSortedMap},
+     * which is backed by parallel arrays of sorted keys and their values.
+     *
+     * @return a {@link Collector}, which collects all the input elements into a {@link FrozenSortedMap}
+     * @param <K> the type of {@link Map.Entry#getKey() key} for {@link Map.Entry entries} in input stream
+     * @param <U> the type of {@link Map.Entry#getValue() value} for {@link Map.Entry entries} in input stream
+     */
+    public static <K, U>
+    Collector<Map.Entry<K,U>, ?, NavigableMap<K,U>>
+    toFrozenSortedMap() {
+        return toFrozenSortedMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * The same as {@link #toSortedMap(Function, Function) toSortedMap(keyMapper,valueMapper)},
+     * but produces the immutable {@link FrozenSortedMap} with overwriting the duplicates.
+     *
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @return a {@link Collector}, that collects elements into a {@link FrozenSortedMap}
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i> function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     */
+    public static <T, K, U>
+    Collector<T, ?, NavigableMap<K,U>>
+    toFrozenSortedMap(Function<? super T, ? extends K> keyMapper,
+                      Function<? super T, ? extends U> valueMapper) {
+        return toFrozenSortedMap(keyMapper, valueMapper, MergeFunction.OVERWRITE);
+    }
+
+    /**
+     * The same as {@link #toSortedMap(Function, Function, MergeFunction) toSortedMap(keyMapper,valueMapper,mergeFunction)},
+     * but produces the immutable {@link FrozenSortedMap}. The entries are accumulated in encounter order
+     * and sorted only once in the finisher, where the values of the same key are merged with {@code mergeFunction}.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the output type of the <i>key-mapping</i> function
+     * @param <U> the output type of the <i>value-mapping</i> function
+     * @param keyMapper a <i>key-mapping</i> function to produce keys
+     * @param valueMapper a <i>value-mapping</i> function to produce values
+     * @param mergeFunction one of values that are represented by {@link MergeFunction}-enum
+     * @return a {@link Collector}, that collects elements into a {@link FrozenSortedMap}
+     */
+    public static <T, K, U>
+    Collector<T, ?, NavigableMap<K,U>>
+    toFrozenSortedMap(Function<? super T, ? extends K> keyMapper,
+                      Function<? super T, ? extends U> valueMapper,
+                      MergeFunction mergeFunction) {
+        return Collectors.collectingAndThen(
+            Collectors.mapping(elem -> Map.<K, U>entry(keyMapper.apply(elem), valueMapper.apply(elem)), Collectors.toList()),
+            entries -> FrozenSortedMap.ofEntries(entries, null, mergeFunction.op()));
     }
 
     // --------------------------------------------------------------------------------------------
@@ -1,17 +1,63 @@
 package org.krmdemo.techlabs.core.utils;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.function.IOConsumer;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -52,24 +98,236 @@ public class CoreFileUtils {
      * and prepend it with corresponding mime-type prefix in order to use that final value
      * either in HTML-attributes (for HTTP-URL parameter - additional URL-encoding should be applied).
      * <hr/>
+     * The mime-type is detected by the magic bytes of content (see {@link #appendImageData64(File, Appendable)}),
+     * and the result is encoded into the buffer of exact size (so, the buffer is never grown and re-copied),
+     * but the encoded content is still copied once more from that buffer into the resulting {@link String}
+     * (use {@link #appendImageData64(File, Appendable)} to stream it into the target without any full-size buffer).
      * For more advanced detection it's recommended to use <a href="https://tika.apache.org/">Apache Tika</a>
      *
      * @param imageFile a file to load the text of binary content
      * @return a data-string to use in HTML-attributes
      */
     public static String imageFileData64(File imageFile) {
-        byte[] imageFileContent = loadFileAsBytes(imageFile);
-        String imageFileExt = FilenameUtils.getExtension(imageFile.getPath());
-        String dataPrefix = switch (imageFileExt.toLowerCase()) {
-            case "jpg", "jpeg" -> "data:image/jpg;base64,";
-            case "png" -> "data:image/png;base64,";
-            case "gif" -> "data:image/gif;base64,";
-            case "svg" -> "data:image/svg+xml;base64,";
-            default -> throw new IllegalArgumentException(String.format(
-                "could not detect the mime-type of file '%s' by extension '.%s'",
-                imageFile, imageFileExt));
-        };
-        return dataPrefix + encodeBase64(imageFileContent);
+        long capacity = imageFile == null ? 0 : DATA_URI_PREFIX_MAX_LENGTH + base64Length(imageFile.length());
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream((int) Math.min(capacity, MAX_ARRAY_SIZE));
+        writeImageData64(imageFile, bytesOut);
+        return bytesOut.toString(StandardCharsets.ISO_8859_1);  // <-- the ASCII-bytes are copied into the Latin-1 string
+    }
+
+    /**
+     * Streaming the content of image-file as the data-URI (like {@code data:image/png;base64,...}) into {@code appendable}
+     * (for example, into {@link StringBuilder} or {@link Writer} of HTML-dump), where the file is read and encoded
+     * by chunks - so, the whole content is never loaded into memory.
+     * <hr/>
+     * The mime-type is detected by the magic bytes of content (PNG, JPEG, GIF, WEBP, BMP, ICO and SVG), and
+     * if the content is not recognized - by the extension of file.
+     *
+     * @param imageFile a file to encode
+     * @param appendable the target to append the data-URI to
+     * @return the same {@code appendable}
+     * @param <A> the type of {@code appendable}
+     */
+    public static <A extends Appendable> A appendImageData64(File imageFile, A appendable) {
+        writeImageData64(imageFile, new AppendableOutputStream(appendable));
+        return appendable;
+    }
+
+    /**
+     * The same as {@link #appendImageData64(File, Appendable)}, but the data-URI is written (in ASCII) into the output stream,
+     * which is not closed by this method.
+     *
+     * @param imageFile a file to encode
+     * @param out the output stream to write the data-URI to
+     */
+    public static void writeImageData64(File imageFile, OutputStream out) {
+        if (imageFile == null || !imageFile.isFile()) {
+            throw new IllegalStateException(String.format(
+                "could not encode the file %s as data-URI, because it does not exist or it's not a normal file",
+                imageFile == null ? "<< NULL >>" : "'" + imageFile + "'"));
+        }
+        try (InputStream in = Files.newInputStream(imageFile.toPath())) {
+            byte[] head = new byte[MIME_HEAD_LENGTH];
+            int headLength = in.readNBytes(head, 0, head.length);
+            String mimeType = imageMimeType(head, headLength);
+            if (mimeType == null) {
+                String imageFileExt = FilenameUtils.getExtension(imageFile.getPath());
+                mimeType = switch (imageFileExt.toLowerCase()) {
+                    case "jpg", "jpeg" -> "image/jpg";
+                    case "png" -> "image/png";
+                    case "gif" -> "image/gif";
+                    case "webp" -> "image/webp";
+                    case "bmp" -> "image/bmp";
+                    case "ico" -> "image/x-icon";
+                    case "svg" -> "image/svg+xml";
+                    default -> throw new IllegalArgumentException(String.format(
+                        "could not detect the mime-type of file '%s' by extension '.%s'",
+                        imageFile, imageFileExt));
+                };
+            }
+            out.write(("data:" + mimeType + ";base64,").getBytes(StandardCharsets.US_ASCII));
+            try (OutputStream base64Out = Base64.getEncoder().wrap(CloseShieldOutputStream.wrap(out))) {
+                base64Out.write(head, 0, headLength);
+                in.transferTo(base64Out);
+            }  // <-- the padding is written on closing
+        } catch (IOException ioEx) {
+            throw new IllegalStateException(String.format(
+                "could not encode the file '%s' as data-URI, because of IOException", imageFile), ioEx);
+        }
+    }
+
+    /**
+     * Appending the data-URI of binary content with the given mime-type into {@code appendable}
+     * (without creating the intermediate array of encoded bytes or the string of it)
+     *
+     * @param mimeType the mime-type of content (like {@code image/svg+xml})
+     * @param bytesArr the binary-content to encode
+     * @param appendable the target to append the data-URI to
+     * @return the same {@code appendable}
+     * @param <A> the type of {@code appendable}
+     */
+    public static <A extends Appendable> A appendDataUri(String mimeType, byte[] bytesArr, A appendable) {
+        try {
+            appendable.append("data:").append(mimeType).append(";base64,");
+            try (OutputStream base64Out = Base64.getEncoder().wrap(new AppendableOutputStream(appendable))) {
+                base64Out.write(bytesArr);
+            }
+            return appendable;
+        } catch (IOException ioEx) {
+            throw new IllegalStateException(String.format(
+                "could not append the data-URI of %d bytes of '%s', because of IOException", bytesArr.length, mimeType), ioEx);
+        }
+    }
+
+    /**
+     * @param bytesCount the number of bytes to encode
+     * @return the number of characters of Base64-encoded content (with padding)
+     */
+    static long base64Length(long bytesCount) {
+        return 4 * ((bytesCount + 2) / 3);
+    }
+
+    /**
+     * The number of bytes at the beginning of content to detect its mime-type
+     */
+    static final int MIME_HEAD_LENGTH = 512;
+
+    private static final int DATA_URI_PREFIX_MAX_LENGTH = "data:image/svg+xml;base64,".length();
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final byte[] PNG_MAGIC = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final byte[] JPEG_MAGIC = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF };
+    private static final byte[] GIF87_MAGIC = { 'G', 'I', 'F', '8', '7', 'a' };
+    private static final byte[] GIF89_MAGIC = { 'G', 'I', 'F', '8', '9', 'a' };
+    private static final byte[] RIFF_MAGIC = { 'R', 'I', 'F', 'F' };
+    private static final byte[] WEBP_MAGIC = { 'W', 'E', 'B', 'P' };
+    private static final byte[] BMP_MAGIC = { 'B', 'M' };
+    private static final byte[] ICO_MAGIC = { 0, 0, 1, 0 };
+    private static final String UTF8_BOM_LATIN1 = "\u00EF\u00BB\u00BF";
+
+    /**
+     * @param head the first bytes of content
+     * @param headLength the number of bytes in {@code head}
+     * @return the mime-type of image by the magic bytes, or {@code null} if it's not recognized
+     */
+    static String imageMimeType(byte[] head, int headLength) {
+        if (startsWith(head, headLength, 0, PNG_MAGIC)) {
+            return "image/png";
+        } else if (startsWith(head, headLength, 0, JPEG_MAGIC)) {
+            return "image/jpg";  // <-- the same mime-type as it's detected by extension
+        } else if (startsWith(head, headLength, 0, GIF87_MAGIC) || startsWith(head, headLength, 0, GIF89_MAGIC)) {
+            return "image/gif";
+        } else if (startsWith(head, headLength, 0, RIFF_MAGIC) && startsWith(head, headLength, 8, WEBP_MAGIC)) {
+            return "image/webp";
+        } else if (startsWith(head, headLength, 0, BMP_MAGIC) && headLength >= 26) {
+            return "image/bmp";
+        } else if (startsWith(head, headLength, 0, ICO_MAGIC) && headLength >= 6) {
+            return "image/x-icon";
+        }
+        return isSvgHead(new String(head, 0, headLength, StandardCharsets.ISO_8859_1)) ? "image/svg+xml" : null;
+    }
+
+    /**
+     * @param headText the first bytes of content as ISO-8859-1 text
+     * @return {@code true} if the first element after the prolog (BOM, white-spaces, XML-declaration,
+     *         processing instructions, comments and DOCTYPE) is {@code <svg>}
+     */
+    private static boolean isSvgHead(String headText) {
+        int pos = headText.startsWith(UTF8_BOM_LATIN1) ? UTF8_BOM_LATIN1.length() : 0;
+        while (true) {
+            while (pos < headText.length() && Character.isWhitespace(headText.charAt(pos))) {
+                pos++;
+            }
+            int prologEnd;
+            if (headText.startsWith("<?", pos)) {
+                prologEnd = indexAfter(headText, "?>", pos);
+            } else if (headText.startsWith("<!--", pos)) {
+                prologEnd = indexAfter(headText, "-->", pos);
+            } else if (headText.startsWith("<!DOCTYPE", pos)) {
+                int subsetStart = headText.indexOf('[', pos);
+                int declEnd = headText.indexOf('>', pos);
+                prologEnd = subsetStart >= 0 && subsetStart < declEnd
+                    ? indexAfter(headText, "]>", subsetStart)
+                    : indexAfter(headText, ">", pos);
+            } else {
+                break;
+            }
+            if (prologEnd < 0) {
+                return false;  // <-- the prolog is longer than the head
+            }
+            pos = prologEnd;
+        }
+        if (!headText.startsWith("<svg", pos)) {
+            return false;
+        }
+        int nameEnd = pos + "<svg".length();
+        return nameEnd == headText.length() || " \t\r\n>/".indexOf(headText.charAt(nameEnd)) >= 0;
+    }
+
+    private static int indexAfter(String text, String terminator, int fromIndex) {
+        int index = text.indexOf(terminator, fromIndex);
+        return index < 0 ? -1 : index + terminator.length();
+    }
+
+    private static boolean startsWith(byte[] head, int headLength, int offset, byte[] magic) {
+        return headLength >= offset + magic.length
+            && Arrays.equals(head, offset, offset + magic.length, magic, 0, magic.length);
+    }
+
+    /**
+     * The output stream of ASCII-bytes (like Base64-encoded ones), which are appended as characters to {@link Appendable}
+     */
+    private static final class AppendableOutputStream extends OutputStream {
+
+        private final Appendable appendable;
+        private final char[] chars = new char[4096];
+
+        private AppendableOutputStream(Appendable appendable) {
+            this.appendable = Objects.requireNonNull(appendable, "the appendable must not be null");
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            appendable.append((char) (b & 0xFF));
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            while (length > 0) {
+                int chunkLength = Math.min(length, chars.length);
+                for (int i = 0; i < chunkLength; i++) {
+                    chars[i] = (char) (bytes[offset + i] & 0xFF);
+                }
+                switch (appendable) {
+                    case StringBuilder sb -> sb.append(chars, 0, chunkLength);
+                    case Writer writer -> writer.write(chars, 0, chunkLength);
+                    default -> appendable.append(CharBuffer.wrap(chars, 0, chunkLength));
+                }
+                offset += chunkLength;
+                length -= chunkLength;
+            }
+        }
     }
 
     /**
@@ -135,6 +393,7 @@ public class CoreFileUtils {
     /**
      * Loading the content of {@code file} as {@link String} (it's allowed to use for text-files only)
      * and throws {@link IllegalStateException} if the content of file could not be loaded for any reason.
+     * For the repeated loading of the same files see {@link TextContentCache}.
      *
      * @param fileToLoad file to read the content
      * @return the content of {@code fileToLoad} as {@link String}
@@ -194,6 +453,273 @@ public class CoreFileUtils {
         }
     }
 
+    // ===========================================================================================
+    //        Streaming and memory-mapped reading of large text-files by lines
+    // ===========================================================================================
+
+    /**
+     * The same as {@link #streamFileLines(Path, Charset)} for {@link StandardCharsets#UTF_8 UTF-8} files
+     *
+     * @param filePath path of file to read the lines
+     * @return the lazy stream of lines, which closes the file when the last line is read
+     */
+    public static Stream<String> streamFileLines(Path filePath) {
+        return streamFileLines(filePath, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Getting the lazy sequential stream of lines of the file (unlike {@link #loadFileLines(Path)} that keeps all of them
+     * in the list). The file is closed as soon as the last line is read or when the stream is {@link Stream#close() closed}
+     * - so, the stream that is consumed to the end does not leak the file even without try-with-resources.
+     * The {@link IOException} of reading is wrapped into {@link IllegalStateException}.
+     *
+     * @param filePath path of file to read the lines
+     * @param charset the charset of file
+     * @return the lazy stream of lines, which closes the file when the last line is read
+     */
+    public static Stream<String> streamFileLines(Path filePath, Charset charset) {
+        if (filePath == null) {
+            throw new IllegalStateException("the path to file to stream lines MUST NOT be null");
+        }
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(filePath, charset);
+        } catch (IOException ioEx) {
+            throw new IllegalStateException(String.format(
+                "could not open the file '%s' to stream lines, because of IOException", filePath), ioEx);
+        }
+        Runnable closeReader = () -> {
+            try {
+                reader.close();
+            } catch (IOException ioEx) {
+                throw new IllegalStateException(String.format(
+                    "could not close the file '%s' after streaming lines", filePath), ioEx);
+            }
+        };
+        Spliterator<String> linesSpliterator = new Spliterators.AbstractSpliterator<>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private boolean closed = false;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if (closed) {
+                    return false;
+                }
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (IOException ioEx) {
+                    throw new IllegalStateException(String.format(
+                        "could not read the next line of file '%s'", filePath), ioEx);
+                }
+                if (line == null) {
+                    closed = true;
+                    closeReader.run();  // <-- the file is closed as soon as it's exhausted
+                    return false;
+                }
+                action.accept(line);
+                return true;
+            }
+        };
+        return StreamSupport.stream(linesSpliterator, false).onClose(closeReader);
+    }
+
+    /**
+     * The same as {@link #mappedFileLines(Path, Charset, boolean)} for sequential reading of {@link StandardCharsets#UTF_8 UTF-8} file
+     *
+     * @param filePath path of file to read the lines
+     * @return the stream of lines over the memory-mapped file
+     */
+    public static Stream<String> mappedFileLines(Path filePath) {
+        return mappedFileLines(filePath, StandardCharsets.UTF_8, false);
+    }
+
+    /**
+     * Getting the stream of lines of the file, which is mapped into memory by {@link FileChannel#map} (rather than
+     * copied onto the heap) - only the bytes of each line are copied into the reusable buffer to be decoded as {@link String}.
+     * The file of any size is mapped by the regions of 1 GB, which overlap the next ones by 64 MB - so, the line
+     * that is longer than 64 MB cannot be read (and {@link IllegalStateException} is thrown). The lines are separated by {@code '\n'} or {@code "\r\n"}.
+     * <hr/>
+     * The parallel stream splits the file in halves at the nearest line boundaries - so, each core processes its own
+     * chunk of the file without any coordination (the splitting continues down to chunks of 64 KB).
+     * <hr/>
+     * <u><i>Note:</i></u> the bytes of line separators are searched directly in the mapped bytes, which is possible only
+     * for the charsets where {@code '\n'} and {@code '\r'} are single bytes that never occur inside of multibyte characters
+     * (like {@code UTF-8}, {@code ISO-8859-*}, {@code windows-125*} or {@code US-ASCII}); the files in other charsets
+     * (like {@code UTF-16}) are read sequentially by {@link #streamFileLines(Path, Charset)}.
+     * The mapped regions are released by the garbage collector, when the stream is not reachable anymore.
+     *
+     * @param filePath path of file to read the lines
+     * @param charset the charset of file
+     * @param parallel {@code true} to return the parallel stream
+     * @return the stream of lines over the memory-mapped file
+     */
+    public static Stream<String> mappedFileLines(Path filePath, Charset charset, boolean parallel) {
+        return mappedFileLines(filePath, charset, parallel, MAPPED_REGION_SIZE, MAPPED_MAX_LINE_LENGTH);
+    }
+
+    static final int MAPPED_REGION_SIZE = 1 << 30;
+    static final int MAPPED_MAX_LINE_LENGTH = 1 << 26;
+
+    static Stream<String> mappedFileLines(Path filePath, Charset charset, boolean parallel,
+                                          int regionSize, int maxLineLength) {
+        if (filePath == null) {
+            throw new IllegalStateException("the path to file to map lines MUST NOT be null");
+        }
+        if (!isLineSeparatorByte(charset)) {
+            Stream<String> linesStream = streamFileLines(filePath, charset);
+            return parallel ? linesStream.parallel() : linesStream;
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int regionsCount = (int) ((fileSize + regionSize - 1) / regionSize);
+            ByteBuffer[] regions = new ByteBuffer[regionsCount];
+            for (int k = 0; k < regionsCount; k++) {
+                long position = (long) k * regionSize;
+                long length = Math.min((long) regionSize + maxLineLength, fileSize - position);
+                regions[k] = channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                    .order(ByteOrder.LITTLE_ENDIAN);  // <-- the first byte is the lowest one to search separators by words
+            }
+            // the mapping remains valid after the channel is closed
+            return StreamSupport.stream(new MappedLinesSpliterator(
+                filePath, charset, regions, regionSize, 0L, fileSize), parallel);
+        } catch (IOException ioEx) {
+            throw new IllegalStateException(String.format(
+                "could not map the file '%s' into memory, because of IOException", filePath), ioEx);
+        }
+    }
+
+    private static boolean isLineSeparatorByte(Charset charset) {
+        return Arrays.equals("\n".getBytes(charset), new byte[] { '\n' })
+            && Arrays.equals("\r".getBytes(charset), new byte[] { '\r' });
+    }
+
+    /**
+     * The spliterator of lines in the range {@code [from;to)} of memory-mapped file, where both bounds are at the
+     * beginning of lines (or at the end of file). The line that begins in the region {@code k} is read entirely
+     * from that region, because each region overlaps the next one by the maximal length of line.
+     */
+    private static final class MappedLinesSpliterator implements Spliterator<String> {
+
+        private static final int MIN_SPLIT_SIZE = 1 << 16;
+
+        private final Path filePath;
+        private final Charset charset;
+        private final ByteBuffer[] regions;
+        private final int regionSize;
+        private long from;
+        private final long to;
+        private byte[] lineBytes = new byte[128];
+
+        private MappedLinesSpliterator(Path filePath, Charset charset, ByteBuffer[] regions,
+                                       int regionSize, long from, long to) {
+            this.filePath = filePath;
+            this.charset = charset;
+            this.regions = regions;
+            this.regionSize = regionSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(nextLine());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super String> action) {
+            while (from < to) {
+                action.accept(nextLine());
+            }
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            if (to - from < 2L * Math.min(MIN_SPLIT_SIZE, regionSize)) {
+                return null;
+            }
+            long lineEnd = lineEnd(from + (to - from) / 2);
+            if (lineEnd < 0 || lineEnd + 1 >= to) {
+                return null;
+            }
+            MappedLinesSpliterator prefix = new MappedLinesSpliterator(filePath, charset, regions, regionSize, from, lineEnd + 1);
+            from = lineEnd + 1;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;  // <-- the number of bytes is the upper bound of the number of lines
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+
+        private String nextLine() {
+            long lineEnd = lineEnd(from);
+            long lineLimit = lineEnd < 0 ? to : lineEnd;
+            int k = (int) (from / regionSize);
+            int offset = (int) (from - (long) k * regionSize);
+            int length = (int) (lineLimit - from);
+            if (length > 0 && regions[k].get(offset + length - 1) == '\r') {
+                length--;
+            }
+            if (length > lineBytes.length) {
+                lineBytes = new byte[Math.max(length, 2 * lineBytes.length)];
+            }
+            regions[k].get(offset, lineBytes, 0, length);
+            from = lineEnd < 0 ? to : lineEnd + 1;
+            return new String(lineBytes, 0, length, charset);
+        }
+
+        /**
+         * @param position the position in file to search the line separator from
+         * @return the position of the next {@code '\n'} before {@link #to}, or {@code -1} if there's no such one
+         */
+        private long lineEnd(long position) {
+            int k = (int) (position / regionSize);
+            long regionStart = (long) k * regionSize;
+            ByteBuffer region = regions[k];
+            int limit = (int) Math.min(region.limit(), to - regionStart);
+            int index = indexOfNewLine(region, (int) (position - regionStart), limit);
+            if (index >= 0) {
+                return regionStart + index;
+            }
+            if (limit < to - regionStart) {
+                throw new IllegalStateException(String.format(
+                    "the line at position %d of file '%s' is longer than %d bytes",
+                    position, filePath, region.limit() - regionSize));
+            }
+            return -1L;
+        }
+
+        /**
+         * Searching the byte {@code '\n'} by 8 bytes at once ("has zero byte" trick over the little-endian words)
+         */
+        private static int indexOfNewLine(ByteBuffer region, int fromIndex, int limit) {
+            int i = fromIndex;
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                long word = region.getLong(i) ^ 0x0A0A0A0A0A0A0A0AL;
+                long found = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+                if (found != 0) {
+                    return i + (Long.numberOfTrailingZeros(found) >>> 3);
+                }
+            }
+            for (; i < limit; i++) {
+                if (region.get(i) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
     /**
      * Saving the content into the file {@code fileToSave} (if the file is not empty - it will be truncated).
      * All missing parent directories will be created if necessary.
@@ -203,20 +729,239 @@ public class CoreFileUtils {
      * @throws IllegalStateException in case of something goes wrong (which must not really happen)
      */
     public static void saveFileContent(File fileToSave, String fileContent) {
+        saveFileContent(fileToSave, fileContent, WriteMode.DIRECT);
+    }
+
+    /**
+     * The same as {@link #saveFileContent(File, String)}, but the file is written according to {@code writeMode}
+     *
+     * @param fileToSave the file to save into
+     * @param fileContent the content to be saved (in UTF-8)
+     * @param writeMode the way to write the file
+     * @throws IllegalStateException in case of something goes wrong (which must not really happen)
+     */
+    public static void saveFileContent(File fileToSave, String fileContent, WriteMode writeMode) {
         if (fileToSave == null) {
             throw new IllegalStateException(
                 "could not save the file content, because fileToSave is null");
         }
+        if (writeMode != WriteMode.DIRECT) {
+            writeFileBytes(fileToSave.toPath(), writeMode, out -> out.write(fileContent.getBytes(StandardCharsets.UTF_8)));
+            return;
+        }
         try {
-            if (fileToSave.getParentFile() != null) {
-                Files.createDirectories(fileToSave.getParentFile().toPath());
-            }
+            createParentDirs(fileToSave.toPath());
             Files.writeString(fileToSave.toPath(), fileContent);
         } catch (IOException ioEx) {
             throw new IllegalStateException("could not save the content into the file " + fileToSave, ioEx);
         }
     }
 
+    /**
+     * The way to write the file by {@link #writeFileBytes(Path, WriteMode, IOConsumer)}
+     */
+    public enum WriteMode {
+        /**
+         * the file is truncated and written in place (so, the readers could observe the half-written file)
+         */
+        DIRECT,
+        /**
+         * the content is written into the temporary file in the same directory, which is renamed atomically
+         * to the target one (so, the readers observe either the previous content or the new one)
+         */
+        ATOMIC,
+        /**
+         * the same as {@link #ATOMIC}, but the temporary file is flushed to the storage device before renaming
+         * and the directory is flushed after that (so, the new content survives the crash of operating system)
+         */
+        ATOMIC_DURABLE
+    }
+
+    /**
+     * The size of buffers that are used by {@link #writeFileBytes(Path, WriteMode, IOConsumer)}
+     */
+    static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The maximal number of buffers that are kept in the pool between the calls of {@link #writeFileBytes(Path, WriteMode, IOConsumer)}
+     */
+    static final int WRITE_BUFFER_POOL_SIZE = 16;
+
+    private static final Queue<byte[]> WRITE_BUFFER_POOL = new ArrayBlockingQueue<>(WRITE_BUFFER_POOL_SIZE);
+
+    /**
+     * Writing the text content into the file by the streaming {@link Writer} (so, the large generated content
+     * does not have to be kept in memory as one {@link String}). The {@link Writer} is buffered and it should not be
+     * closed by {@code contentWriter}.
+     *
+     * @param pathToWrite the file to write into (all missing parent directories will be created if necessary)
+     * @param charset the encoding of the content
+     * @param writeMode the way to write the file
+     * @param contentWriter the consumer that writes the content
+     * @throws IllegalStateException in case of {@link IOException} (the previous content is kept in atomic modes)
+     */
+    public static void writeFileContent(Path pathToWrite, Charset charset, WriteMode writeMode, IOConsumer<Writer> contentWriter) {
+        writeFileBytes(pathToWrite, writeMode, out -> {
+            // the small writes are gathered into the chars buffer, because the encoder wraps each written string
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset), WRITE_BUFFER_SIZE / 4);
+            contentWriter.accept(writer);
+            writer.flush();  // <-- the underlying stream is closed by the caller
+        });
+    }
+
+    /**
+     * Writing the binary content into the file by the streaming {@link OutputStream}, which is buffered by the pooled
+     * buffer of {@value #WRITE_BUFFER_SIZE} bytes (so, the buffers are not allocated per each file). The stream
+     * should not be closed by {@code bytesWriter}.
+     * <hr/>
+     * In atomic modes the temporary file is created with the default permissions (rather than by {@link Files#createTempFile},
+     * which restricts them to the owner), and it's removed if the content could not be written.
+     *
+     * @param pathToWrite the file to write into (all missing parent directories will be created if necessary)
+     * @param writeMode the way to write the file
+     * @param bytesWriter the consumer that writes the content
+     * @throws IllegalStateException in case of {@link IOException} (the previous content is kept in atomic modes)
+     */
+    public static void writeFileBytes(Path pathToWrite, WriteMode writeMode, IOConsumer<OutputStream> bytesWriter) {
+        if (pathToWrite == null) {
+            throw new IllegalStateException("could not write the file, because the path to write is null");
+        }
+        Path tempPath = null;
+        try {
+            createParentDirs(pathToWrite);
+            Path channelPath = pathToWrite;
+            if (writeMode != WriteMode.DIRECT) {
+                tempPath = tempSibling(pathToWrite);
+                channelPath = tempPath;
+            }
+            try (FileChannel channel = FileChannel.open(channelPath, StandardOpenOption.WRITE,
+                     writeMode == WriteMode.DIRECT ? StandardOpenOption.CREATE : StandardOpenOption.CREATE_NEW,
+                     StandardOpenOption.TRUNCATE_EXISTING);
+                 PooledBufferOutputStream out = new PooledBufferOutputStream(channel)) {
+                bytesWriter.accept(out);
+                out.flush();
+                if (writeMode == WriteMode.ATOMIC_DURABLE) {
+                    channel.force(true);
+                }
+            }
+            if (tempPath != null) {
+                moveReplacing(tempPath, pathToWrite);
+                tempPath = null;
+                if (writeMode == WriteMode.ATOMIC_DURABLE) {
+                    forceDirectory(pathToWrite.toAbsolutePath().getParent());
+                }
+            }
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalStateException("could not save the content into the file " + pathToWrite, ex);
+        } finally {
+            removePathSilent(tempPath);
+        }
+    }
+
+    private static void createParentDirs(Path path) throws IOException {
+        Path parentDir = path.toAbsolutePath().getParent();
+        if (parentDir != null && !Files.isDirectory(parentDir)) {
+            Files.createDirectories(parentDir);  // <-- it throws and catches an exception if the directory exists
+        }
+    }
+
+    /**
+     * @param path the path of file to write
+     * @return the unique path of temporary file in the same directory (so, it could be renamed atomically)
+     */
+    private static Path tempSibling(Path path) {
+        return path.resolveSibling(String.format(".%s.%016x.tmp", path.getFileName(), ThreadLocalRandom.current().nextLong()));
+    }
+
+    private static void moveReplacing(Path tempPath, Path targetPath) throws IOException {
+        try {
+            Files.move(tempPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException atomicEx) {
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void forceDirectory(Path dir) {
+        try (FileChannel dirChannel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            dirChannel.force(true);  // <-- the rename is durable only when the directory entry is flushed
+        } catch (IOException ignored) {
+            // some platforms (like Windows) do not allow to open the directory as a channel
+        }
+    }
+
+    /**
+     * The output stream over {@link FileChannel}, which borrows its buffer from the pool and returns it on closing
+     */
+    private static final class PooledBufferOutputStream extends OutputStream {
+
+        private final FileChannel channel;
+        private byte[] buffer;
+        private int count = 0;
+
+        private PooledBufferOutputStream(FileChannel channel) {
+            this.channel = channel;
+            byte[] pooled = WRITE_BUFFER_POOL.poll();
+            this.buffer = pooled != null ? pooled : new byte[WRITE_BUFFER_SIZE];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length >= buffer.length) {
+                flushBuffer();
+                writeFully(ByteBuffer.wrap(bytes, offset, length));  // <-- the large array is written without copying
+            } else {
+                if (length > buffer.length - count) {
+                    flushBuffer();
+                }
+                System.arraycopy(bytes, offset, buffer, count, length);
+                count += length;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBuffer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (buffer == null) {
+                return;
+            }
+            try {
+                flushBuffer();
+            } finally {
+                WRITE_BUFFER_POOL.offer(buffer);
+                buffer = null;
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (buffer == null) {
+                throw new IOException("the stream of pooled buffer is already closed");
+            }
+            if (count > 0) {
+                writeFully(ByteBuffer.wrap(buffer, 0, count));
+                count = 0;
+            }
+        }
+
+        private void writeFully(ByteBuffer byteBuffer) throws IOException {
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+        }
+    }
+
     /**
      * Copy the file {@code sourceFile} to the file {@code targetFile}
      * and creates all missing parent directories if necessary.
@@ -247,6 +992,254 @@ public class CoreFileUtils {
         }
     }
 
+    // ===========================================================================================
+    //        Mirroring of directories with skipping of unchanged files
+    // ===========================================================================================
+
+    /**
+     * The way to detect that the target file is the same as the source one (and so, it should not be copied)
+     */
+    public enum ChangeDetection {
+        /**
+         * the target file is unchanged if it has the same size and the same time of last modification
+         */
+        SIZE_AND_MTIME,
+        /**
+         * the target file is unchanged if it has the same size and the same content (which is compared byte by byte)
+         */
+        CONTENT,
+        /**
+         * the target file is always overwritten
+         */
+        ALWAYS
+    }
+
+    /**
+     * The options of {@link #mirrorDir(Path, Path, MirrorOptions)}
+     *
+     * @param changeDetection the way to skip the unchanged files
+     * @param hardLinks {@code true} to create the hard-links instead of copies (where the file-system allows)
+     * @param maxConcurrency the maximal number of files that are copied at the same time
+     * @param filter the predicate of source files to mirror (by default - all the regular files)
+     */
+    public record MirrorOptions(
+        ChangeDetection changeDetection,
+        boolean hardLinks,
+        int maxConcurrency,
+        Predicate<Path> filter
+    ) {
+        public static final int DEFAULT_MAX_CONCURRENCY = 32;
+
+        public MirrorOptions {
+            Objects.requireNonNull(changeDetection, "the change detection of mirroring must not be null");
+            Objects.requireNonNull(filter, "the filter of mirroring must not be null");
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("the maximal concurrency must be positive, but it's " + maxConcurrency);
+            }
+        }
+
+        /**
+         * @return the options to copy all the files that are changed by size or by time of last modification
+         */
+        public static MirrorOptions of() {
+            return of(ChangeDetection.SIZE_AND_MTIME);
+        }
+
+        public static MirrorOptions of(ChangeDetection changeDetection) {
+            return new MirrorOptions(changeDetection, false, DEFAULT_MAX_CONCURRENCY, path -> true);
+        }
+
+        public MirrorOptions withHardLinks(boolean hardLinks) {
+            return new MirrorOptions(changeDetection, hardLinks, maxConcurrency, filter);
+        }
+
+        public MirrorOptions withMaxConcurrency(int maxConcurrency) {
+            return new MirrorOptions(changeDetection, hardLinks, maxConcurrency, filter);
+        }
+
+        public MirrorOptions withFilter(Predicate<Path> filter) {
+            return new MirrorOptions(changeDetection, hardLinks, maxConcurrency, filter);
+        }
+    }
+
+    /**
+     * The summary of {@link #mirrorDir(Path, Path, MirrorOptions)}
+     *
+     * @param filesScanned the number of source files that satisfy the filter
+     * @param filesCopied the number of copied files
+     * @param filesLinked the number of files that are mirrored as hard-links
+     * @param filesSkipped the number of unchanged files
+     * @param bytesCopied the total size of copied files
+     * @param failedFiles the relative paths of files that could not be mirrored because of {@link IOException}
+     * @param elapsed the duration of mirroring
+     */
+    @JsonPropertyOrder({"filesScanned", "filesCopied", "filesLinked", "filesSkipped", "bytesCopied", "failedFiles", "elapsed"})
+    public record MirrorResult(
+        int filesScanned,
+        int filesCopied,
+        int filesLinked,
+        int filesSkipped,
+        long bytesCopied,
+        List<String> failedFiles,
+        Duration elapsed
+    ) {
+        /**
+         * @return {@code true} if all the scanned files are mirrored
+         */
+        public boolean isSuccess() {
+            return failedFiles.isEmpty();
+        }
+    }
+
+    /**
+     * The same as {@link #mirrorDir(Path, Path, MirrorOptions)} with {@link MirrorOptions#of() default options}
+     *
+     * @param sourceDir the directory to mirror
+     * @param targetDir the directory to mirror into (it's created if necessary)
+     * @return the summary of mirroring
+     */
+    public static MirrorResult mirrorDir(Path sourceDir, Path targetDir) {
+        return mirrorDir(sourceDir, targetDir, MirrorOptions.of());
+    }
+
+    /**
+     * Mirroring the tree of {@code sourceDir} into {@code targetDir} (by the same relative paths), where the files that
+     * are unchanged (see {@link ChangeDetection}) are skipped, and the changed ones are either hard-linked (if it's
+     * requested and the file-system allows) or copied by {@link FileChannel#transferTo}, which lets the kernel
+     * to copy the bytes without passing them through the JVM (or even to share the blocks, where the file-system supports
+     * reflink-style copying). The time of last modification of each copied file is set to the one of source file.
+     * <hr/>
+     * The files are mirrored by virtual threads, but not more than {@link MirrorOptions#maxConcurrency()} at the same time
+     * (and the walking of the tree is suspended until the next file could be mirrored). The {@link IOException}
+     * of individual file does not stop the mirroring, but it's reported by {@link MirrorResult#failedFiles()}.
+     * The files in {@code targetDir} that are absent in {@code sourceDir} are not removed.
+     *
+     * @param sourceDir the directory to mirror
+     * @param targetDir the directory to mirror into (it's created if necessary)
+     * @param options the options of mirroring
+     * @return the summary of mirroring
+     */
+    public static MirrorResult mirrorDir(Path sourceDir, Path targetDir, MirrorOptions options) {
+        if (sourceDir == null || !Files.isDirectory(sourceDir)) {
+            throw new IllegalStateException(String.format(
+                "could not mirror the directory %s, because it does not exist or it's not a directory",
+                sourceDir == null ? "<< NULL >>" : "'" + sourceDir + "'"));
+        }
+        if (targetDir == null) {
+            throw new IllegalStateException(String.format(
+                "could not mirror the directory '%s', because the target directory is null", sourceDir));
+        }
+        long startNanos = System.nanoTime();
+        MirrorCounters counters = new MirrorCounters();
+        Semaphore permits = new Semaphore(options.maxConcurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             Stream<Path> walkPathStream = Files.walk(sourceDir)) {
+            walkPathStream
+                .filter(Files::isRegularFile)
+                .filter(options.filter())
+                .forEach(sourceFile -> {
+                    Path targetFile = targetDir.resolve(sourceDir.relativize(sourceFile).toString());
+                    counters.filesScanned.increment();
+                    permits.acquireUninterruptibly();
+                    executor.execute(() -> {
+                        try {
+                            mirrorFile(sourceFile, targetFile, options, counters);
+                        } catch (IOException | UnsupportedOperationException ex) {
+                            counters.failedFiles.add(sourceDir.relativize(sourceFile).toString());
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                });
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalStateException(String.format(
+                "could not walk the directory '%s' to mirror it into '%s'", sourceDir, targetDir), ex);
+        }
+        List<String> failedFiles = new ArrayList<>(counters.failedFiles);
+        Collections.sort(failedFiles);
+        return new MirrorResult(
+            counters.filesScanned.intValue(),
+            counters.filesCopied.intValue(),
+            counters.filesLinked.intValue(),
+            counters.filesSkipped.intValue(),
+            counters.bytesCopied.longValue(),
+            Collections.unmodifiableList(failedFiles),
+            Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private static final class MirrorCounters {
+        final LongAdder filesScanned = new LongAdder();
+        final LongAdder filesCopied = new LongAdder();
+        final LongAdder filesLinked = new LongAdder();
+        final LongAdder filesSkipped = new LongAdder();
+        final LongAdder bytesCopied = new LongAdder();
+        final Queue<String> failedFiles = new ConcurrentLinkedQueue<>();
+    }
+
+    private static void mirrorFile(Path sourceFile, Path targetFile,
+                                   MirrorOptions options, MirrorCounters counters) throws IOException {
+        BasicFileAttributes sourceAttrs = Files.readAttributes(sourceFile, BasicFileAttributes.class);
+        if (isUnchanged(sourceFile, sourceAttrs, targetFile, options.changeDetection())) {
+            counters.filesSkipped.increment();
+            return;
+        }
+        createParentDirs(targetFile);
+        if (options.hardLinks()) {
+            try {
+                Files.deleteIfExists(targetFile);
+                Files.createLink(targetFile, sourceFile);
+                counters.filesLinked.increment();
+                return;
+            } catch (IOException | UnsupportedOperationException ignored) {
+                // the file-system does not support hard-links (or they cannot cross the file-systems) - so, it's copied
+            }
+        }
+        // the copy is renamed over the target, so the target that is a hard-link to the source is never truncated in place
+        Path tempFile = tempSibling(targetFile);
+        try {
+            try (FileChannel sourceChannel = FileChannel.open(sourceFile, StandardOpenOption.READ);
+                 FileChannel tempChannel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                long size = sourceChannel.size();
+                long position = 0;
+                while (position < size) {
+                    long transferred = sourceChannel.transferTo(position, size - position, tempChannel);
+                    if (transferred <= 0) {
+                        break;  // <-- the source file is truncated concurrently
+                    }
+                    position += transferred;
+                }
+                counters.bytesCopied.add(position);
+            }
+            Files.setLastModifiedTime(tempFile, sourceAttrs.lastModifiedTime());
+            moveReplacing(tempFile, targetFile);
+            tempFile = null;
+        } finally {
+            removePathSilent(tempFile);
+        }
+        counters.filesCopied.increment();
+    }
+
+    private static boolean isUnchanged(Path sourceFile, BasicFileAttributes sourceAttrs,
+                                       Path targetFile, ChangeDetection changeDetection) throws IOException {
+        BasicFileAttributes targetAttrs;
+        try {
+            targetAttrs = Files.readAttributes(targetFile, BasicFileAttributes.class);
+        } catch (NoSuchFileException noFileEx) {
+            return false;
+        }
+        if (!targetAttrs.isRegularFile() || targetAttrs.size() != sourceAttrs.size()) {
+            return false;
+        }
+        if (Files.isSameFile(sourceFile, targetFile)) {
+            return true;  // <-- it's the hard-link, which is created by the previous mirroring (even for ALWAYS)
+        }
+        return switch (changeDetection) {
+            case SIZE_AND_MTIME -> targetAttrs.lastModifiedTime().toMillis() == sourceAttrs.lastModifiedTime().toMillis();
+            case CONTENT -> Files.mismatch(sourceFile, targetFile) < 0;
+            case ALWAYS -> false;
+        };
+    }
+
     /**
      * The same as {@link Files#deleteIfExists(Path)}, but ignore any kind of {@link IOException}.
      * <hr/>
@@ -269,28 +1262,211 @@ public class CoreFileUtils {
 
     /**
      * Recursively removes either a single file or the whole directory and returns the number of removed items
+     * <hr/>
+     * <u><i>Note:</i></u> the items that could not be removed are silently ignored - in order to get them
+     * the method {@link #removeTree(Path, boolean)} should be used.
      *
      * @param fileOrDirToRemove path to either a file or a directory to remove recursively
-     * @return the number of removed items
+     * @return the number of removed items (or {@code -1} if the argument is {@code null})
      */
     public static int removeSilent(File fileOrDirToRemove) {
         if (fileOrDirToRemove == null) {
             return -1;
         }
-        if (!fileOrDirToRemove.exists()) {
-            return 0;
+        return removeTree(fileOrDirToRemove.toPath(), false).removedCount();
+    }
+
+    /**
+     * The summary of {@link #removeTree(Path, boolean)}
+     *
+     * @param filesRemoved the number of removed files (including symbolic links, which are never followed)
+     * @param dirsRemoved the number of removed directories
+     * @param bytesRemoved the total size of removed files
+     * @param failedPaths the paths that could not be removed because of {@link IOException}
+     *                    (the directories that contain such paths are not removed as well)
+     * @param elapsed the duration of removing
+     */
+    @JsonPropertyOrder({"filesRemoved", "dirsRemoved", "bytesRemoved", "failedPaths", "elapsed"})
+    public record RemoveResult(
+        int filesRemoved,
+        int dirsRemoved,
+        long bytesRemoved,
+        List<String> failedPaths,
+        Duration elapsed
+    ) {
+        /**
+         * @return the total number of removed items (files and directories)
+         */
+        @JsonIgnore
+        public int removedCount() {
+            return filesRemoved + dirsRemoved;
+        }
+
+        /**
+         * @return {@code true} if the whole tree is removed
+         */
+        public boolean isSuccess() {
+            return failedPaths.isEmpty();
         }
-        try {
-            if (fileOrDirToRemove.isFile()) {
-                return fileOrDirToRemove.delete() ? 1 : 0;
+    }
+
+    /**
+     * The same as {@link #removeTree(Path, boolean)} that removes the tree sequentially
+     *
+     * @param fileOrDirToRemove path to either a file or a directory to remove recursively
+     * @return the summary of removing
+     */
+    public static RemoveResult removeTree(Path fileOrDirToRemove) {
+        return removeTree(fileOrDirToRemove, false);
+    }
+
+    /**
+     * Recursively removes either a single file or the whole directory in post-order (the content of each directory
+     * is removed before the directory itself), where the tree is walked by {@link Files#walkFileTree} without collecting
+     * and sorting all its paths in memory - so, the memory consumption depends only on the depth of the tree.
+     * If {@code parallel} is {@code true} the sibling sub-directories are removed concurrently by {@link ForkJoinPool}.
+     * <hr/>
+     * The {@link IOException} of individual item does not stop the removing, but it's reported
+     * by {@link RemoveResult#failedPaths()}. The symbolic links are removed, but never followed.
+     *
+     * @param fileOrDirToRemove path to either a file or a directory to remove recursively
+     * @param parallel {@code true} to remove the sibling sub-directories concurrently
+     * @return the summary of removing (which is empty if the path does not exist)
+     */
+    public static RemoveResult removeTree(Path fileOrDirToRemove, boolean parallel) {
+        if (fileOrDirToRemove == null) {
+            throw new IllegalStateException("the path to remove MUST NOT be null");
+        }
+        long startNanos = System.nanoTime();
+        RemoveCounters counters = new RemoveCounters();
+        if (Files.isDirectory(fileOrDirToRemove, LinkOption.NOFOLLOW_LINKS) && parallel) {
+            ForkJoinPool.commonPool().invoke(new RemoveDirTask(fileOrDirToRemove, counters));
+        } else if (Files.exists(fileOrDirToRemove, LinkOption.NOFOLLOW_LINKS)) {
+            try {
+                Files.walkFileTree(fileOrDirToRemove, new RemoveFileVisitor(counters));
+            } catch (IOException ioEx) {
+                counters.failedPaths.add(String.valueOf(fileOrDirToRemove));
+            }
+        }
+        return new RemoveResult(
+            counters.filesRemoved.intValue(),
+            counters.dirsRemoved.intValue(),
+            counters.bytesRemoved.longValue(),
+            counters.failedPaths.stream().distinct().sorted().toList(),
+            Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private static final class RemoveCounters {
+        final LongAdder filesRemoved = new LongAdder();
+        final LongAdder dirsRemoved = new LongAdder();
+        final LongAdder bytesRemoved = new LongAdder();
+        final Queue<String> failedPaths = new ConcurrentLinkedQueue<>();
+
+        void removeFile(Path file, long size) {
+            if (removeItem(file)) {
+                filesRemoved.increment();
+                bytesRemoved.add(size);
             }
-            try (Stream<Path> walkPathStream = Files.walk(fileOrDirToRemove.toPath())) {
-                return (int) walkPathStream.sorted(Comparator.reverseOrder()) // Sort in reverse order to delete contents before directories
-                    .filter(CoreFileUtils::removePathSilent)
-                    .count();
+        }
+
+        void removeDir(Path dir) {
+            if (removeItem(dir)) {
+                dirsRemoved.increment();
             }
-        } catch (IOException ioEx) {
-            return -2;
+        }
+
+        private boolean removeItem(Path item) {
+            try {
+                Files.delete(item);
+                return true;
+            } catch (NoSuchFileException noFileEx) {
+                return false;  // <-- it's already removed by someone else
+            } catch (IOException ioEx) {
+                failedPaths.add(String.valueOf(item));
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The visitor of sequential post-order removing (it does not follow the symbolic links)
+     */
+    private static final class RemoveFileVisitor extends SimpleFileVisitor<Path> {
+
+        private final RemoveCounters counters;
+
+        private RemoveFileVisitor(RemoveCounters counters) {
+            this.counters = counters;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            counters.removeFile(file, attrs.size());
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException ioEx) {
+            if (!(ioEx instanceof NoSuchFileException)) {
+                counters.failedPaths.add(String.valueOf(file));
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException ioEx) {
+            if (ioEx != null) {
+                counters.failedPaths.add(String.valueOf(dir));
+            } else {
+                counters.removeDir(dir);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    /**
+     * The task of parallel removing, which removes the files of directory and forks the tasks for its sub-directories
+     */
+    private static final class RemoveDirTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 123456789_004L;
+
+        private final transient Path dir;
+        private final transient RemoveCounters counters;
+
+        private RemoveDirTask(Path dir, RemoveCounters counters) {
+            this.dir = dir;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute() {
+            List<RemoveDirTask> subDirTasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (NoSuchFileException noFileEx) {
+                        continue;  // <-- the entry is already removed by someone else
+                    } catch (IOException ioEx) {
+                        counters.failedPaths.add(String.valueOf(entry));
+                        continue;  // <-- the rest of entries are removed anyway
+                    }
+                    if (attrs.isDirectory()) {
+                        subDirTasks.add(new RemoveDirTask(entry, counters));
+                    } else {
+                        counters.removeFile(entry, attrs.size());
+                    }
+                }
+            } catch (NoSuchFileException noFileEx) {
+                // the directory is already removed by someone else
+            } catch (IOException | DirectoryIteratorException ex) {
+                counters.failedPaths.add(String.valueOf(dir));
+            }
+            invokeAll(subDirTasks);
+            counters.removeDir(dir);
         }
     }
 
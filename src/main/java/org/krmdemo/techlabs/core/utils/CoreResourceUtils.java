@@ -21,6 +21,8 @@ import java.util.Optional;
  * that invokes standard JDK utilities, but wraps {@link java.io.IOException}
  * into {@link IllegalStateException} and creates missing parent directories.
  * <hr/>
+ * For the repeated loading of the same resources see {@link TextContentCache}.
+ * <hr/>
  * TODO: cover each method with tests
  */
 public class CoreResourceUtils {
@@ -34,12 +36,31 @@ public class CoreResourceUtils {
      * @return the content of classpath-resource by path {@code resourcePath} as {@link String}
      */
     public static String resourceAsText(String resourcePath) {
+        return loadResourceText(resourcePath, locateResource(resourcePath));
+    }
+
+    /**
+     * @param resourcePath the absolute path of classpath-resource (without leading {@code '/'}-slash)
+     * @return the URL of classpath-resource by the context class-loader
+     * @throws IllegalArgumentException if the resource could not be located
+     */
+    static URL locateResource(String resourcePath) {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         URL resourceUrl = classLoader.getResource(resourcePath);
         if (resourceUrl == null) {
             throw new IllegalArgumentException(String.format(
                 "could not locate teh resource by path '%s'", resourcePath));
         }
+        return resourceUrl;
+    }
+
+    /**
+     * @param resourcePath the absolute path of classpath-resource (to report the error)
+     * @param resourceUrl the URL of classpath-resource to load
+     * @return the content of classpath-resource as {@link String} in default charset
+     * @throws IllegalArgumentException if the content could not be loaded
+     */
+    static String loadResourceText(String resourcePath, URL resourceUrl) {
         try (InputStream resourceStream = resourceUrl.openStream()) {
             return IOUtils.toString(resourceStream, Charset.defaultCharset());
         } catch (IOException ioEx) {
@@ -1,19 +1,37 @@
 package org.krmdemo.techlabs.core.utils;
 
+import java.time.Duration;
+import java.util.AbstractList;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.SequencedMap;
 import java.util.SequencedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static org.krmdemo.techlabs.core.utils.CoreCollectors.toFrozenSortedMap;
+import static org.krmdemo.techlabs.core.utils.CoreCollectors.toFrozenSortedSet;
 import static org.krmdemo.techlabs.core.utils.CoreCollectors.toLinkedListReversed;
 import static org.krmdemo.techlabs.core.utils.CoreCollectors.toLinkedMap;
 import static org.krmdemo.techlabs.core.utils.CoreCollectors.toLinkedSet;
@@ -86,26 +104,90 @@ public class CoreStreamUtils {
         return intStream(integersList.stream());
     }
 
+    // ===========================================================================================
+    //       Utility-methods to collect primitive streams without boxing (IntList and LongList)
+    // ===========================================================================================
+
+    /**
+     * @param intsArr array of primitive {@code int}s
+     * @return a growable {@link IntList} of primitive {@code int}s (without boxing)
+     */
+    public static IntList intList(int... intsArr) {
+        return IntList.of(intsArr);
+    }
+
+    /**
+     * @param ints stream of primitive {@code int}s
+     * @return a growable {@link IntList} of primitive {@code int}s (without boxing)
+     */
+    public static IntList intList(IntStream ints) {
+        return IntList.of(ints);
+    }
+
+    /**
+     * @param longsArr array of primitive {@code long}s
+     * @return a growable {@link LongList} of primitive {@code long}s (without boxing)
+     */
+    public static LongList longList(long... longsArr) {
+        return LongList.of(longsArr);
+    }
+
+    /**
+     * @param longs stream of primitive {@code long}s
+     * @return a growable {@link LongList} of primitive {@code long}s (without boxing)
+     */
+    public static LongList longList(LongStream longs) {
+        return LongList.of(longs);
+    }
+
     // ===========================================================================================
     //        Utility-methods to create a reverse streams from the given array or list
     // ===========================================================================================
 
     public static IntStream reversed(int... valuesArr) {
-        return IntStream.rangeClosed(1, valuesArr.length).map(i -> valuesArr[valuesArr.length - i]);
+        return StreamSupport.intStream(new ReversedIntArraySpliterator(valuesArr, 0, valuesArr.length), false);
     }
     public static IntStream reversed(List<Integer> valuesList) {
-        return IntStream.rangeClosed(1, valuesList.size()).map(i -> valuesList.get(valuesList.size() - i));
+        if (!(valuesList instanceof RandomAccess)) {
+            // the positional access to LinkedList is linear, so the elements are un-boxed into array only once
+            return reversed(intStream(valuesList).toArray());
+        }
+        return reversedStream(valuesList).mapToInt(Integer::intValue);
+    }
+    public static IntStream reversed(IntList valuesList) {
+        return valuesList.reversed().stream();
     }
 
     public static int[] reversedArr(int... valuesArr) {
-        return reversed(valuesArr).toArray();
+        int[] resultArr = new int[valuesArr.length];
+        for (int i = 0; i < valuesArr.length; i++) {
+            resultArr[i] = valuesArr[valuesArr.length - 1 - i];
+        }
+        return resultArr;
     }
-    public static int[] reversedArr(java.util.stream.IntStream values) {
-        return reversedArr(values.toArray());
+    public static int[] reversedArr(IntStream values) {
+        int[] valuesArr = values.toArray();  // <-- the array is not shared with anybody, so it's reversed in-place
+        for (int i = 0, j = valuesArr.length - 1; i < j; i++, j--) {
+            int tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+        return valuesArr;
+    }
+
+    public static IntList reversedIntList(int... valuesArr) {
+        return IntList.wrap(reversedArr(valuesArr));
+    }
+    public static IntList reversedIntList(IntStream values) {
+        return IntList.wrap(reversedArr(values));
     }
 
     public static ArrayList<Integer> reversedList(int... valuesArr) {
-        return reversedList(Arrays.stream(valuesArr).boxed());
+        ArrayList<Integer> resultList = new ArrayList<>(valuesArr.length);
+        for (int i = valuesArr.length - 1; i >= 0; i--) {
+            resultList.add(valuesArr[i]);
+        }
+        return resultList;
     }
     public static ArrayList<Integer> reversedList(IntStream values) {
         return reversedList(values.boxed());
@@ -114,7 +196,10 @@ public class CoreStreamUtils {
         return boxedStream.collect(toListReversed());
     }
     public static <T> ArrayList<T> reversedList(List<T> valuesList) {
-        return reversedList(valuesList.stream());
+        // the bulk copy and the single in-place reversing are linear for any implementation of List
+        ArrayList<T> resultList = new ArrayList<>(valuesList);
+        Collections.reverse(resultList);
+        return resultList;
     }
 
     public static LinkedList<Integer> reversedLinkedList(int... valuesArr) {
@@ -130,6 +215,37 @@ public class CoreStreamUtils {
         return reversedLinkedList(valuesList.stream());
     }
 
+    /**
+     * Getting the sequential {@link Stream} of elements of passed {@link List} in reverse order.
+     *
+     * @param valuesList the list of elements
+     * @return a sequential {@link Stream} of elements from the last to the first one
+     * @param <T> a type of elements in {@code valuesList}
+     */
+    public static <T> Stream<T> reversedStream(List<T> valuesList) {
+        return reversedStream(valuesList, false);
+    }
+
+    /**
+     * Getting the {@link Stream} of elements of passed {@link List} in reverse order. For {@link RandomAccess} lists
+     * the spliterator is {@link Spliterator#SIZED sized} and is split exactly in halves, so the parallel stream
+     * is balanced over all the cores (unlike the spliterator of {@link List#reversed()} view, which is based on iterator).
+     * <hr/>
+     * <u><i>Note:</i></u> the size of {@link RandomAccess} list is taken when the stream is created,
+     * so the list must not be structurally modified until the stream is consumed.
+     *
+     * @param valuesList the list of elements
+     * @param parallel {@code true} to get the parallel stream and {@code false} - to get the sequential one
+     * @return a {@link Stream} of elements from the last to the first one
+     * @param <T> a type of elements in {@code valuesList}
+     */
+    public static <T> Stream<T> reversedStream(List<T> valuesList, boolean parallel) {
+        Spliterator<T> spliterator = valuesList instanceof RandomAccess
+            ? new RandomAccessListSpliterator<>(valuesList, 0, valuesList.size(), true)
+            : Spliterators.spliterator(valuesList.reversed(), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, parallel);
+    }
+
     // --------------------------------------------------------------------------------------------
 
     /**
@@ -143,19 +259,84 @@ public class CoreStreamUtils {
      * @param <T> a type of elements in {@code elems}
      */
     public static <T> Stream<T> streamOf(Iterable<T> elems) {
-        return StreamSupport.stream(elems.spliterator(), false);
+        return streamOf(elems, false);
+    }
+
+    /**
+     * Getting the sequential or parallel {@link Stream} of elements in passed {@link Iterable}.
+     * The spliterator of {@link java.util.Collection} is already {@link Spliterator#SIZED sized},
+     * but the spliterators of many custom lists are based on iterator and are split by the batches of growing size.
+     * So, the parallel stream over {@link RandomAccess} list uses the spliterator, which is split exactly in halves
+     * by positional access - in order to balance the parallel pipeline over all the cores.
+     * <hr/>
+     * <u><i>Note:</i></u> the size of {@link RandomAccess} list is taken when the parallel stream is created
+     * (there's no fail-fast check), so the list must not be structurally modified until the stream is consumed.
+     *
+     * @param elems elements to get the {@link Stream} of
+     * @param parallel {@code true} to get the parallel stream and {@code false} - to get the sequential one
+     * @return a {@link Stream} of elements in {@code elems}
+     * @param <T> a type of elements in {@code elems}
+     */
+    public static <T> Stream<T> streamOf(Iterable<T> elems, boolean parallel) {
+        Spliterator<T> spliterator = parallel && elems instanceof List<T> list && list instanceof RandomAccess
+            ? new RandomAccessListSpliterator<>(list, 0, list.size(), false)
+            : elems.spliterator();
+        return StreamSupport.stream(spliterator, parallel);
     }
 
     /**
      * This method returns the {@link List}, which appears to be two whole copies of {@code elems}.
      * The order of elements in the first and the second copy remains exactly the same as in original {@link Iterable}.
+     * <hr/>
+     * <u><i>Note:</i></u> the {@code elems} are iterated only once - so, it works for one-shot sources as well.
      *
      * @param elems elements to <i>multiply twice</i>
      * @return the {@link List}, which appears to be two whole copy of {@code elems}
      * @param <T> a type of elements in {@code elems}
      */
     public static <T> List<T> listTwiceOf(Iterable<T> elems) {
-        return Stream.concat(streamOf(elems), streamOf(elems)).toList();
+        List<T> once = streamOf(elems).toList();
+        return Stream.concat(once.stream(), once.stream()).toList();
+    }
+
+    /**
+     * Wrapping the one-shot {@link Stream} into memoizing {@link ReplayableIterable}, which pulls the elements
+     * from the source only once and keeps all of them in memory - so, they could be re-streamed many times.
+     *
+     * @param source the source stream (it's closed when it's exhausted)
+     * @return the replayable iterable over the elements of {@code source}
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> ReplayableIterable<T> replayable(Stream<T> source) {
+        return replayable(source, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Wrapping the one-shot {@link Stream} into memoizing {@link ReplayableIterable}, which pulls the elements
+     * from the source only once and keeps about {@code memoryThreshold} of them in memory, while the rest ones
+     * are spilled into the temporary file (so, they must be {@link java.io.Serializable}).
+     * <hr/>
+     * <u><i>Note:</i></u> the returned instance should be closed to delete the temporary file.
+     *
+     * @param source the source stream (it's closed when it's exhausted)
+     * @param memoryThreshold the number of elements to keep in memory
+     * @return the replayable iterable over the elements of {@code source}
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> ReplayableIterable<T> replayable(Stream<T> source, int memoryThreshold) {
+        return new ReplayableIterable<>(source.iterator(), source::close, memoryThreshold);
+    }
+
+    /**
+     * Wrapping the {@link Iterable} (which could be iterated only once or whose iteration is expensive)
+     * into memoizing {@link ReplayableIterable}, which keeps all the elements in memory.
+     *
+     * @param source the source iterable (it's iterated only once)
+     * @return the replayable iterable over the elements of {@code source}
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> ReplayableIterable<T> replayable(Iterable<T> source) {
+        return new ReplayableIterable<>(source.iterator(), null, Integer.MAX_VALUE);
     }
 
     // --------------------------------------------------------------------------------------------
@@ -337,6 +518,65 @@ public class CoreStreamUtils {
         return sortedMap(mapToSort.entrySet().stream());
     }
 
+    /**
+     * The same as {@link #sortedSet(Stream)}, but the result is the immutable {@link FrozenSortedSet},
+     * which is backed by the sorted array - it's the best choice for read-mostly sorted sets.
+     *
+     * @param values the stream of values
+     * @return the immutable sorted set of those values as {@link NavigableSet}
+     * @param <T> the type of value that must implement {@link Comparable}
+     */
+    public static <T extends Comparable<T>> NavigableSet<T> frozenSortedSet(Stream<T> values) {
+        return values.collect(toFrozenSortedSet());
+    }
+
+    /**
+     * The same as {@link #sortedMap(Stream)}, but the result is the immutable {@link FrozenSortedMap},
+     * which is backed by parallel arrays of sorted keys and their values - it's the best choice for
+     * read-mostly lookup-tables that are built once and never mutated.
+     *
+     * @param entries stream of entries
+     * @return the immutable sorted map, which is collected from those entries, as {@link NavigableMap}
+     * @param <K> the type of key that must implement {@link Comparable}
+     * @param <V> the type of value
+     */
+    public static <K extends Comparable<K>, V> NavigableMap<K, V>
+    frozenSortedMap(Stream<Map.Entry<K,V>> entries) {
+        return frozenSortedMap(MergeFunction.OVERWRITE, entries);
+    }
+
+    /**
+     * The same as {@link #sortedMap(MergeFunction, Stream)}, but the result is the immutable {@link FrozenSortedMap}.
+     * <hr/>
+     * In order to avoid {@link NullPointerException} all invalid entries are filtered out,
+     * where the filter is based on using {@link #entryIsValid(Map.Entry)} function.
+     *
+     * @param mergeFunction the merge-function to handle the entries with the same {@link Map.Entry#getKey() key}
+     * @param entries stream of entries
+     * @return the immutable sorted map, which is collected from those entries, as {@link NavigableMap}
+     * @param <K> the type of key that must implement {@link Comparable}
+     * @param <V> the type of value
+     */
+    public static <K extends Comparable<K>, V> NavigableMap<K, V>
+    frozenSortedMap(MergeFunction mergeFunction, Stream<Map.Entry<K,V>> entries) {
+        return entries
+            .filter(CoreStreamUtils::entryIsValid)
+            .collect(toFrozenSortedMap(Map.Entry::getKey, Map.Entry::getValue, mergeFunction));
+    }
+
+    /**
+     * Returns the immutable sorted copy of the passed map {@code mapToFreeze}
+     *
+     * @param mapToFreeze the map whose immutable sorted copy to return
+     * @return the immutable sorted copy of the passed map as {@link FrozenSortedMap}
+     * @param <K> the type of key that must implement {@link Comparable}
+     * @param <V> the type of value
+     */
+    public static <K extends Comparable<K>, V> NavigableMap<K, V>
+    frozenSortedMap(Map<K,V> mapToFreeze) {
+        return frozenSortedMap(mapToFreeze.entrySet().stream());
+    }
+
     /**
      * Transform the var-args-arrays of entries into the linked map,
      * where the entries with the same {@link Map.Entry#getKey() key} are merged
@@ -415,6 +655,763 @@ public class CoreStreamUtils {
         return entries.collect(toLinkedMap(Map.Entry::getKey, Map.Entry::getValue, mergeFunction));
     }
 
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The same as {@link #mergeSorted(Comparator, Stream[])}, but the elements are compared in natural order.
+     *
+     * @param sortedStreams var-args-array of streams, each of which is already sorted in natural order
+     * @return a lazy sorted stream of all elements from {@code sortedStreams}
+     * @param <T> the type of elements that must implement {@link Comparable}
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T extends Comparable<? super T>> Stream<T> mergeSorted(Stream<T>... sortedStreams) {
+        return mergeSorted(Comparator.naturalOrder(), sortedStreams);
+    }
+
+    /**
+     * Lazy k-way merge of already sorted streams (like the sorted results of different partitions),
+     * which keeps only the current head of each source stream in the min-heap - so, the memory foot-print
+     * is {@code O(k)} and each element takes {@code O(log(k))}, unlike collecting everything into {@link NavigableSet}.
+     * The equal elements of different sources are produced in the order of sources in the var-args-array.
+     * <hr/>
+     * <u><i>Note:</i></u> the source streams are consumed only when the result stream is consumed,
+     * and they are closed when the result stream is closed.
+     *
+     * @param comparator the comparator, which all the source streams are sorted with
+     * @param sortedStreams var-args-array of streams, each of which is already sorted with {@code comparator}
+     * @return a lazy sorted stream of all elements from {@code sortedStreams}
+     * @param <T> the type of elements
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> Stream<T> mergeSorted(Comparator<? super T> comparator, Stream<T>... sortedStreams) {
+        Stream<T> mergedStream = StreamSupport.stream(
+            new MergeSortedSpliterator<>(comparator, sortedStreams), false);
+        for (Stream<T> sortedStream : sortedStreams) {
+            mergedStream = mergedStream.onClose(sortedStream::close);
+        }
+        return mergedStream;
+    }
+
+    /**
+     * The same as {@link #mergeSorted(Comparator, MergeFunction, Stream[])},
+     * but the keys of entries are compared in natural order.
+     *
+     * @param mergeFunction the merge-function to handle the entries with the same {@link Map.Entry#getKey() key}
+     * @param sortedEntries var-args-array of streams of entries, each of which is already sorted by keys
+     * @return a lazy stream of entries with distinct keys, which is sorted by keys
+     * @param <K> the type of key that must implement {@link Comparable}
+     * @param <V> the type of value
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <K extends Comparable<? super K>, V> Stream<Map.Entry<K, V>>
+    mergeSorted(MergeFunction mergeFunction, Stream<Map.Entry<K,V>>... sortedEntries) {
+        return mergeSorted(Comparator.naturalOrder(), mergeFunction, sortedEntries);
+    }
+
+    /**
+     * Lazy k-way merge of streams of entries, each of which is already sorted by keys
+     * (see {@link #mergeSorted(Comparator, Stream[])}), where the consecutive entries with the same
+     * {@link Map.Entry#getKey() key} are merged with the passed {@code mergeFunction}
+     * in the order of sources in the var-args-array. The result stream could be collected into the map
+     * without re-sorting (for example, into the linked map with {@link #linkedMap(Stream)}).
+     * <hr/>
+     * In order to avoid {@link NullPointerException} all invalid entries are filtered out,
+     * where the filter is based on using {@link #entryIsValid(Map.Entry)} function.
+     *
+     * @param keyComparator the comparator, which all the source streams are sorted by keys with
+     * @param mergeFunction the merge-function to handle the entries with the same {@link Map.Entry#getKey() key}
+     * @param sortedEntries var-args-array of streams of entries, each of which is already sorted by keys
+     * @return a lazy stream of entries with distinct keys, which is sorted by keys
+     * @param <K> the type of key
+     * @param <V> the type of value
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <K, V> Stream<Map.Entry<K, V>>
+    mergeSorted(Comparator<? super K> keyComparator, MergeFunction mergeFunction, Stream<Map.Entry<K,V>>... sortedEntries) {
+        Stream<Map.Entry<K, V>> mergedEntries = mergeSorted(
+            Map.Entry.comparingByKey(keyComparator), validEntries(sortedEntries));
+        return StreamSupport.stream(
+            new MergeEqualKeysSpliterator<>(mergedEntries.spliterator(), keyComparator, mergeFunction.op()), false)
+            .onClose(mergedEntries::close);
+    }
+
+    private static <K, V> Stream<Map.Entry<K, V>>[] validEntries(Stream<Map.Entry<K,V>>[] entriesStreams) {
+        @SuppressWarnings("unchecked")
+        Stream<Map.Entry<K, V>>[] validStreams = (Stream<Map.Entry<K, V>>[]) new Stream<?>[entriesStreams.length];
+        for (int i = 0; i < entriesStreams.length; i++) {
+            validStreams[i] = entriesStreams[i].filter(CoreStreamUtils::entryIsValid);
+        }
+        return validStreams;
+    }
+
+    /**
+     * The spliterator of k-way merge, which keeps the indexes of source spliterators in the binary min-heap
+     * ordered by their current heads (and by the index of source for equal heads)
+     */
+    private static class MergeSortedSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Comparator<? super T> comparator;
+        private final Spliterator<T>[] sources;
+        private final Object[] heads;
+        private final int[] heap;
+        private int heapSize = -1;  // <-- the first heads are taken lazily on the first request
+        private T fetched;
+        private final Consumer<T> fetcher = value -> fetched = value;
+
+        private MergeSortedSpliterator(Comparator<? super T> comparator, Stream<T>[] sortedStreams) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.comparator = comparator;
+            @SuppressWarnings("unchecked")
+            Spliterator<T>[] sourceSpliterators = (Spliterator<T>[]) new Spliterator<?>[sortedStreams.length];
+            for (int i = 0; i < sortedStreams.length; i++) {
+                sourceSpliterators[i] = sortedStreams[i].spliterator();
+            }
+            this.sources = sourceSpliterators;
+            this.heads = new Object[sources.length];
+            this.heap = new int[sources.length];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (heapSize < 0) {
+                heapSize = 0;
+                for (int i = 0; i < sources.length; i++) {
+                    if (fetchHead(i)) {
+                        heap[heapSize++] = i;
+                        siftUp(heapSize - 1);
+                    }
+                }
+            }
+            if (heapSize == 0) {
+                return false;
+            }
+            int sourceIndex = heap[0];
+            T value = (T) heads[sourceIndex];
+            if (!fetchHead(sourceIndex)) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(0);
+            action.accept(value);
+            return true;
+        }
+
+        private boolean fetchHead(int sourceIndex) {
+            if (sources[sourceIndex].tryAdvance(fetcher)) {
+                heads[sourceIndex] = fetched;
+                return true;
+            }
+            heads[sourceIndex] = null;
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean less(int leftSource, int rightSource) {
+            int cmp = comparator.compare((T) heads[leftSource], (T) heads[rightSource]);
+            return cmp < 0 || (cmp == 0 && leftSource < rightSource);
+        }
+
+        private void siftUp(int index) {
+            int sourceIndex = heap[index];
+            while (index > 0) {
+                int parentIndex = (index - 1) >>> 1;
+                if (!less(sourceIndex, heap[parentIndex])) {
+                    break;
+                }
+                heap[index] = heap[parentIndex];
+                index = parentIndex;
+            }
+            heap[index] = sourceIndex;
+        }
+
+        private void siftDown(int index) {
+            if (heapSize == 0) {
+                return;
+            }
+            int sourceIndex = heap[index];
+            int half = heapSize >>> 1;
+            while (index < half) {
+                int childIndex = 2 * index + 1;
+                int rightIndex = childIndex + 1;
+                if (rightIndex < heapSize && less(heap[rightIndex], heap[childIndex])) {
+                    childIndex = rightIndex;
+                }
+                if (!less(heap[childIndex], sourceIndex)) {
+                    break;
+                }
+                heap[index] = heap[childIndex];
+                index = childIndex;
+            }
+            heap[index] = sourceIndex;
+        }
+    }
+
+    /**
+     * The spliterator that merges the consecutive entries with the same key of already sorted entries
+     */
+    private static class MergeEqualKeysSpliterator<K, V> extends Spliterators.AbstractSpliterator<Map.Entry<K, V>> {
+
+        private final Spliterator<Map.Entry<K, V>> sortedEntries;
+        private final Comparator<? super K> keyComparator;
+        private final BinaryOperator<V> mergeOp;
+        private Map.Entry<K, V> pendingEntry = null;
+        private Map.Entry<K, V> fetched;
+        private final Consumer<Map.Entry<K, V>> fetcher = entry -> fetched = entry;
+
+        private MergeEqualKeysSpliterator(Spliterator<Map.Entry<K, V>> sortedEntries,
+                                          Comparator<? super K> keyComparator,
+                                          BinaryOperator<V> mergeOp) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.sortedEntries = sortedEntries;
+            this.keyComparator = keyComparator;
+            this.mergeOp = mergeOp;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            if (pendingEntry == null) {
+                if (!sortedEntries.tryAdvance(fetcher)) {
+                    return false;
+                }
+                pendingEntry = fetched;
+            }
+            K key = pendingEntry.getKey();
+            V value = pendingEntry.getValue();
+            pendingEntry = null;
+            while (sortedEntries.tryAdvance(fetcher)) {
+                if (keyComparator.compare(key, fetched.getKey()) != 0) {
+                    pendingEntry = fetched;
+                    break;
+                }
+                value = mergeOp.apply(value, fetched.getValue());
+            }
+            action.accept(keyValue(key, value));
+            return true;
+        }
+    }
+
+    // ===========================================================================================
+    //        Utility-methods to split the stream into batches, sliding windows and pairs
+    // ===========================================================================================
+
+    /**
+     * Splitting the stream into the consecutive batches of {@code batchSize} elements (the last one could be smaller).
+     * Each batch is a new {@link ArrayList}, which is pre-sized and filled directly from the source
+     * (without any intermediate copying), so the consumer owns it and could modify or keep it.
+     *
+     * @param source the source stream (it's closed when the returned stream is closed)
+     * @param batchSize the maximal number of elements in each batch
+     * @return the lazy sequential stream of batches
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> Stream<List<T>> batches(Stream<T> source, int batchSize) {
+        return batchesStream(source, new BatchSpliterator<>(source.spliterator(),
+            checkPositive(batchSize, "batch size"), Long.MAX_VALUE, null, Long.MAX_VALUE, null));
+    }
+
+    /**
+     * Splitting the stream into the consecutive batches, whose total weight (for example, the size in bytes
+     * of the serialized elements) does not exceed {@code maxBytes}. The element, whose own weight exceeds
+     * {@code maxBytes}, is emitted as a single-element batch.
+     *
+     * @param source the source stream (it's closed when the returned stream is closed)
+     * @param maxBytes the maximal total weight of elements in each batch
+     * @param bytesOf the function to get the weight of each element
+     * @return the lazy sequential stream of batches
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> Stream<List<T>> batches(Stream<T> source, long maxBytes, ToLongFunction<? super T> bytesOf) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("the max bytes of batch must be positive, but it's " + maxBytes);
+        }
+        return batchesStream(source, new BatchSpliterator<>(source.spliterator(),
+            Integer.MAX_VALUE, maxBytes, Objects.requireNonNull(bytesOf), Long.MAX_VALUE, null));
+    }
+
+    /**
+     * Splitting the stream into the consecutive batches of at most {@code maxBatchSize} elements, where each batch
+     * is also closed as soon as {@code maxLatency} has elapsed since the arrival of its first element.
+     * <hr/>
+     * <u><i>Note:</i></u> the streams are pulled by consumer, so the elapsed time is checked when the next element
+     * arrives - the batch is not emitted by timer while the source is blocked waiting for the next element.
+     *
+     * @param source the source stream (it's closed when the returned stream is closed)
+     * @param maxBatchSize the maximal number of elements in each batch
+     * @param maxLatency the maximal time between the arrivals of the first and the last elements of each batch
+     * @return the lazy sequential stream of batches
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> Stream<List<T>> batches(Stream<T> source, int maxBatchSize, Duration maxLatency) {
+        return batches(source, maxBatchSize, maxLatency, System::nanoTime);
+    }
+
+    static <T> Stream<List<T>> batches(Stream<T> source, int maxBatchSize, Duration maxLatency, LongSupplier nanoClock) {
+        return batchesStream(source, new BatchSpliterator<>(source.spliterator(),
+            checkPositive(maxBatchSize, "batch size"), Long.MAX_VALUE, null, latencyNanos(maxLatency), nanoClock));
+    }
+
+    private static long latencyNanos(Duration maxLatency) {
+        if (maxLatency == null) {
+            throw new IllegalArgumentException("the max latency of batch must not be << NULL >>");
+        }
+        if (maxLatency.isNegative() || maxLatency.isZero()) {
+            throw new IllegalArgumentException("the max latency of batch must be positive, but it's " + maxLatency);
+        }
+        // the durations that do not fit into the long nanoseconds (about 292 years) are the same as infinite ones
+        return maxLatency.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : maxLatency.toNanos();
+    }
+
+    /**
+     * The same as {@link #windows(Stream, int, int)} with the step {@code 1}.
+     *
+     * @param source the source stream (it's closed when the returned stream is closed)
+     * @param windowSize the number of elements in each window
+     * @return the lazy sequential stream of sliding windows
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> Stream<List<T>> windows(Stream<T> source, int windowSize) {
+        return windows(source, windowSize, 1);
+    }
+
+    /**
+     * Getting the sliding windows of {@code windowSize} elements over the stream, where the first element
+     * of each next window is {@code step} elements further than the previous one (the incomplete windows
+     * at the end of stream are not emitted, and if {@code step > windowSize} some elements are skipped).
+     * <hr/>
+     * The windows are the read-only {@link List lists} over the shared buffer, which is never overwritten
+     * (when it's over, the elements of incomplete window are moved into a new buffer) - so, there's no copying
+     * of the whole window per each element, and the windows remain valid even if they are kept by the consumer.
+     *
+     * @param source the source stream (it's closed when the returned stream is closed)
+     * @param windowSize the number of elements in each window
+     * @param step the distance between the first elements of neighbour windows
+     * @return the lazy sequential stream of sliding windows
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> Stream<List<T>> windows(Stream<T> source, int windowSize, int step) {
+        return StreamSupport.stream(new WindowSpliterator<>(source.spliterator(),
+                checkPositive(windowSize, "window size"), checkPositive(step, "window step")), false)
+            .onClose(source::close);
+    }
+
+    /**
+     * Applying the function to each pair of neighbour elements of the stream -
+     * so, for the source {@code [a, b, c, d]} the result is {@code [f(a,b), f(b,c), f(c,d)]}.
+     *
+     * @param source the source stream (it's closed when the returned stream is closed)
+     * @param pairFunction the function of the previous and the next elements
+     * @return the lazy sequential stream of results, which has one element less than the source one
+     * @param <T> a type of elements in {@code source}
+     * @param <R> a type of results of {@code pairFunction}
+     */
+    public static <T, R> Stream<R> pairwise(Stream<T> source, BiFunction<? super T, ? super T, ? extends R> pairFunction) {
+        return StreamSupport.stream(new PairwiseSpliterator<T, R>(source.spliterator(), pairFunction), false)
+            .onClose(source::close);
+    }
+
+    /**
+     * Getting the pairs of neighbour elements of the stream as {@link Map.Entry entries}, where the previous element
+     * is the {@link Map.Entry#getKey() key} and the next one is the {@link Map.Entry#getValue() value}.
+     *
+     * @param source the source stream (it's closed when the returned stream is closed)
+     * @return the lazy sequential stream of pairs, which has one element less than the source one
+     * @param <T> a type of elements in {@code source}
+     */
+    public static <T> Stream<Map.Entry<T, T>> pairwise(Stream<T> source) {
+        return pairwise(source, CoreStreamUtils::keyValue);
+    }
+
+    private static <T> Stream<List<T>> batchesStream(Stream<T> source, BatchSpliterator<T> batchSpliterator) {
+        return StreamSupport.stream(batchSpliterator, false).onClose(source::close);
+    }
+
+    private static int checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(String.format("the %s must be positive, but it's %d", name, value));
+        }
+        return value;
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The spliterator over the range of {@link RandomAccess} list (in direct or reverse order),
+     * which is split exactly in halves - the prefix in encounter order is returned by {@link #trySplit()}
+     */
+    private static class RandomAccessListSpliterator<T> implements Spliterator<T> {
+
+        private final List<T> list;
+        private int from;
+        private int to;
+        private final boolean reversed;
+
+        private RandomAccessListSpliterator(List<T> list, int from, int to, boolean reversed) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.reversed = reversed;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(reversed ? list.get(--to) : list.get(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (reversed) {
+                for (int i = to - 1; i >= from; i--) {
+                    action.accept(list.get(i));
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    action.accept(list.get(i));
+                }
+            }
+            from = to;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (from + to) >>> 1;
+            if (mid == from) {
+                return null;
+            }
+            if (reversed) {
+                RandomAccessListSpliterator<T> prefix = new RandomAccessListSpliterator<>(list, mid, to, true);
+                to = mid;
+                return prefix;
+            }
+            RandomAccessListSpliterator<T> prefix = new RandomAccessListSpliterator<>(list, from, mid, false);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * The spliterator over the range {@code [from;to)} of {@code int[]}-array from the last element to the first one,
+     * which is split exactly in halves - the prefix in encounter order (the upper half of range) is returned by {@link #trySplit()}
+     */
+    static class ReversedIntArraySpliterator implements Spliterator.OfInt {
+
+        private final int[] array;
+        private final int from;
+        private int to;
+
+        ReversedIntArraySpliterator(int[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(array[--to]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (int i = to - 1; i >= from; i--) {
+                action.accept(array[i]);
+            }
+            to = from;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int mid = (from + to) >>> 1;
+            if (mid == from) {
+                return null;
+            }
+            ReversedIntArraySpliterator prefix = new ReversedIntArraySpliterator(array, mid, to);
+            to = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * The spliterator over the range {@code [from;to)} of {@code long[]}-array from the last element to the first one
+     * (the same as {@link ReversedIntArraySpliterator} but for primitive {@code long}s)
+     */
+    static class ReversedLongArraySpliterator implements Spliterator.OfLong {
+
+        private final long[] array;
+        private final int from;
+        private int to;
+
+        ReversedLongArraySpliterator(long[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(array[--to]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            for (int i = to - 1; i >= from; i--) {
+                action.accept(array[i]);
+            }
+            to = from;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            int mid = (from + to) >>> 1;
+            if (mid == from) {
+                return null;
+            }
+            ReversedLongArraySpliterator prefix = new ReversedLongArraySpliterator(array, mid, to);
+            to = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * The spliterator of batches, which are closed by the number of elements, their total weight or the elapsed time
+     */
+    private static class BatchSpliterator<T> extends Spliterators.AbstractSpliterator<List<T>> {
+
+        private static final int MAX_INITIAL_CAPACITY = 1024;
+
+        private final Spliterator<T> source;
+        private final int maxSize;
+        private final long maxBytes;
+        private final ToLongFunction<? super T> bytesOf;
+        private final long maxLatencyNanos;
+        private final LongSupplier nanoClock;
+        private boolean hasPending = false;
+        private T pending;
+        private T fetched;
+        private final Consumer<T> fetcher = value -> fetched = value;
+
+        private BatchSpliterator(Spliterator<T> source, int maxSize, long maxBytes, ToLongFunction<? super T> bytesOf,
+                                 long maxLatencyNanos, LongSupplier nanoClock) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.source = source;
+            this.maxSize = maxSize;
+            this.maxBytes = maxBytes;
+            this.bytesOf = bytesOf;
+            this.maxLatencyNanos = maxLatencyNanos;
+            this.nanoClock = nanoClock;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<T>> action) {
+            List<T> batch = null;
+            long batchBytes = 0L;
+            long batchStart = 0L;
+            while (batch == null || batch.size() < maxSize) {
+                T elem;
+                if (hasPending) {
+                    elem = pending;
+                    hasPending = false;
+                    pending = null;
+                } else if (source.tryAdvance(fetcher)) {
+                    elem = fetched;
+                } else {
+                    break;
+                }
+                long elemBytes = bytesOf == null ? 0L : bytesOf.applyAsLong(elem);
+                if (batch == null) {
+                    batch = maxSize == Integer.MAX_VALUE ? new ArrayList<>() : new ArrayList<>(Math.min(maxSize, MAX_INITIAL_CAPACITY));
+                    batchStart = nanoClock == null ? 0L : nanoClock.getAsLong();
+                } else if (batchBytes + elemBytes > maxBytes) {
+                    pending = elem;  // <-- the element that does not fit is the first one of the next batch
+                    hasPending = true;
+                    break;
+                }
+                batch.add(elem);
+                batchBytes += elemBytes;
+                if (nanoClock != null && nanoClock.getAsLong() - batchStart >= maxLatencyNanos) {
+                    break;
+                }
+            }
+            if (batch == null) {
+                return false;
+            }
+            action.accept(batch);
+            return true;
+        }
+    }
+
+    /**
+     * The spliterator of sliding windows, which are read-only views over the shared buffer
+     */
+    private static class WindowSpliterator<T> extends Spliterators.AbstractSpliterator<List<T>> {
+
+        private static final int MIN_BUFFER_CAPACITY = 256;
+
+        private final Spliterator<T> source;
+        private final int windowSize;
+        private final int step;
+        private Object[] buffer;
+        private int start = 0;
+        private int end = 0;
+        private long toSkip = 0L;
+        private final Consumer<T> appender = this::append;
+
+        private WindowSpliterator(Spliterator<T> source, int windowSize, int step) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.source = source;
+            this.windowSize = windowSize;
+            this.step = step;
+            this.buffer = new Object[(int) Math.min(Math.max(2L * windowSize, MIN_BUFFER_CAPACITY), Integer.MAX_VALUE - 8)];
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<T>> action) {
+            while (end - start < windowSize) {
+                if (!source.tryAdvance(appender)) {
+                    return false;
+                }
+            }
+            ArrayWindow<T> window = new ArrayWindow<>(buffer, start, windowSize);
+            long nextStart = (long) start + step;
+            if (nextStart > end) {
+                toSkip = nextStart - end;
+                start = end;
+            } else {
+                start = (int) nextStart;
+            }
+            action.accept(window);
+            return true;
+        }
+
+        private void append(T elem) {
+            if (toSkip > 0) {
+                toSkip--;
+                return;
+            }
+            if (end == buffer.length) {
+                // the previous windows could be kept by consumer, so the buffer is replaced rather than shifted
+                Object[] newBuffer = new Object[buffer.length];
+                System.arraycopy(buffer, start, newBuffer, 0, end - start);
+                buffer = newBuffer;
+                end -= start;
+                start = 0;
+            }
+            buffer[end++] = elem;
+        }
+    }
+
+    /**
+     * The read-only view of the range of array (see {@link WindowSpliterator})
+     */
+    private static class ArrayWindow<T> extends AbstractList<T> implements RandomAccess {
+
+        private final Object[] array;
+        private final int from;
+        private final int size;
+
+        private ArrayWindow(Object[] array, int from, int size) {
+            this.array = array;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            return (T) array[from + Objects.checkIndex(index, size)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * The spliterator of results of the function that is applied to the neighbour elements of the source
+     */
+    private static class PairwiseSpliterator<T, R> extends Spliterators.AbstractSpliterator<R> {
+
+        private final Spliterator<T> source;
+        private final BiFunction<? super T, ? super T, ? extends R> pairFunction;
+        private boolean started = false;
+        private T previous;
+        private T fetched;
+        private final Consumer<T> fetcher = value -> fetched = value;
+
+        private PairwiseSpliterator(Spliterator<T> source, BiFunction<? super T, ? super T, ? extends R> pairFunction) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.source = source;
+            this.pairFunction = pairFunction;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (!started) {
+                started = true;
+                if (!source.tryAdvance(fetcher)) {
+                    return false;
+                }
+                previous = fetched;
+            }
+            if (!source.tryAdvance(fetcher)) {
+                return false;
+            }
+            T next = fetched;
+            R result = pairFunction.apply(previous, next);
+            previous = next;
+            action.accept(result);
+            return true;
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------
+
     /**
      * In order to avoid {@link NullPointerException} in JDK's collectors
      * all entries that are {@code null} or whose key or value is {@code null} should be filtered out.
@@ -2,6 +2,7 @@ package org.krmdemo.techlabs.core.utils;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -9,7 +10,7 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static org.krmdemo.techlabs.core.utils.CountingUtils.countingMap;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.countingCharMap;
 
 /**
  * Utility-class to work with strings, words and characters
@@ -36,13 +37,14 @@ public class CoreStringUtils {
     }
 
     /**
-     * Count the characters in passed string
+     * Count the characters in passed string (the characters are counted without boxing,
+     * and only distinct characters are boxed when the result is converted into {@link Map})
      *
      * @param str a string to count the characters (as {@link CharSequence}
      * @return a counting-map of characters in passed {@code str}
      */
     public static Map<Character, Integer> countingCharsMap(CharSequence str) {
-        return countingMap(streamChars(str));
+        return countingCharMap(str).toMap();
     }
 
     /**
@@ -71,8 +73,8 @@ public class CoreStringUtils {
      * The same as {@link Collectors#joining(CharSequence)} with empty delimiter,
      * but the elements of string are concatenated in <b>reversed order</b>.
      * <hr/>
-     * <u><i>Note:</i></u> Not use for large streams, because  {@link StringBuilder#insert(int, Object)}
-     * is much slower than {@link StringBuilder#append(Object)} when the length of buffer is very big.
+     * The string-segments are collected in encounter order and joined only once in the finisher
+     * (see {@link #joiningReversed(String, String, String)} for details).
      *
      * @return the result as {@link CharSequence} (no extra copy of the result!)
      * @param <T> the type of input elements to the reduction operation
@@ -85,8 +87,8 @@ public class CoreStringUtils {
      * The same as {@link Collectors#joining(CharSequence)},
      * but the elements of string are concatenated in <b>reversed order</b>.
      * <hr/>
-     * <u><i>Note:</i></u> Not use for large streams, because  {@link StringBuilder#insert(int, Object)}
-     * is much slower than {@link StringBuilder#append(Object)} when the length of buffer is very big.
+     * The string-segments are collected in encounter order and joined only once in the finisher
+     * (see {@link #joiningReversed(String, String, String)} for details).
      *
      * @return the result as {@link CharSequence} (no extra copy of the result!)
      * @param <T> the type of input elements to the reduction operation
@@ -99,25 +101,35 @@ public class CoreStringUtils {
      * The same as {@link Collectors#joining(CharSequence, CharSequence, CharSequence)},
      * but the elements of string are concatenated in <b>reversed order</b>.
      * <hr/>
-     * <u><i>Note:</i></u> Not use for large streams, because  {@link StringBuilder#insert(int, Object)}
-     * is much slower than {@link StringBuilder#append(Object)} when the length of buffer is very big.
+     * The string-segments are collected in encounter order and joined only once in the finisher,
+     * where the resulting buffer is pre-sized to the exact length. So, the joining takes a linear time
+     * of the total length and the combiner for parallel streams just appends one list of segments to another.
      *
      * @return the result as {@link CharSequence} (no extra copy of the result!)
      * @param <T> the type of input elements to the reduction operation
      */
     public static <T> Collector<T, ?, CharSequence> joiningReversed(String delimiter, String prefix, String suffix) {
-        return Collector.of(
-            StringBuilder::new,
-            (sb, value) -> {
-                if (!sb.isEmpty() && !delimiter.isEmpty()) {
-                    sb.insert(0, delimiter);
-                }
-                sb.insert(0, value);
-            },
+        return Collector.<T, ArrayList<String>, CharSequence>of(
+            ArrayList::new,
+            (segments, value) -> segments.add(String.valueOf(value)),
             (left, right) -> { // the combiner is required for parallel streams
-                right.append(delimiter).append(left); return right;
+                left.addAll(right); return left;
             },
-            sb -> sb.insert(0, prefix).append(suffix)
+            segments -> {
+                int totalLength = prefix.length() + suffix.length()
+                    + delimiter.length() * Math.max(0, segments.size() - 1);
+                for (String segment : segments) {
+                    totalLength += segment.length();
+                }
+                StringBuilder sb = new StringBuilder(totalLength).append(prefix);
+                for (int i = segments.size() - 1; i >= 0; i--) {
+                    sb.append(segments.get(i));
+                    if (i > 0) {
+                        sb.append(delimiter);
+                    }
+                }
+                return sb.append(suffix);
+            }
         );
     }
 
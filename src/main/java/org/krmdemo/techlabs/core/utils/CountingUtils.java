@@ -5,6 +5,9 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.SequencedMap;
 import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.util.function.Function.identity;
@@ -19,6 +22,12 @@ import static java.util.stream.Collectors.summingInt;
  */
 public class CountingUtils {
 
+    /**
+     * The minimal relative error of {@link #heavyHitters(Stream, int, double)} - so, the sketch of each container
+     * monitors not more than ten million elements
+     */
+    public static final double MIN_RELATIVE_ERROR = 1e-7;
+
     /**
      * @param valuesStream a stream of elements of type {@code <V>}
      * @return a counting-map of type {@code Map<V,Long>}
@@ -59,6 +68,239 @@ public class CountingUtils {
 
     // ------------------------------------------------------------------------------------------------------
 
+    /**
+     * Counting the primitive {@code int}s without boxing neither values nor counters.
+     *
+     * @param values a stream of primitive {@code int}s
+     * @return a read-only counting-map as {@link IntCountingMap}
+     */
+    public static IntCountingMap countingIntMap(IntStream values) {
+        return values.collect(IntCountingMap::new, IntCountingMap::increment, IntCountingMap::merge);
+    }
+
+    /**
+     * @param valuesArr var-args-array of primitive {@code int}s
+     * @return a read-only counting-map as {@link IntCountingMap}
+     */
+    public static IntCountingMap countingIntMap(int... valuesArr) {
+        IntCountingMap intCountingMap = new IntCountingMap();
+        for (int value : valuesArr) {
+            intCountingMap.increment(value);
+        }
+        return intCountingMap;
+    }
+
+    /**
+     * Counting the characters of passed string without boxing them into {@link Character}.
+     *
+     * @param str a string to count the characters (as {@link CharSequence})
+     * @return a read-only counting-map as {@link CharCountingMap}
+     */
+    public static CharCountingMap countingCharMap(CharSequence str) {
+        CharCountingMap charCountingMap = new CharCountingMap();
+        charCountingMap.incrementAll(str);
+        return charCountingMap;
+    }
+
+    /**
+     * The same as {@link #countingMap(Stream)}, but the counters are the mutable {@code int}-slots
+     * and the result could be converted into any map-shape on demand.
+     *
+     * @param valuesStream a stream of elements of type {@code <V>}
+     * @return a read-only counting-map as {@link ObjCountingMap}
+     * @param <V> the type of elements
+     */
+    public static <V> ObjCountingMap<V> countingObjMap(Stream<V> valuesStream) {
+        return valuesStream.collect(toObjCountingMap());
+    }
+
+    /**
+     * @return a {@link Collector} that counts the elements into {@link ObjCountingMap}
+     * @param <V> the type of elements
+     */
+    public static <V> Collector<V, ?, ObjCountingMap<V>> toObjCountingMap() {
+        return Collector.of(
+            ObjCountingMap::new,
+            ObjCountingMap::increment,
+            ObjCountingMap::merge,
+            Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    /**
+     * The same as {@link #countingMapLong(Stream)}, but the counting is concurrent - so, for parallel streams
+     * all threads increment the striped counters of the same {@link ConcurrentCountingMap} without merging.
+     *
+     * @param valuesStream a stream of elements of type {@code <V>} (the most benefit is for parallel streams)
+     * @return a read-only concurrent counting-map as {@link ConcurrentCountingMap}
+     * @param <V> the type of elements
+     */
+    public static <V> ConcurrentCountingMap<V> countingConcurrentMap(Stream<V> valuesStream) {
+        return valuesStream.collect(toConcurrentCountingMap());
+    }
+
+    /**
+     * @return a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} {@link Collector}
+     * that counts the elements into the single shared {@link ConcurrentCountingMap}
+     * @param <V> the type of elements
+     */
+    public static <V> Collector<V, ?, ConcurrentCountingMap<V>> toConcurrentCountingMap() {
+        return Collector.of(
+            ConcurrentCountingMap::new,
+            ConcurrentCountingMap::increment,
+            ConcurrentCountingMap::merge,
+            Collector.Characteristics.CONCURRENT,
+            Collector.Characteristics.UNORDERED,
+            Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+
+    /**
+     * Getting the {@code k} most frequent elements with their exact counters, which are selected from
+     * the counting-map by the bounded min-heap (instead of sorting all the distinct elements by counters).
+     *
+     * @param valuesStream a stream of elements of type {@code <V>}
+     * @param k the maximal number of the most frequent elements
+     * @return a counting-map ordered by frequency (the most frequent first)
+     * @param <V> the type of elements
+     */
+    public static <V> SequencedMap<V, Integer> topCounts(Stream<V> valuesStream, int k) {
+        return valuesStream.collect(toTopCounts(k));
+    }
+
+    /**
+     * @param k the maximal number of the most frequent elements
+     * @return a {@link Collector} that selects the {@code k} most frequent elements with their exact counters
+     * @param <V> the type of elements
+     */
+    public static <V> Collector<V, ?, SequencedMap<V, Integer>> toTopCounts(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("the number of top counts must not be negative, but it's " + k);
+        }
+        return Collector.<V, ObjCountingMap<V>, SequencedMap<V, Integer>>of(
+            ObjCountingMap::new,
+            ObjCountingMap::increment,
+            ObjCountingMap::merge,
+            objCountingMap -> objCountingMap.topCounts(k)
+        );
+    }
+
+    /**
+     * Getting the approximate heavy-hitters of unbounded stream in a fixed memory, which does not depend on
+     * the number of distinct elements (unlike {@link #topCounts(Stream, int)} that keeps all of them).
+     * The estimated counters are never less than the real ones and exceed them not more than {@code N * epsilon},
+     * where {@code N} is the length of the stream.
+     *
+     * @param valuesStream a stream of elements of type {@code <V>}
+     * @param k the maximal number of the most frequent elements
+     * @param epsilon the maximal relative error of counters (the sketch monitors {@code max(k, 1/epsilon)} elements),
+     *                which must not be less than {@value #MIN_RELATIVE_ERROR}
+     * @return a counting-map of estimated counters ordered by frequency (the most frequent first)
+     * @param <V> the type of elements
+     */
+    public static <V> SequencedMap<V, Long> heavyHitters(Stream<V> valuesStream, int k, double epsilon) {
+        return valuesStream.collect(toHeavyHitters(k, epsilon));
+    }
+
+    /**
+     * @param k the maximal number of the most frequent elements
+     * @param epsilon the maximal relative error of counters
+     * @return a {@link Collector} of approximate heavy-hitters (see {@link #heavyHitters(Stream, int, double)})
+     * @param <V> the type of elements
+     */
+    public static <V> Collector<V, ?, SequencedMap<V, Long>> toHeavyHitters(int k, double epsilon) {
+        if (k < 0) {
+            throw new IllegalArgumentException("the number of heavy-hitters must not be negative, but it's " + k);
+        }
+        if (!(epsilon >= MIN_RELATIVE_ERROR && epsilon < 1.0)) {
+            throw new IllegalArgumentException(String.format(
+                "the relative error must be in range [%s,1), but it's %s", MIN_RELATIVE_ERROR, epsilon));
+        }
+        int capacity = (int) Math.max(k, Math.ceil(1.0 / epsilon));
+        return Collector.<V, SpaceSavingSketch<V>, SequencedMap<V, Long>>of(
+            () -> new SpaceSavingSketch<>(capacity),
+            SpaceSavingSketch::increment,
+            SpaceSavingSketch::merge,
+            sketch -> sketch.topCounts(k)
+        );
+    }
+
+    /**
+     * @param capacity the maximal number of monitored elements
+     * @return a {@link Collector} that summarizes the elements into {@link SpaceSavingSketch}
+     * @param <V> the type of elements
+     */
+    public static <V> Collector<V, ?, SpaceSavingSketch<V>> toSpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the capacity of Space-Saving sketch must be positive, but it's " + capacity);
+        }
+        return Collector.of(
+            () -> new SpaceSavingSketch<>(capacity),
+            SpaceSavingSketch::increment,
+            SpaceSavingSketch::merge,
+            Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+
+    /**
+     * Estimating the number of distinct elements in a fixed memory (unlike {@code countingMap(...).size()},
+     * which keeps all the distinct elements on heap) with the standard error about {@code 0.81%}.
+     *
+     * @param valuesStream a stream of elements of type {@code <V>}
+     * @return a read-only cardinality sketch of {@link HyperLogLogSketch#DEFAULT_PRECISION default precision}
+     * @param <V> the type of elements
+     */
+    public static <V> HyperLogLogSketch hyperLogLog(Stream<V> valuesStream) {
+        return valuesStream.collect(toHyperLogLog(HyperLogLogSketch.DEFAULT_PRECISION));
+    }
+
+    /**
+     * Estimating the number of distinct primitive {@code int}s without boxing them.
+     *
+     * @param values a stream of primitive {@code int}s
+     * @param precision the binary logarithm of the number of registers (see {@link HyperLogLogSketch})
+     * @return a read-only cardinality sketch as {@link HyperLogLogSketch}
+     */
+    public static HyperLogLogSketch hyperLogLog(IntStream values, int precision) {
+        HyperLogLogSketch.checkPrecision(precision);
+        return values.collect(() -> new HyperLogLogSketch(precision), HyperLogLogSketch::addInt, HyperLogLogSketch::merge);
+    }
+
+    /**
+     * Estimating the number of distinct primitive {@code long}s (like identifiers) without boxing them.
+     *
+     * @param values a stream of primitive {@code long}s
+     * @param precision the binary logarithm of the number of registers (see {@link HyperLogLogSketch})
+     * @return a read-only cardinality sketch as {@link HyperLogLogSketch}
+     */
+    public static HyperLogLogSketch hyperLogLog(LongStream values, int precision) {
+        HyperLogLogSketch.checkPrecision(precision);
+        return values.collect(() -> new HyperLogLogSketch(precision), HyperLogLogSketch::addLong, HyperLogLogSketch::merge);
+    }
+
+    /**
+     * @param precision the binary logarithm of the number of registers (see {@link HyperLogLogSketch})
+     * @return a {@link Collector} that estimates the number of distinct elements into {@link HyperLogLogSketch}
+     * @param <V> the type of elements
+     */
+    public static <V> Collector<V, ?, HyperLogLogSketch> toHyperLogLog(int precision) {
+        HyperLogLogSketch.checkPrecision(precision);
+        return Collector.of(
+            () -> new HyperLogLogSketch(precision),
+            HyperLogLogSketch::add,
+            HyperLogLogSketch::merge,
+            Collector.Characteristics.UNORDERED,
+            Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+
     private CountingUtils() {
         // prohibit the creation of utility-class instance
         throw new UnsupportedOperationException("Cannot instantiate utility-class " + getClass().getName());
@@ -0,0 +1,283 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+
+/**
+ * An immutable {@link NavigableMap}, which is backed by two parallel arrays - the sorted array of distinct keys
+ * and the array of corresponding values, where all the lookups are the binary search over the array of keys.
+ * So, unlike {@link TreeMap} there's no tree-node per each entry (only two references in arrays)
+ * and the neighbour keys are located in the same cache-lines, which is the best choice for read-mostly lookup-tables.
+ * <hr/>
+ * The views {@link #subMap}, {@link #headMap} and {@link #tailMap} are the ranges over the same arrays
+ * (the bounds of the view are clamped by the bounds of the origin map rather than being validated),
+ * but {@link #descendingMap()} is a reversed copy. All the mutating methods throw {@link UnsupportedOperationException}.
+ * The instances are produced by {@link CoreCollectors#toFrozenSortedMap()} and {@link CoreStreamUtils#frozenSortedMap(java.util.stream.Stream)}.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class FrozenSortedMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+    private final FrozenSortedSet<K> keySet;
+    private final Object[] values;
+
+    /**
+     * @param keySet the frozen set of sorted keys (its range is the range of this map)
+     * @param values the array of values in the same order as keys (it's not copied, so it must not be modified anymore)
+     */
+    FrozenSortedMap(FrozenSortedSet<K> keySet, Object[] values) {
+        this.keySet = keySet;
+        this.values = values;
+    }
+
+    /**
+     * @param entries the mutable list of entries in encounter order, which is sorted in-place by keys
+     * @param comparator the comparator of keys (or {@code null} for natural order)
+     * @param mergeOp the function to merge the values of entries with the same key (in encounter order)
+     * @return the frozen sorted map of those entries
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> FrozenSortedMap<K, V> ofEntries(List<Entry<K, V>> entries,
+                                                  Comparator<? super K> comparator,
+                                                  BinaryOperator<V> mergeOp) {
+        Comparator<? super K> keyComparator = comparator != null ? comparator : (Comparator<? super K>) Comparator.naturalOrder();
+        entries.sort(Entry.comparingByKey(keyComparator));  // <-- the stable sort keeps the encounter order of equal keys
+        Object[] keys = new Object[entries.size()];
+        Object[] values = new Object[entries.size()];
+        int size = 0;
+        for (Entry<K, V> entry : entries) {
+            if (size > 0 && keyComparator.compare((K) keys[size - 1], entry.getKey()) == 0) {
+                values[size - 1] = mergeOp.apply((V) values[size - 1], entry.getValue());
+            } else {
+                keys[size] = entry.getKey();
+                values[size++] = entry.getValue();
+            }
+        }
+        if (size < keys.length) {
+            keys = Arrays.copyOf(keys, size);
+            values = Arrays.copyOf(values, size);
+        }
+        return new FrozenSortedMap<>(new FrozenSortedSet<>(keys, 0, size, comparator), values);
+    }
+
+    @Override
+    public int size() {
+        return keySet.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keySet.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keySet.search(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int index = keySet.search(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return keySet.comparator();
+    }
+
+    @Override
+    public K firstKey() {
+        return keySet.first();
+    }
+
+    @Override
+    public K lastKey() {
+        return keySet.last();
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return entryOrNull(keySet.fromIndex());
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return entryOrNull(keySet.toIndex() - 1);
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return entryOrNull(keySet.lowerIndex(key));
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return keySet.lower(key);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return entryOrNull(keySet.floorIndex(key));
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return keySet.floor(key);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return entryOrNull(keySet.ceilingIndex(key));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return keySet.ceiling(key);
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return entryOrNull(keySet.higherIndex(key));
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return keySet.higher(key);
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        throw new UnsupportedOperationException("the frozen sorted map cannot be modified");
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        throw new UnsupportedOperationException("the frozen sorted map cannot be modified");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("the frozen sorted map cannot be modified");
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keySet;
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return keySet;
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return keySet.descendingSet();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values() {
+        return Collections.unmodifiableList(
+            (List<V>) Arrays.asList(values).subList(keySet.fromIndex(), keySet.toIndex()));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<>() {
+                    private int cursor = keySet.fromIndex();
+
+                    @Override
+                    public boolean hasNext() {
+                        return cursor < keySet.toIndex();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (cursor >= keySet.toIndex()) {
+                            throw new NoSuchElementException("there are no more entries in the frozen sorted map");
+                        }
+                        return entryAt(cursor++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keySet.size();
+            }
+        };
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        FrozenSortedSet<K> descendingKeys = (FrozenSortedSet<K>) keySet.descendingSet();
+        Object[] descendingValues = new Object[size()];
+        for (int i = 0; i < descendingValues.length; i++) {
+            descendingValues[i] = values[keySet.toIndex() - 1 - i];
+        }
+        return new FrozenSortedMap<>(descendingKeys, descendingValues);
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        return new FrozenSortedMap<>((FrozenSortedSet<K>) keySet.subSet(fromKey, fromInclusive, toKey, toInclusive), values);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        return new FrozenSortedMap<>((FrozenSortedSet<K>) keySet.headSet(toKey, inclusive), values);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        return new FrozenSortedMap<>((FrozenSortedSet<K>) keySet.tailSet(fromKey, inclusive), values);
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    private Entry<K, V> entryAt(int index) {
+        return new SimpleImmutableEntry<>(keySet.elementAt(index), valueAt(index));
+    }
+
+    private Entry<K, V> entryOrNull(int index) {
+        return index >= keySet.fromIndex() && index < keySet.toIndex() ? entryAt(index) : null;
+    }
+}
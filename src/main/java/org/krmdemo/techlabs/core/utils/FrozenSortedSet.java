@@ -0,0 +1,290 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+
+/**
+ * An immutable {@link NavigableSet}, which is backed by the sorted array of distinct elements, where all
+ * the lookups are the binary search over that array. So, unlike {@link TreeSet} there's no tree-node per
+ * each element (only one reference in the array) and the neighbour elements are located in the same cache-lines.
+ * <hr/>
+ * The views {@link #subSet}, {@link #headSet} and {@link #tailSet} are the ranges over the same array
+ * (the bounds of the view are clamped by the bounds of the origin set rather than being validated),
+ * but {@link #descendingSet()} is a reversed copy. All the mutating methods throw {@link UnsupportedOperationException}.
+ * The instances are produced by {@link CoreCollectors#toFrozenSortedSet()} and {@link CoreStreamUtils#frozenSortedSet(java.util.stream.Stream)}.
+ *
+ * @param <E> the type of elements
+ */
+public final class FrozenSortedSet<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+    private final Object[] elements;
+    private final int from;
+    private final int to;
+    private final Comparator<? super E> comparator;
+
+    /**
+     * @param elements the sorted array of distinct elements (it's not copied, so it must not be modified anymore)
+     * @param from the index of the first element of this set (inclusive)
+     * @param to the index after the last element of this set (exclusive)
+     * @param comparator the comparator, which the elements are sorted with (or {@code null} for natural order)
+     */
+    FrozenSortedSet(Object[] elements, int from, int to, Comparator<? super E> comparator) {
+        this.elements = elements;
+        this.from = from;
+        this.to = to;
+        this.comparator = comparator;
+    }
+
+    /**
+     * @param elements the array of elements in any order, which is sorted in-place
+     * @param comparator the comparator of elements (or {@code null} for natural order)
+     * @return the frozen sorted set of distinct elements (the first one of equal elements remains)
+     */
+    @SuppressWarnings("unchecked")
+    static <E> FrozenSortedSet<E> ofElements(Object[] elements, Comparator<? super E> comparator) {
+        if (comparator == null) {
+            Arrays.sort(elements);
+        } else {
+            Arrays.sort(elements, (Comparator<Object>) comparator);
+        }
+        FrozenSortedSet<E> sortedSet = new FrozenSortedSet<>(elements, 0, elements.length, comparator);
+        int size = 0;
+        for (int i = 0; i < elements.length; i++) {
+            if (size == 0 || sortedSet.compare((E) elements[size - 1], (E) elements[i]) != 0) {
+                elements[size++] = elements[i];
+            }
+        }
+        return size == elements.length ? sortedSet
+            : new FrozenSortedSet<>(Arrays.copyOf(elements, size), 0, size, comparator);
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return from == to;
+    }
+
+    @Override
+    public boolean contains(Object elem) {
+        return search(elem) >= 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new FrozenIterator<>(elements, from, to);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        int characteristics = Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+        // an array-spliterator reports the natural order only, so the custom comparator is not reported as SORTED
+        return Spliterators.spliterator(elements, from, to,
+            comparator == null ? characteristics | Spliterator.SORTED : characteristics);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOfRange(elements, from, to);
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public E first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("the frozen sorted set is empty");
+        }
+        return elementAt(from);
+    }
+
+    @Override
+    public E last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("the frozen sorted set is empty");
+        }
+        return elementAt(to - 1);
+    }
+
+    @Override
+    public E lower(E elem) {
+        return elementOrNull(lowerIndex(elem));
+    }
+
+    @Override
+    public E floor(E elem) {
+        return elementOrNull(floorIndex(elem));
+    }
+
+    @Override
+    public E ceiling(E elem) {
+        return elementOrNull(ceilingIndex(elem));
+    }
+
+    @Override
+    public E higher(E elem) {
+        return elementOrNull(higherIndex(elem));
+    }
+
+    @Override
+    public E pollFirst() {
+        throw new UnsupportedOperationException("the frozen sorted set cannot be modified");
+    }
+
+    @Override
+    public E pollLast() {
+        throw new UnsupportedOperationException("the frozen sorted set cannot be modified");
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+        Object[] reversed = new Object[size()];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = elements[to - 1 - i];
+        }
+        return new FrozenSortedSet<>(reversed, 0, reversed.length, reversedComparator());
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException(String.format(
+                "the lower bound '%s' is greater than the upper bound '%s'", fromElement, toElement));
+        }
+        return range(fromInclusive ? ceilingIndex(fromElement) : higherIndex(fromElement),
+            toInclusive ? higherIndex(toElement) : ceilingIndex(toElement));
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        return range(from, inclusive ? higherIndex(toElement) : ceilingIndex(toElement));
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        return range(inclusive ? ceilingIndex(fromElement) : higherIndex(fromElement), to);
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    int fromIndex() {
+        return from;
+    }
+
+    int toIndex() {
+        return to;
+    }
+
+    FrozenSortedSet<E> range(int rangeFrom, int rangeTo) {
+        return new FrozenSortedSet<>(elements, rangeFrom, Math.max(rangeFrom, rangeTo), comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    E elementAt(int index) {
+        return (E) elements[index];
+    }
+
+    private E elementOrNull(int index) {
+        return index >= from && index < to ? elementAt(index) : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    int search(Object elem) {
+        return comparator == null
+            ? Arrays.binarySearch(elements, from, to, elem)
+            : Arrays.binarySearch(elements, from, to, (E) elem, (Comparator) comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    int compare(E left, E right) {
+        return comparator == null ? ((Comparable<? super E>) left).compareTo(right) : comparator.compare(left, right);
+    }
+
+    Comparator<? super E> reversedComparator() {
+        return comparator == null ? Collections.reverseOrder() : comparator.reversed();
+    }
+
+    int lowerIndex(E elem) {
+        int index = search(elem);
+        return index >= 0 ? index - 1 : -index - 2;
+    }
+
+    int floorIndex(E elem) {
+        int index = search(elem);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    int ceilingIndex(E elem) {
+        int index = search(elem);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    int higherIndex(E elem) {
+        int index = search(elem);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * The read-only iterator over the range of the array (it's shared with {@link FrozenSortedMap})
+     */
+    static final class FrozenIterator<T> implements Iterator<T> {
+
+        private final Object[] array;
+        private final int to;
+        private int cursor;
+
+        FrozenIterator(Object[] array, int from, int to) {
+            this.array = array;
+            this.cursor = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (cursor >= to) {
+                throw new NoSuchElementException("there are no more elements in the frozen array");
+            }
+            return (T) array[cursor++];
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * An approximate distinct-counter (cardinality estimator), which is based on
+ * <a href="https://algo.inria.fr/flajolet/Publications/FlFuGaMe07.pdf">HyperLogLog algorithm</a>
+ * (Flajolet, Fusy, Gandouet, Meunier) with the linear-counting correction for small cardinalities.
+ * <hr/>
+ * The sketch keeps {@code m = 2^precision} one-byte registers, which is independent of the number
+ * of distinct elements, and the standard error of {@link #cardinality()} is about {@code 1.04 / sqrt(m)}:<ul>
+ *     <li>precision {@code 10} - 1 KB of registers and the standard error about {@code 3.25%}</li>
+ *     <li>precision {@code 14} - 16 KB of registers and the standard error about {@code 0.81%}
+ *     (the {@link #DEFAULT_PRECISION default one})</li>
+ *     <li>precision {@code 18} - 256 KB of registers and the standard error about {@code 0.20%}</li>
+ * </ul>
+ * The objects are hashed by their {@link Object#hashCode()} spread to 64 bits - so, the objects with the same
+ * hash-code are counted as the same element, and the primitive {@code int}s and {@code long}s are hashed directly.
+ * <hr/>
+ * The sketches of the same precision are mergeable by {@link #union(HyperLogLogSketch)} (the registers are
+ * just maximized), and could be serialized by {@link #toBytes()} and restored by {@link #fromBytes(byte[])}.
+ * The public API of this class is <b>read-only</b> - the instances are produced by {@link CountingUtils#hyperLogLog(Stream)}.
+ */
+public final class HyperLogLogSketch {
+
+    /**
+     * The minimal precision (the binary logarithm of the number of registers)
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * The maximal precision (the binary logarithm of the number of registers)
+     */
+    public static final int MAX_PRECISION = 18;
+
+    /**
+     * The default precision with 16K registers and the standard error about {@code 0.81%}
+     */
+    public static final int DEFAULT_PRECISION = 14;
+
+    /**
+     * The version of binary format that is produced by {@link #toBytes()}
+     */
+    private static final byte FORMAT_VERSION = 1;
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLogSketch(int precision) {
+        this.precision = checkPrecision(precision);
+        this.registers = new byte[1 << precision];
+    }
+
+    static int checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(String.format(
+                "the precision of HyperLogLog sketch must be in range [%d,%d], but it's %d",
+                MIN_PRECISION, MAX_PRECISION, precision));
+        }
+        return precision;
+    }
+
+    /**
+     * @return the binary logarithm of the number of registers
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * @return the relative standard error of {@link #cardinality()} for the current precision
+     */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * @return {@code true} if nothing was counted
+     */
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the estimated number of distinct elements
+     */
+    public long cardinality() {
+        int m = registers.length;
+        double harmonicSum = 0.0;
+        int zeroRegisters = 0;
+        for (byte register : registers) {
+            harmonicSum += Double.longBitsToDouble((1023L - register) << 52);  // <-- exact 2^(-register)
+            if (register == 0) {
+                zeroRegisters++;
+            }
+        }
+        double estimate = alpha(m) * m * m / harmonicSum;
+        if (estimate <= 2.5 * m && zeroRegisters > 0) {
+            estimate = m * Math.log((double) m / zeroRegisters);  // <-- linear counting for small cardinalities
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Merging two sketches without modification of any of them.
+     *
+     * @param other another sketch of the same precision
+     * @return a new sketch, which estimates the number of distinct elements in the union of both
+     */
+    public HyperLogLogSketch union(HyperLogLogSketch other) {
+        return new HyperLogLogSketch(precision).merge(this).merge(other);
+    }
+
+    /**
+     * The binary format is a version-byte, a precision-byte and all the registers (one byte per each).
+     *
+     * @return the serialized sketch to be restored by {@link #fromBytes(byte[])}
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 2];
+        bytes[0] = FORMAT_VERSION;
+        bytes[1] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 2, registers.length);
+        return bytes;
+    }
+
+    /**
+     * @param bytes the serialized sketch that was produced by {@link #toBytes()}
+     * @return the restored sketch
+     */
+    public static HyperLogLogSketch fromBytes(byte[] bytes) {
+        Objects.requireNonNull(bytes, "cannot restore HyperLogLog sketch from << NULL >> bytes");
+        if (bytes.length < 2 || bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("unsupported binary format of HyperLogLog sketch");
+        }
+        HyperLogLogSketch sketch = new HyperLogLogSketch(bytes[1]);
+        if (bytes.length != sketch.registers.length + 2) {
+            throw new IllegalArgumentException(String.format(
+                "HyperLogLog sketch of precision %d must have %d bytes, but it has %d",
+                sketch.precision, sketch.registers.length + 2, bytes.length));
+        }
+        System.arraycopy(bytes, 2, sketch.registers, 0, sketch.registers.length);
+        return sketch;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HyperLogLogSketch that && Arrays.equals(registers, that.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HyperLogLog(precision=%d; cardinality~%d)", precision, cardinality());
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    void add(Object value) {
+        Objects.requireNonNull(value, "element cannot be counted as a null value");
+        addHash(mix64(value.hashCode()));
+    }
+
+    void addInt(int value) {
+        addHash(mix64(value));
+    }
+
+    void addLong(long value) {
+        addHash(mix64(value));
+    }
+
+    HyperLogLogSketch merge(HyperLogLogSketch other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(String.format(
+                "cannot merge HyperLogLog sketches of different precisions: %d and %d", precision, other.precision));
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    private void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // the position of the leftmost 1-bit in the remaining bits (the sentinel bit limits the rank)
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * The finalizer of <a href="https://prng.di.unimi.it/splitmix64.c">SplitMix64</a>,
+     * which spreads even the sequential values over all 64 bits
+     */
+    private static long mix64(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1.0 + 1.079 / m);
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SequencedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * A counting-map of primitive {@code int}-keys to primitive {@code int}-counters,
+ * which is based on open-addressing hash-table with linear probing over two parallel arrays.
+ * Neither keys nor counters are boxed while counting, and the memory foot-print is about 20 bytes per distinct key.
+ * <hr/>
+ * The public API of this class is <b>read-only</b> - the instances are produced by
+ * {@link CountingUtils#countingIntMap(IntStream)} and similar methods. The order of first occurrence of keys
+ * is tracked as well, so the result could be converted on demand into any of map-shapes that are used by
+ * {@link CountingUtils}: {@link #toMap()}, {@link #toSortedMap()} and {@link #toLinkedMap()}.
+ * <hr/>
+ * <u><i>Note:</i></u> the counters are of type {@code int} - so, the number of occurrences of the same key
+ * must not exceed {@link Integer#MAX_VALUE} (otherwise use {@link CountingUtils#countingMapLong}).
+ */
+public final class IntCountingMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];  // <-- zero-counter marks the empty slot
+    private int shift = Integer.SIZE - Integer.numberOfTrailingZeros(INITIAL_CAPACITY);
+
+    private int[] orderedKeys = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    IntCountingMap() {
+        // the instances are created only by counting-utilities in the same package
+    }
+
+    /**
+     * @return the number of distinct keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if nothing was counted
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key the key to check
+     * @return {@code true} if the {@code key} was counted at least once
+     */
+    public boolean containsKey(int key) {
+        return counts[slotOf(key)] > 0;
+    }
+
+    /**
+     * @param key the key to get the number of occurrences
+     * @return the number of occurrences of {@code key} (or zero if the key was not counted)
+     */
+    public int count(int key) {
+        return counts[slotOf(key)];
+    }
+
+    /**
+     * @return the sum of all counters
+     */
+    public long total() {
+        long total = 0L;
+        for (int i = 0; i < size; i++) {
+            total += count(orderedKeys[i]);
+        }
+        return total;
+    }
+
+    /**
+     * @return a copy of distinct keys in the order of their first occurrence
+     */
+    public int[] keysArr() {
+        return Arrays.copyOf(orderedKeys, size);
+    }
+
+    /**
+     * @return the stream of distinct keys in the order of their first occurrence
+     */
+    public IntStream keys() {
+        return Arrays.stream(orderedKeys, 0, size);
+    }
+
+    /**
+     * @return a counting-map as {@link HashMap} (the only place where keys and counters are boxed)
+     */
+    public Map<Integer, Integer> toMap() {
+        return fillMap(HashMap.newHashMap(size));
+    }
+
+    /**
+     * @return a <b>sorted</b> counting-map as {@link TreeMap}
+     */
+    public NavigableMap<Integer, Integer> toSortedMap() {
+        return fillMap(new TreeMap<>());
+    }
+
+    /**
+     * @return a counting-map as {@link LinkedHashMap}, where the order of keys corresponds to their first occurrence
+     */
+    public SequencedMap<Integer, Integer> toLinkedMap() {
+        return fillMap(LinkedHashMap.newLinkedHashMap(size));
+    }
+
+    private <M extends Map<Integer, Integer>> M fillMap(M map) {
+        for (int i = 0; i < size; i++) {
+            map.put(orderedKeys[i], count(orderedKeys[i]));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toLinkedMap().toString();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    void increment(int key) {
+        add(key, 1);
+    }
+
+    void add(int key, int delta) {
+        if (delta <= 0) {
+            return;  // <-- zero-counter would be indistinguishable from the empty slot
+        }
+        int slot = slotOf(key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            appendOrdered(key);
+            if (++size * 2 > keys.length) {
+                counts[slot] = delta;
+                rehash();
+                return;
+            }
+        }
+        counts[slot] += delta;
+    }
+
+    IntCountingMap merge(IntCountingMap other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.orderedKeys[i], other.count(other.orderedKeys[i]));
+        }
+        return this;
+    }
+
+    private int slotOf(int key) {
+        // Fibonacci-hashing spreads the sequential keys over the whole table
+        int slot = (key * 0x9E3779B9) >>> shift;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return slot;
+    }
+
+    private void appendOrdered(int key) {
+        if (size == orderedKeys.length) {
+            orderedKeys = Arrays.copyOf(orderedKeys, size * 2);
+        }
+        orderedKeys[size] = key;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldCounts.length * 2];
+        shift--;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A growable list of primitive {@code int}s over the plain {@code int[]}-array, which is the primitive analogue
+ * of {@link java.util.ArrayList ArrayList&lt;Integer&gt;} without boxing of each element into {@link Integer}
+ * (4 bytes per element instead of about 20 bytes).
+ * <hr/>
+ * The methods {@link #reversed()} and {@link #slice(int, int)} return the <b>read-only views</b>, which share
+ * the array of this list - so, they cost {@code O(1)} and reflect the modifications of existing elements
+ * by {@link #set(int, int)}, but they are not aware of elements that are added after the view was created.
+ * The elements could be exported as {@link IntStream}, {@link Spliterator.OfInt} or {@code int[]}-array.
+ *
+ * @see LongList
+ */
+public final class IntList implements Iterable<Integer> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private int[] elements;
+    private final int offset;
+    private int size;
+    private final boolean reversedView;
+    private final boolean view;
+
+    /**
+     * Creates an empty list with the default initial capacity
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the list
+     */
+    public IntList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("the initial capacity must not be negative, but it's " + initialCapacity);
+        }
+        this.elements = new int[initialCapacity];
+        this.offset = 0;
+        this.size = 0;
+        this.reversedView = false;
+        this.view = false;
+    }
+
+    private IntList(int[] elements, int size) {
+        this.elements = elements;
+        this.offset = 0;
+        this.size = size;
+        this.reversedView = false;
+        this.view = false;
+    }
+
+    private IntList(int[] elements, int offset, int size, boolean reversedView) {
+        this.elements = elements;
+        this.offset = offset;
+        this.size = size;
+        this.reversedView = reversedView;
+        this.view = true;
+    }
+
+    /**
+     * @param values var-args-array of primitive {@code int}s
+     * @return a new growable list with a copy of passed values
+     */
+    public static IntList of(int... values) {
+        IntList intList = new IntList(values.length);
+        intList.addAll(values);
+        return intList;
+    }
+
+    /**
+     * @param values the stream of primitive {@code int}s
+     * @return a new growable list with all the values of the stream
+     */
+    public static IntList of(IntStream values) {
+        return values.collect(IntList::new, IntList::add, IntList::addAll);
+    }
+
+    /**
+     * @param elements the array, which becomes the backing array of the list without copying
+     * @return a new growable list over the passed array (it must not be used by the caller anymore)
+     */
+    static IntList wrap(int[] elements) {
+        return new IntList(elements, elements.length);
+    }
+
+    /**
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if there are no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index the index of element to return
+     * @return the element at the specified position
+     */
+    public int get(int index) {
+        return elements[arrayIndex(index)];
+    }
+
+    /**
+     * @param index the index of element to replace
+     * @param value the new value of element
+     * @return the previous value of element at the specified position
+     */
+    public int set(int index, int value) {
+        checkModifiable();
+        int arrayIndex = arrayIndex(index);
+        int oldValue = elements[arrayIndex];
+        elements[arrayIndex] = value;
+        return oldValue;
+    }
+
+    /**
+     * @param value the value to append to the end of the list
+     */
+    public void add(int value) {
+        checkModifiable();
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * @param values the values to append to the end of the list
+     */
+    public void addAll(int... values) {
+        checkModifiable();
+        if (size + values.length > elements.length) {
+            grow(size + values.length);
+        }
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    /**
+     * @param other another list (or view), whose elements to append to the end of this list
+     */
+    public void addAll(IntList other) {
+        addAll(other.toArray());
+    }
+
+    /**
+     * Removes all the elements (the capacity remains the same)
+     */
+    public void clear() {
+        checkModifiable();
+        size = 0;
+    }
+
+    /**
+     * @param value the value to search
+     * @return the index of the first occurrence of {@code value} or {@code -1} if there's no such value
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param value the value to check
+     * @return {@code true} if the list contains the {@code value}
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @return the read-only view of this list in reverse order (without copying the elements)
+     */
+    public IntList reversed() {
+        return new IntList(elements, offset, size, !reversedView);
+    }
+
+    /**
+     * @param fromIndex the index of the first element of the view (inclusive)
+     * @param toIndex the index after the last element of the view (exclusive)
+     * @return the read-only view of the range of this list (without copying the elements)
+     */
+    public IntList slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(
+                "the slice [%d;%d) is out of bounds [0;%d)", fromIndex, toIndex, size));
+        }
+        int sliceOffset = reversedView ? offset + size - toIndex : offset + fromIndex;
+        return new IntList(elements, sliceOffset, toIndex - fromIndex, reversedView);
+    }
+
+    /**
+     * @return a new array with all the elements in the order of this list (or view)
+     */
+    public int[] toArray() {
+        int[] arr = Arrays.copyOfRange(elements, offset, offset + size);
+        if (reversedView) {
+            for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+                int tmp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = tmp;
+            }
+        }
+        return arr;
+    }
+
+    /**
+     * @return the sequential stream of primitive {@code int}s
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /**
+     * @return the parallel stream of primitive {@code int}s
+     */
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        if (reversedView) {
+            return new CoreStreamUtils.ReversedIntArraySpliterator(elements, offset, offset + size);
+        }
+        return Spliterators.spliterator(elements, offset, offset + size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException("there are no more elements in the list of ints");
+                }
+                return get(cursor++);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof IntList that) || that.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (get(i) != that.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < size; i++) {
+            hashCode = 31 * hashCode + get(i);  // <-- the same as for List<Integer>
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private int arrayIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("the index %d is out of bounds [0;%d)", index, size));
+        }
+        return reversedView ? offset + size - 1 - index : offset + index;
+    }
+
+    private void checkModifiable() {
+        if (view) {
+            throw new UnsupportedOperationException("the view of the list of ints cannot be modified");
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+}
@@ -0,0 +1,314 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A growable list of primitive {@code long}s over the plain {@code long[]}-array, which is the primitive analogue
+ * of {@link java.util.ArrayList ArrayList&lt;Long&gt;} without boxing of each element into {@link Long}
+ * (8 bytes per element instead of about 28 bytes).
+ * <hr/>
+ * The methods {@link #reversed()} and {@link #slice(int, int)} return the <b>read-only views</b>, which share
+ * the array of this list - so, they cost {@code O(1)} and reflect the modifications of existing elements
+ * by {@link #set(int, long)}, but they are not aware of elements that are added after the view was created.
+ * The elements could be exported as {@link LongStream}, {@link Spliterator.OfLong} or {@code long[]}-array.
+ *
+ * @see IntList
+ */
+public final class LongList implements Iterable<Long> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private long[] elements;
+    private final int offset;
+    private int size;
+    private final boolean reversedView;
+    private final boolean view;
+
+    /**
+     * Creates an empty list with the default initial capacity
+     */
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the list
+     */
+    public LongList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("the initial capacity must not be negative, but it's " + initialCapacity);
+        }
+        this.elements = new long[initialCapacity];
+        this.offset = 0;
+        this.size = 0;
+        this.reversedView = false;
+        this.view = false;
+    }
+
+    private LongList(long[] elements, int size) {
+        this.elements = elements;
+        this.offset = 0;
+        this.size = size;
+        this.reversedView = false;
+        this.view = false;
+    }
+
+    private LongList(long[] elements, int offset, int size, boolean reversedView) {
+        this.elements = elements;
+        this.offset = offset;
+        this.size = size;
+        this.reversedView = reversedView;
+        this.view = true;
+    }
+
+    /**
+     * @param values var-args-array of primitive {@code long}s
+     * @return a new growable list with a copy of passed values
+     */
+    public static LongList of(long... values) {
+        LongList longList = new LongList(values.length);
+        longList.addAll(values);
+        return longList;
+    }
+
+    /**
+     * @param values the stream of primitive {@code long}s
+     * @return a new growable list with all the values of the stream
+     */
+    public static LongList of(LongStream values) {
+        return values.collect(LongList::new, LongList::add, LongList::addAll);
+    }
+
+    /**
+     * @param elements the array, which becomes the backing array of the list without copying
+     * @return a new growable list over the passed array (it must not be used by the caller anymore)
+     */
+    static LongList wrap(long[] elements) {
+        return new LongList(elements, elements.length);
+    }
+
+    /**
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if there are no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index the index of element to return
+     * @return the element at the specified position
+     */
+    public long get(int index) {
+        return elements[arrayIndex(index)];
+    }
+
+    /**
+     * @param index the index of element to replace
+     * @param value the new value of element
+     * @return the previous value of element at the specified position
+     */
+    public long set(int index, long value) {
+        checkModifiable();
+        int arrayIndex = arrayIndex(index);
+        long oldValue = elements[arrayIndex];
+        elements[arrayIndex] = value;
+        return oldValue;
+    }
+
+    /**
+     * @param value the value to append to the end of the list
+     */
+    public void add(long value) {
+        checkModifiable();
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * @param values the values to append to the end of the list
+     */
+    public void addAll(long... values) {
+        checkModifiable();
+        if (size + values.length > elements.length) {
+            grow(size + values.length);
+        }
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    /**
+     * @param other another list (or view), whose elements to append to the end of this list
+     */
+    public void addAll(LongList other) {
+        addAll(other.toArray());
+    }
+
+    /**
+     * Removes all the elements (the capacity remains the same)
+     */
+    public void clear() {
+        checkModifiable();
+        size = 0;
+    }
+
+    /**
+     * @param value the value to search
+     * @return the index of the first occurrence of {@code value} or {@code -1} if there's no such value
+     */
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param value the value to check
+     * @return {@code true} if the list contains the {@code value}
+     */
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @return the read-only view of this list in reverse order (without copying the elements)
+     */
+    public LongList reversed() {
+        return new LongList(elements, offset, size, !reversedView);
+    }
+
+    /**
+     * @param fromIndex the index of the first element of the view (inclusive)
+     * @param toIndex the index after the last element of the view (exclusive)
+     * @return the read-only view of the range of this list (without copying the elements)
+     */
+    public LongList slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(
+                "the slice [%d;%d) is out of bounds [0;%d)", fromIndex, toIndex, size));
+        }
+        int sliceOffset = reversedView ? offset + size - toIndex : offset + fromIndex;
+        return new LongList(elements, sliceOffset, toIndex - fromIndex, reversedView);
+    }
+
+    /**
+     * @return a new array with all the elements in the order of this list (or view)
+     */
+    public long[] toArray() {
+        long[] arr = Arrays.copyOfRange(elements, offset, offset + size);
+        if (reversedView) {
+            for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+                long tmp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = tmp;
+            }
+        }
+        return arr;
+    }
+
+    /**
+     * @return the sequential stream of primitive {@code long}s
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * @return the parallel stream of primitive {@code long}s
+     */
+    public LongStream parallelStream() {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        if (reversedView) {
+            return new CoreStreamUtils.ReversedLongArraySpliterator(elements, offset, offset + size);
+        }
+        return Spliterators.spliterator(elements, offset, offset + size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException("there are no more elements in the list of longs");
+                }
+                return get(cursor++);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof LongList that) || that.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (get(i) != that.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < size; i++) {
+            hashCode = 31 * hashCode + Long.hashCode(get(i));  // <-- the same as for List<Long>
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private int arrayIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("the index %d is out of bounds [0;%d)", index, size));
+        }
+        return reversedView ? offset + size - 1 - index : offset + index;
+    }
+
+    private void checkModifiable() {
+        if (view) {
+            throw new UnsupportedOperationException("the view of the list of longs cannot be modified");
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+}
@@ -1,11 +1,23 @@
 package org.krmdemo.techlabs.core.utils;
 
+import java.io.Serial;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BinaryOperator;
 
 /**
  * This enumeration is used to handle the entries with the same {@link Map.Entry#getKey() key},
  * when the stream of {@link Map.Entry entries} are collected into linked map or sorted map.
+ * <hr/>
+ * The reducers {@link #SUM}, {@link #MIN}, {@link #MAX} and {@link #COLLECT_TO_LIST} are associative - so,
+ * the result does not depend on how the values are grouped by the combiner of parallel stream or by threads
+ * of concurrent collectors (like {@link CoreCollectors#toConcurrentSortedMap()}), while the result of
+ * {@link #OVERWRITE} and {@link #IGNORE} in concurrent collectors depends on the order of arrival.
+ * Any custom {@link BinaryOperator} could be passed instead of this enumeration into the collectors as well.
  */
 public enum MergeFunction {
 
@@ -46,6 +58,57 @@ public enum MergeFunction {
                 ));
             };
         }
+    },
+
+    /**
+     * This merging-function sums the numeric values of the same type ({@link Integer}, {@link Long},
+     * {@link Double}, {@link BigInteger} or {@link BigDecimal}). An {@link IllegalArgumentException}
+     * is thrown if the values are not numbers of the same supported type.
+     */
+    SUM {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <U> BinaryOperator<U> op() {
+            return (oldValue, newValue) -> (U) sum(oldValue, newValue);
+        }
+    },
+
+    /**
+     * This merging-function keeps the minimal of {@link Comparable} values (the first one of equal values).
+     */
+    MIN {
+        @Override
+        public <U> BinaryOperator<U> op() {
+            return (oldValue, newValue) -> compare(oldValue, newValue) <= 0 ? oldValue : newValue;
+        }
+    },
+
+    /**
+     * This merging-function keeps the maximal of {@link Comparable} values (the first one of equal values).
+     */
+    MAX {
+        @Override
+        public <U> BinaryOperator<U> op() {
+            return (oldValue, newValue) -> compare(oldValue, newValue) >= 0 ? oldValue : newValue;
+        }
+    },
+
+    /**
+     * This merging-function concatenates the values, which are expected to be collections
+     * (for example, the {@code valueMapper} of collector could wrap each value with {@link List#of(Object)}),
+     * into the mutable {@link List}. The list, which is created by this merging-function, is reused
+     * by subsequent merges of the same key - so, the total cost of merging is linear.
+     * <hr/>
+     * <u><i>Note:</i></u> the merging-function is invoked only for the keys that occur more than once - so, the value
+     * of the key that occurs only once is the collection that is returned by {@code valueMapper} as is (which could be
+     * immutable like {@link List#of(Object)}), and only the values of merged keys are the mutable lists.
+     */
+    COLLECT_TO_LIST {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <U> BinaryOperator<U> op() {
+            return (oldValue, newValue) -> (U) concat(oldValue, newValue);
+        }
     };
 
     /**
@@ -53,4 +116,62 @@ public enum MergeFunction {
      * @param <U> the type of value
      */
     public abstract <U> BinaryOperator<U> op();
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The list that is created by {@link #COLLECT_TO_LIST} merging-function (and only such list is reused)
+     */
+    private static final class MergedList<E> extends ArrayList<E> {
+
+        @Serial
+        private static final long serialVersionUID = 123456789_005L;
+
+        private MergedList(Collection<? extends E> elems) {
+            super(elems);
+        }
+    }
+
+    private static Object sum(Object oldValue, Object newValue) {
+        if (oldValue instanceof Integer oldInt && newValue instanceof Integer newInt) {
+            return oldInt + newInt;
+        } else if (oldValue instanceof Long oldLong && newValue instanceof Long newLong) {
+            return oldLong + newLong;
+        } else if (oldValue instanceof Double oldDouble && newValue instanceof Double newDouble) {
+            return oldDouble + newDouble;
+        } else if (oldValue instanceof BigInteger oldBigInt && newValue instanceof BigInteger newBigInt) {
+            return oldBigInt.add(newBigInt);
+        } else if (oldValue instanceof BigDecimal oldBigDec && newValue instanceof BigDecimal newBigDec) {
+            return oldBigDec.add(newBigDec);
+        }
+        throw new IllegalArgumentException(String.format(
+            "cannot sum the value '%s' of %s with the value '%s' of %s",
+            oldValue, typeName(oldValue), newValue, typeName(newValue)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object oldValue, Object newValue) {
+        if (oldValue instanceof Comparable<?> oldComparable) {
+            return ((Comparable<Object>) oldComparable).compareTo(newValue);
+        }
+        throw new IllegalArgumentException(String.format(
+            "cannot compare the value '%s' of %s, which does not implement Comparable", oldValue, typeName(oldValue)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object concat(Object oldValue, Object newValue) {
+        if (oldValue instanceof Collection<?> oldElems && newValue instanceof Collection<?> newElems) {
+            MergedList<Object> mergedList = oldElems instanceof MergedList<?>
+                ? (MergedList<Object>) oldElems : new MergedList<>(oldElems);
+            mergedList.addAll(newElems);
+            return mergedList;
+        }
+        throw new IllegalArgumentException(String.format(
+            "cannot concatenate the value '%s' of %s with the value '%s' of %s, which are not collections",
+            oldValue, typeName(oldValue), newValue, typeName(newValue)));
+    }
+
+    private static String typeName(Object value) {
+        return value == null ? "<< NULL >>" : value.getClass().getName();
+    }
 }
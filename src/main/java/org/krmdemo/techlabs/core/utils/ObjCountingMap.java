@@ -0,0 +1,178 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.SequencedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * A counting-map of any objects to primitive {@code int}-counters, where each distinct key has
+ * its own mutable counter-slot. So, unlike {@code groupingBy(identity(), summingInt(v -> 1))}
+ * the counters are not re-boxed on each occurrence and the map is never re-built by the finisher.
+ * <hr/>
+ * The public API of this class is <b>read-only</b> - the instances are produced by
+ * {@link CountingUtils#countingObjMap(Stream)}, and the result could be converted on demand
+ * into any of map-shapes: {@link #toMap()}, {@link #toSortedMap()} and {@link #toLinkedMap()},
+ * or only the most frequent keys could be selected by {@link #topCounts(int)}.
+ *
+ * @param <V> the type of counted elements (with properly implemented {@link Object#equals} and {@link Object#hashCode})
+ */
+public final class ObjCountingMap<V> {
+
+    /**
+     * The mutable counter-slot of a single distinct key
+     */
+    private static final class Slot {
+        final int order;
+        int count;
+        Slot(int order) {
+            this.order = order;
+        }
+    }
+
+    /**
+     * The order of slots in bounded min-heap: the least frequent slot is the first to evict
+     * and for equal counters the one with later first occurrence is evicted before
+     */
+    private static final Comparator<Map.Entry<?, Slot>> EVICTION_ORDER =
+        Comparator.<Map.Entry<?, Slot>>comparingInt(e -> e.getValue().count)
+            .thenComparing(e -> e.getValue().order, Comparator.reverseOrder());
+
+    private final LinkedHashMap<V, Slot> slotsMap = new LinkedHashMap<>();
+
+    ObjCountingMap() {
+        // the instances are created only by counting-utilities in the same package
+    }
+
+    /**
+     * @return the number of distinct keys
+     */
+    public int size() {
+        return slotsMap.size();
+    }
+
+    /**
+     * @return {@code true} if nothing was counted
+     */
+    public boolean isEmpty() {
+        return slotsMap.isEmpty();
+    }
+
+    /**
+     * @param key the key to check
+     * @return {@code true} if the {@code key} was counted at least once
+     */
+    public boolean containsKey(V key) {
+        return slotsMap.containsKey(key);
+    }
+
+    /**
+     * @param key the key to get the number of occurrences
+     * @return the number of occurrences of {@code key} (or zero if the key was not counted)
+     */
+    public int count(V key) {
+        Slot slot = slotsMap.get(key);
+        return slot == null ? 0 : slot.count;
+    }
+
+    /**
+     * @return the sum of all counters
+     */
+    public long total() {
+        long total = 0L;
+        for (Slot slot : slotsMap.values()) {
+            total += slot.count;
+        }
+        return total;
+    }
+
+    /**
+     * @return the stream of distinct keys in the order of their first occurrence
+     */
+    public Stream<V> keys() {
+        return slotsMap.sequencedKeySet().stream();
+    }
+
+    /**
+     * @return a counting-map as {@link HashMap}
+     */
+    public Map<V, Integer> toMap() {
+        return fillMap(HashMap.newHashMap(size()));
+    }
+
+    /**
+     * @return a <b>sorted</b> counting-map as {@link TreeMap} (the keys are expected to implement {@link Comparable})
+     */
+    public NavigableMap<V, Integer> toSortedMap() {
+        return fillMap(new TreeMap<>());
+    }
+
+    /**
+     * @return a counting-map as {@link LinkedHashMap}, where the order of keys corresponds to their first occurrence
+     */
+    public SequencedMap<V, Integer> toLinkedMap() {
+        return fillMap(LinkedHashMap.newLinkedHashMap(size()));
+    }
+
+    /**
+     * Selecting the most frequent keys with the bounded min-heap of size {@code k}, which takes
+     * {@code O(n*log(k))} instead of {@code O(n*log(n))} to sort the whole counting-map by counters.
+     *
+     * @param k the maximal number of the most frequent keys to select
+     * @return a counting-map of at most {@code k} keys ordered by frequency (the most frequent first),
+     * where the keys with the same counter are ordered by their first occurrence
+     */
+    public SequencedMap<V, Integer> topCounts(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("the number of top counts must not be negative, but it's " + k);
+        }
+        PriorityQueue<Map.Entry<V, Slot>> minHeap = new PriorityQueue<>(Math.min(k, size()) + 1, EVICTION_ORDER);
+        for (Map.Entry<V, Slot> entry : slotsMap.entrySet()) {
+            if (minHeap.size() < k) {
+                minHeap.add(entry);
+            } else if (k > 0 && EVICTION_ORDER.compare(entry, minHeap.peek()) > 0) {
+                minHeap.poll();
+                minHeap.add(entry);
+            }
+        }
+        SequencedMap<V, Integer> topMap = LinkedHashMap.newLinkedHashMap(minHeap.size());
+        while (!minHeap.isEmpty()) {
+            Map.Entry<V, Slot> entry = minHeap.poll();
+            topMap.putFirst(entry.getKey(), entry.getValue().count);
+        }
+        return topMap;
+    }
+
+    private <M extends Map<V, Integer>> M fillMap(M map) {
+        slotsMap.forEach((key, slot) -> map.put(key, slot.count));
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toLinkedMap().toString();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    void increment(V key) {
+        Objects.requireNonNull(key, "element cannot be counted as a null key");
+        slotsMap.computeIfAbsent(key, this::newSlot).count++;
+    }
+
+    ObjCountingMap<V> merge(ObjCountingMap<V> other) {
+        other.slotsMap.forEach((key, otherSlot) ->
+            slotsMap.computeIfAbsent(key, this::newSlot).count += otherSlot.count);
+        return this;
+    }
+
+    private Slot newSlot(V key) {
+        return new Slot(slotsMap.size());
+    }
+}
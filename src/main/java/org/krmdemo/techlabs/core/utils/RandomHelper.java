@@ -1,10 +1,20 @@
 package org.krmdemo.techlabs.core.utils;
 
 import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
-import static java.util.stream.Collectors.joining;
 import static java.util.stream.IntStream.range;
 import static java.util.stream.IntStream.rangeClosed;
 import static org.apache.commons.lang3.ArrayUtils.swap;
@@ -39,10 +49,7 @@ public class RandomHelper extends Random {
      * @return a random string of lower-cased letters
      */
     public String randomLowerCase(int len) {
-        return ints(len, 'a', 'z' + 1)
-            .mapToObj(chInt -> (char)chInt)
-            .map(String::valueOf)
-            .collect(joining());
+        return randomLetters(len, 'a');
     }
 
     /**
@@ -52,10 +59,272 @@ public class RandomHelper extends Random {
      * @return a random string of upper-cased letters
      */
     public String randomUpperCase(int len) {
-        return ints(len, 'A', 'Z' + 1)
-            .mapToObj(chInt -> (char)chInt)
-            .map(String::valueOf)
-            .collect(joining());
+        return randomLetters(len, 'A');
+    }
+
+    private String randomLetters(int len, char firstLetter) {
+        // the same sequence as "ints(len, firstLetter, firstLetter + 26)", but without boxing of each character
+        byte[] letters = new byte[checkLength(len)];
+        for (int i = 0; i < len; i++) {
+            letters[i] = (byte) (firstLetter + nextInt(26));
+        }
+        return new String(letters, StandardCharsets.ISO_8859_1);
+    }
+
+    // ===========================================================================================
+    //        Bulk generation of random characters and bytes over the configurable alphabet
+    // ===========================================================================================
+
+    /**
+     * The immutable set of symbols to generate the random strings, characters and bytes.
+     * The symbols must be the characters of Basic Multilingual Plane (surrogates are not allowed),
+     * and if some symbol occurs several times it's just generated more frequently.
+     */
+    public static final class Alphabet {
+
+        public static final Alphabet LOWER_CASE = of("abcdefghijklmnopqrstuvwxyz");
+        public static final Alphabet UPPER_CASE = of("ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+        public static final Alphabet DIGITS = of("0123456789");
+        public static final Alphabet HEX = of("0123456789abcdef");
+        public static final Alphabet ALPHANUMERIC = of("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789");
+
+        private final char[] symbols;
+        private final byte[] latin1Symbols;
+        private final boolean ascii;
+        private final int symbolsPerInt;
+        private final int intBound;
+        private final int bitsPerSymbol;
+        private final long reciprocal;
+
+        private Alphabet(char[] symbols) {
+            this.symbols = symbols;
+            boolean asciiOnly = true;
+            boolean latin1Only = true;
+            for (char symbol : symbols) {
+                if (Character.isSurrogate(symbol)) {
+                    throw new IllegalArgumentException(String.format(
+                        "the surrogate character '\\u%04x' cannot be a symbol of alphabet", (int) symbol));
+                }
+                asciiOnly &= symbol < 0x80;
+                latin1Only &= symbol <= 0xFF;
+            }
+            this.ascii = asciiOnly;
+            this.latin1Symbols = latin1Only ? new String(symbols).getBytes(StandardCharsets.ISO_8859_1) : null;
+            // the largest power of alphabet size that fits into the range of non-negative int
+            int count = 0;
+            long bound = 1L;
+            while (count < 31 && bound * symbols.length <= Integer.MAX_VALUE) {
+                bound *= symbols.length;
+                count++;
+            }
+            this.symbolsPerInt = count;
+            this.intBound = (int) bound;
+            this.bitsPerSymbol = Integer.bitCount(symbols.length) == 1 ? Integer.numberOfTrailingZeros(symbols.length) : -1;
+            this.reciprocal = Long.divideUnsigned(-1L, symbols.length) + 1;  // <-- ceil(2^64 / size)
+        }
+
+        /**
+         * @param symbols the non-empty string of symbols
+         * @return the alphabet of passed symbols
+         */
+        public static Alphabet of(String symbols) {
+            if (symbols == null || symbols.isEmpty()) {
+                throw new IllegalArgumentException("the alphabet must not be empty, but it's " +
+                    (symbols == null ? "<< NULL >>" : "an empty string"));
+            }
+            return new Alphabet(symbols.toCharArray());
+        }
+
+        /**
+         * @return the number of symbols in the alphabet
+         */
+        public int size() {
+            return symbols.length;
+        }
+
+        /**
+         * @return {@code true} if all the symbols are ASCII-characters (each of them is encoded as one byte in UTF-8)
+         */
+        public boolean isAscii() {
+            return ascii;
+        }
+
+        @Override
+        public String toString() {
+            return new String(symbols);
+        }
+    }
+
+    /**
+     * Filling the range of array with random symbols of the alphabet. There's no boxing or intermediate strings,
+     * and each {@link #nextInt(int)} produces several symbols at once (for example, 6 lower-cased letters),
+     * as the digits of uniformly distributed number in the radix of alphabet size.
+     * <hr/>
+     * <u><i>Note:</i></u> the produced sequence differs from the one of {@link #randomLowerCase(int)}
+     * and {@link #randomUpperCase(int)}, which consume the random number per each letter.
+     *
+     * @param dest the array to fill
+     * @param fromIndex the index of the first element to fill (inclusive)
+     * @param toIndex the index after the last element to fill (exclusive)
+     * @param alphabet the alphabet of symbols
+     */
+    public void fillRandomChars(char[] dest, int fromIndex, int toIndex, Alphabet alphabet) {
+        Objects.checkFromToIndex(fromIndex, toIndex, dest.length);
+        char[] symbols = alphabet.symbols;
+        int i = fromIndex;
+        while (i < toIndex) {
+            int digits = nextInt(alphabet.intBound);
+            int end = Math.min(i + alphabet.symbolsPerInt, toIndex);
+            if (alphabet.bitsPerSymbol >= 0) {
+                int mask = symbols.length - 1;
+                for (; i < end; i++, digits >>>= alphabet.bitsPerSymbol) {
+                    dest[i] = symbols[digits & mask];
+                }
+            } else {
+                for (; i < end; i++) {
+                    // the quotient by multiplication with pre-computed reciprocal, which is exact for 32-bit numbers
+                    int quotient = (int) Math.unsignedMultiplyHigh(alphabet.reciprocal, digits);
+                    dest[i] = symbols[digits - quotient * symbols.length];
+                    digits = quotient;
+                }
+            }
+        }
+    }
+
+    /**
+     * Filling the range of array with random symbols of the ASCII-alphabet (one byte per each symbol).
+     * The sequence of symbols is the same as of {@link #fillRandomChars(char[], int, int, Alphabet)}.
+     *
+     * @param dest the array to fill
+     * @param fromIndex the index of the first element to fill (inclusive)
+     * @param toIndex the index after the last element to fill (exclusive)
+     * @param alphabet the alphabet of ASCII-symbols
+     */
+    public void fillRandomAsciiBytes(byte[] dest, int fromIndex, int toIndex, Alphabet alphabet) {
+        checkAscii(alphabet);
+        fillRandomLatin1Bytes(dest, fromIndex, toIndex, alphabet);
+    }
+
+    private void fillRandomLatin1Bytes(byte[] dest, int fromIndex, int toIndex, Alphabet alphabet) {
+        Objects.checkFromToIndex(fromIndex, toIndex, dest.length);
+        byte[] symbols = alphabet.latin1Symbols;
+        int i = fromIndex;
+        while (i < toIndex) {
+            int digits = nextInt(alphabet.intBound);
+            int end = Math.min(i + alphabet.symbolsPerInt, toIndex);
+            if (alphabet.bitsPerSymbol >= 0) {
+                int mask = symbols.length - 1;
+                for (; i < end; i++, digits >>>= alphabet.bitsPerSymbol) {
+                    dest[i] = symbols[digits & mask];
+                }
+            } else {
+                for (; i < end; i++) {
+                    int quotient = (int) Math.unsignedMultiplyHigh(alphabet.reciprocal, digits);
+                    dest[i] = symbols[digits - quotient * symbols.length];
+                    digits = quotient;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param len the number of symbols
+     * @param alphabet the alphabet of symbols
+     * @return a new array of random symbols of the alphabet
+     */
+    public char[] randomChars(int len, Alphabet alphabet) {
+        char[] chars = new char[checkLength(len)];
+        fillRandomChars(chars, 0, len, alphabet);
+        return chars;
+    }
+
+    /**
+     * @param len the number of symbols (which is the number of bytes)
+     * @param alphabet the alphabet of ASCII-symbols
+     * @return a new array of random ASCII-symbols of the alphabet
+     */
+    public byte[] randomAsciiBytes(int len, Alphabet alphabet) {
+        checkAscii(alphabet);
+        byte[] bytes = new byte[checkLength(len)];
+        fillRandomLatin1Bytes(bytes, 0, len, alphabet);
+        return bytes;
+    }
+
+    /**
+     * The UTF-8 encoding of each symbol takes from one to three bytes, so the number of bytes could be greater
+     * than the number of symbols (for ASCII-alphabet it's the same as {@link #randomAsciiBytes(int, Alphabet)}).
+     *
+     * @param len the number of symbols
+     * @param alphabet the alphabet of symbols
+     * @return a new array of random symbols of the alphabet in UTF-8 encoding
+     */
+    public byte[] randomUtf8Bytes(int len, Alphabet alphabet) {
+        if (alphabet.isAscii()) {
+            return randomAsciiBytes(len, alphabet);
+        }
+        char[] chars = randomChars(len, alphabet);
+        int bytesCount = 0;
+        for (char ch : chars) {
+            bytesCount += ch < 0x80 ? 1 : ch < 0x800 ? 2 : 3;
+        }
+        byte[] bytes = new byte[bytesCount];
+        int pos = 0;
+        for (char ch : chars) {
+            if (ch < 0x80) {
+                bytes[pos++] = (byte) ch;
+            } else if (ch < 0x800) {
+                bytes[pos++] = (byte) (0xC0 | (ch >> 6));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else {
+                bytes[pos++] = (byte) (0xE0 | (ch >> 12));
+                bytes[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param len the length of string
+     * @param alphabet the alphabet of symbols
+     * @return a random string of symbols of the alphabet
+     */
+    public String randomString(int len, Alphabet alphabet) {
+        if (alphabet.latin1Symbols != null) {
+            // the compact Latin-1 string is created by the plain copy of bytes
+            byte[] bytes = new byte[checkLength(len)];
+            fillRandomLatin1Bytes(bytes, 0, len, alphabet);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        return new String(randomChars(len, alphabet));
+    }
+
+    /**
+     * @param minLen the minimal length of string (inclusive)
+     * @param maxLen the maximal length of string (inclusive)
+     * @param alphabet the alphabet of symbols
+     * @return a random string of random length in range {@code [ minLen ; maxLen ]}
+     */
+    public String randomString(int minLen, int maxLen, Alphabet alphabet) {
+        if (minLen < 0 || minLen > maxLen) {
+            throw new IllegalArgumentException(String.format(
+                "the range of lengths [%d;%d] is invalid", minLen, maxLen));
+        }
+        return randomString(minLen + nextInt(maxLen - minLen + 1), alphabet);
+    }
+
+    private static int checkLength(int len) {
+        if (len < 0) {
+            throw new IllegalArgumentException("the length must not be negative, but it's " + len);
+        }
+        return len;
+    }
+
+    private static void checkAscii(Alphabet alphabet) {
+        if (!alphabet.isAscii()) {
+            throw new IllegalArgumentException(String.format(
+                "the alphabet '%s' contains non-ASCII symbols", alphabet));
+        }
     }
 
     /**
@@ -64,7 +333,18 @@ public class RandomHelper extends Random {
      * @return the array of elements in range {@code [ lowBound ; highBound )} that was shuffled
      */
     public int[] randomRangeArr(int lowBound, int highBound) {
-        return shuffle(range(lowBound, highBound));
+        long length = Math.max(0L, (long) highBound - lowBound);
+        if (length > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("the range is too large to be an array: " + length);
+        }
+        // the "inside-out" Fisher-Yates shuffle - the range is filled and shuffled in one pass (without IntStream)
+        int[] rangeArr = new int[(int) length];
+        for (int i = 0; i < rangeArr.length; i++) {
+            int j = nextInt(i + 1);
+            rangeArr[i] = rangeArr[j];
+            rangeArr[j] = lowBound + i;
+        }
+        return rangeArr;
     }
 
     /**
@@ -73,7 +353,10 @@ public class RandomHelper extends Random {
      * @return the array of elements in range {@code [ lowBound ; highBound ]} that was shuffled
      */
     public int[] randomRangeClosedArr(int lowBound, int highBound) {
-        return shuffle(rangeClosed(lowBound, highBound));
+        if (highBound == Integer.MAX_VALUE) {
+            return shuffle(rangeClosed(lowBound, highBound));  // <-- it's too large to be an array anyway
+        }
+        return randomRangeArr(lowBound, highBound + 1);
     }
 
     /**
@@ -88,30 +371,291 @@ public class RandomHelper extends Random {
         return valuesArr;
     }
 
+    // ===========================================================================================
+    //        In-place Fisher-Yates shuffles of arrays and lists
+    // ===========================================================================================
+
     /**
-     * Swap elements of the passed array in random way.
-     * The number of swaps equals to the length of array.
+     * Shuffles the elements of the passed array in place by Fisher-Yates algorithm, where each of {@code n!}
+     * permutations is equally likely (for each position from the end the element is swapped with the random one
+     * among the preceding elements including itself).
      *
      * @param valuesArr an array to shuffle
      */
     public void shuffleArr(int[] valuesArr) {
         // a little bit more efficient than using Collections.shuffle and subsequence copying
-        for (int i = valuesArr.length; i > 1; i--) {
-            swap(valuesArr, i - 1, nextInt(valuesArr.length));
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            int tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * @param valuesArr an array to shuffle in place (see {@link #shuffleArr(int[])})
+     */
+    public void shuffleArr(long[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            long tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * @param valuesArr an array to shuffle in place (see {@link #shuffleArr(int[])})
+     */
+    public void shuffleArr(double[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            double tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * @param valuesArr an array to shuffle in place (see {@link #shuffleArr(int[])})
+     */
+    public void shuffleArr(float[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            float tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * @param valuesArr an array to shuffle in place (see {@link #shuffleArr(int[])})
+     */
+    public void shuffleArr(short[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            short tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * @param valuesArr an array to shuffle in place (see {@link #shuffleArr(int[])})
+     */
+    public void shuffleArr(char[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            char tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * @param valuesArr an array to shuffle in place (see {@link #shuffleArr(int[])})
+     */
+    public void shuffleArr(byte[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            byte tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * @param valuesArr an array to shuffle in place (see {@link #shuffleArr(int[])})
+     */
+    public void shuffleArr(boolean[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            boolean tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
         }
     }
 
     /**
-     * Getting an array of eventually {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}.
+     * @param valuesArr an array of objects to shuffle in place (see {@link #shuffleArr(int[])})
+     * @param <T> the type of elements
+     */
+    public <T> void shuffleArr(T[] valuesArr) {
+        for (int i = valuesArr.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            T tmp = valuesArr[i];
+            valuesArr[i] = valuesArr[j];
+            valuesArr[j] = tmp;
+        }
+    }
+
+    /**
+     * The same as {@link Collections#shuffle(List, Random)} with this instance as the source of randomness
+     * (the list that is not {@link java.util.RandomAccess} is shuffled as an array and then written back).
      *
-     * @param N the size of array to return (in a very rare cases the actual case could be less)
+     * @param valuesList a modifiable list to shuffle in place
+     */
+    public void shuffleList(List<?> valuesList) {
+        Collections.shuffle(valuesList, this);
+    }
+
+    // ===========================================================================================
+    //        Lazy random permutation of the range in O(1) memory
+    // ===========================================================================================
+
+    /**
+     * Getting the lazy pseudo-random permutation of the range {@code [0;N)}, which allows to visit all the indexes
+     * in random order without allocating the array of {@code N} elements (see {@link Permutation}).
+     *
+     * @param N the number of elements in the permutation
+     * @return the format-preserving permutation of the range {@code [0;N)}, whose keys are drawn from this instance
+     */
+    public Permutation randomPermutation(long N) {
+        if (N < 0) {
+            throw new IllegalArgumentException("the size of permutation must not be negative, but it's " + N);
+        }
+        long[] roundKeys = new long[Permutation.ROUNDS];
+        for (int i = 0; i < roundKeys.length; i++) {
+            roundKeys[i] = nextLong();
+        }
+        return new Permutation(N, roundKeys);
+    }
+
+    /**
+     * The pseudo-random permutation of the range {@code [0;N)}, where the element at each position is calculated
+     * on demand in {@code O(1)} memory - it's the balanced Feistel network over the smallest domain of even number
+     * of bits that covers the range, and the values outside the range are "cycle-walked" (encrypted again until
+     * the value falls into the range, which takes less than four rounds on average).
+     * <hr/>
+     * <u><i>Note:</i></u> unlike {@link #shuffleArr(int[])} the permutation is not chosen uniformly among all the
+     * {@code N!} ones, but it's good enough to visit the elements in "random" order (like for test-data).
+     * The public API of this class is <b>read-only</b>.
+     */
+    public static final class Permutation {
+
+        private static final int ROUNDS = 4;
+
+        private final long size;
+        private final long[] roundKeys;
+        private final int halfBits;
+        private final long halfMask;
+
+        private Permutation(long size, long[] roundKeys) {
+            this.size = size;
+            this.roundKeys = roundKeys;
+            int bits = size <= 1 ? 2 : 64 - Long.numberOfLeadingZeros(size - 1);
+            this.halfBits = (bits + 1) / 2;
+            this.halfMask = halfBits == 32 ? 0xFFFFFFFFL : (1L << halfBits) - 1;
+        }
+
+        /**
+         * @return the number of elements in the permutation
+         */
+        public long size() {
+            return size;
+        }
+
+        /**
+         * @param index the position in the permutation
+         * @return the element of the range {@code [0;N)} at the specified position
+         */
+        public long get(long index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.format("the index %d is out of bounds [0;%d)", index, size));
+            }
+            long value = encrypt(index);
+            while (Long.compareUnsigned(value, size) >= 0) {
+                value = encrypt(value);  // <-- the cycle of permutation returns into the range, because the index is in it
+            }
+            return value;
+        }
+
+        /**
+         * @return the lazy iterator over all the elements of the range {@code [0;N)} in the permuted order
+         */
+        public PrimitiveIterator.OfLong iterator() {
+            return new PrimitiveIterator.OfLong() {
+                private long cursor = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < size;
+                }
+
+                @Override
+                public long nextLong() {
+                    if (cursor >= size) {
+                        throw new NoSuchElementException("there are no more elements in the permutation");
+                    }
+                    return get(cursor++);
+                }
+            };
+        }
+
+        /**
+         * @return the sized stream of elements in the permuted order (it could be split for parallel processing)
+         */
+        public LongStream longs() {
+            return LongStream.range(0, size).map(this::get);
+        }
+
+        /**
+         * @return the sized stream of elements in the permuted order as primitive {@code int}s
+         */
+        public IntStream ints() {
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("the permutation of size " + size + " cannot be streamed as ints");
+            }
+            return IntStream.range(0, (int) size).map(index -> (int) get(index));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Permutation(size=%d; bits=%d)", size, 2 * halfBits);
+        }
+
+        private long encrypt(long value) {
+            long left = value >>> halfBits;
+            long right = value & halfMask;
+            for (long roundKey : roundKeys) {
+                long mixed = left ^ (roundFunction(right, roundKey) & halfMask);
+                left = right;
+                right = mixed;
+            }
+            return (left << halfBits) | right;
+        }
+
+        private static long roundFunction(long half, long roundKey) {
+            long z = (half + roundKey) * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 32)) * 0xD6E8FEB86659FD93L;
+            return z ^ (z >>> 32);
+        }
+    }
+
+    /**
+     * Getting an array of exactly {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}
+     * in random order, which takes {@code O(N)} time and memory for any density of the range:<ul>
+     *     <li>if the range is not greater than {@code 2*N} - the partial Fisher-Yates shuffle of the whole range</li>
+     *     <li>if the range is not greater than {@code 64*N} - Floyd's algorithm over the bitmap of the range</li>
+     *     <li>otherwise - Floyd's algorithm over the primitive hash-set of picked values</li>
+     * </ul>
+     *
+     * @param N the size of array to return (it must not exceed the size of range)
      * @param lowBound low boundary of random range (inclusive)
      * @param highBound high boundary of random range (exclusive)
-     * @return an array of eventually {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}.
+     * @return an array of exactly {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}.
      */
     public int[] randomDistinctIntArr(long N, int lowBound, int highBound) {
-        return ints(5 * N, lowBound, highBound)
-            .distinct().limit(N).toArray();
+        long range = checkSampleSize(N, lowBound, highBound);
+        int size = (int) N;
+        if (range <= 2L * size && range <= MAX_ARRAY_SIZE) {
+            return partialFisherYates(size, lowBound, (int) range);
+        }
+        int[] sampleArr = range <= 64L * size
+            ? floydSample(size, lowBound, range, new long[bitmapLength(range)])
+            : floydSample(size, lowBound, range, null);
+        shuffleArr(sampleArr);  // <-- the order of Floyd's sample is not uniformly random
+        return sampleArr;
     }
 
     /**
@@ -142,32 +686,149 @@ public class RandomHelper extends Random {
     }
 
     /**
-     * Getting an array of eventually {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )},
-     * which are <b>sorted</b> in <b>ascending</b> order. The bounds and the size are recommended to be large enough.
+     * Getting an array of exactly {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )},
+     * which are <b>sorted</b> in <b>ascending</b> order. If the range is not greater than {@code 64*N}, the values are
+     * picked by Floyd's algorithm into the bitmap of the range, which is scanned in ascending order without sorting
+     * (in {@code O(N)} time), and otherwise the values are picked into the primitive hash-set and then sorted.
      *
-     * @param N the size of array to return (for small ranges the returning size could be less)
+     * @param N the size of array to return (it must not exceed the size of range)
      * @param lowBound low boundary of random range (inclusive)
      * @param highBound high boundary of random range (exclusive)
-     * @return an array of eventually {@code N} <b>sorted</b> and <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}.
+     * @return an array of exactly {@code N} <b>sorted</b> and <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}.
      */
     public int[] randomIncreasingIntArr(long N, int lowBound, int highBound) {
-        return ints(5 * N, lowBound, highBound)
-            .distinct().limit(N).sorted().toArray();
+        long range = checkSampleSize(N, lowBound, highBound);
+        int size = (int) N;
+        if (range <= 64L * size) {
+            long[] bitmap = new long[bitmapLength(range)];
+            floydSample(size, lowBound, range, bitmap);
+            int[] sortedArr = new int[size];
+            int count = 0;
+            for (int w = 0; w < bitmap.length; w++) {
+                for (long word = bitmap[w]; word != 0; word &= word - 1) {
+                    sortedArr[count++] = (int) (lowBound + ((long) w << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return sortedArr;
+        }
+        int[] sampleArr = floydSample(size, lowBound, range, null);
+        Arrays.sort(sampleArr);
+        return sampleArr;
     }
 
     /**
-     * Getting an array of eventually {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )},
-     * which are <b>sorted</b> in <b>descending</b> order. The bounds and the size are recommended to be large enough.
+     * Getting an array of exactly {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )},
+     * which are <b>sorted</b> in <b>descending</b> order (see {@link #randomIncreasingIntArr(long, int, int)}).
      *
-     * @param N the size of array to return (for small ranges the returning size could be less)
+     * @param N the size of array to return (it must not exceed the size of range)
      * @param lowBound low boundary of random range (inclusive)
      * @param highBound high boundary of random range (exclusive)
-     * @return an array of eventually {@code N} <b>sorted</b> and <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}.
+     * @return an array of exactly {@code N} <b>sorted</b> and <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}.
      */
     public int[] randomDecreasingIntArr(long N, int lowBound, int highBound) {
         return reversedArr(randomIncreasingIntArr(N, lowBound, highBound));
     }
 
+    // --------------------------------------------------------------------------------------------
+
+    static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * @return the size of range {@code [ lowBound, int highBound )}, which is not less than {@code N}
+     */
+    static long checkSampleSize(long N, int lowBound, int highBound) {
+        if (lowBound >= highBound) {
+            throw new IllegalArgumentException(String.format(
+                "the low bound %d must be less than the high bound %d", lowBound, highBound));
+        }
+        long range = (long) highBound - lowBound;
+        if (N < 0 || N > range || N > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "cannot pick %d distinct integers from the range [%d;%d) of size %d", N, lowBound, highBound, range));
+        }
+        return range;
+    }
+
+    private int[] partialFisherYates(int size, int lowBound, int range) {
+        int[] rangeArr = range(lowBound, lowBound + range).toArray();
+        for (int i = 0; i < size; i++) {
+            swap(rangeArr, i, i + nextInt(range - i));
+        }
+        return size == range ? rangeArr : Arrays.copyOf(rangeArr, size);
+    }
+
+    /**
+     * Floyd's algorithm - for each {@code j} in {@code [ range - size ; range )} the random offset {@code t}
+     * in {@code [ 0 ; j ]} is picked, and if it's already picked, {@code j} itself is picked instead
+     * (it could not be picked before, because all the previous offsets are less than {@code j}).
+     *
+     * @param bitmap the bitmap of picked offsets or {@code null} to use the primitive hash-set
+     * @return the array of picked values in order of picking
+     */
+    private int[] floydSample(int size, int lowBound, long range, long[] bitmap) {
+        int[] sampleArr = new int[size];
+        IntHashSet pickedSet = bitmap == null ? new IntHashSet(size) : null;
+        int count = 0;
+        for (long j = range - size; j < range; j++) {
+            long offset = j < Integer.MAX_VALUE ? nextInt((int) j + 1) : nextLong(j + 1);
+            boolean added;
+            if (bitmap != null) {
+                added = (bitmap[(int) (offset >>> 6)] & (1L << offset)) == 0;
+                offset = added ? offset : j;
+                bitmap[(int) (offset >>> 6)] |= 1L << offset;
+            } else {
+                added = pickedSet.add((int) (lowBound + offset));
+                if (!added) {
+                    offset = j;
+                    pickedSet.add((int) (lowBound + offset));
+                }
+            }
+            sampleArr[count++] = (int) (lowBound + offset);
+        }
+        return sampleArr;
+    }
+
+    private static int bitmapLength(long range) {
+        return (int) ((range + 63) >>> 6);
+    }
+
+    /**
+     * The minimal open-addressing hash-set of primitive {@code int}s, which is enough for Floyd's algorithm
+     */
+    private static final class IntHashSet {
+
+        private final int[] table;
+        private final int shift;
+        private boolean containsMarker = false;
+
+        private static final int FREE_MARKER = Integer.MIN_VALUE;
+
+        private IntHashSet(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;  // <-- the load factor is at most 1/2
+            this.table = new int[capacity];
+            this.shift = Integer.numberOfLeadingZeros(capacity - 1);
+            Arrays.fill(table, FREE_MARKER);
+        }
+
+        private boolean add(int value) {
+            if (value == FREE_MARKER) {
+                boolean added = !containsMarker;
+                containsMarker = true;
+                return added;
+            }
+            int mask = table.length - 1;
+            for (int i = (value * 0x9E3779B9) >>> shift; ; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return false;
+                }
+                if (table[i] == FREE_MARKER) {
+                    table[i] = value;
+                    return true;
+                }
+            }
+        }
+    }
+
     /**
      * Getting an array of size {@code N} with zero({@code 0})-elements
      *
@@ -187,4 +848,77 @@ public class RandomHelper extends Random {
     public static int[] constantIntArr(long N, int constant) {
         return IntStream.generate(() -> constant).limit(N).toArray();
     }
+
+    // ===========================================================================================
+    //        Reservoir-sampling collectors of unbounded streams in O(k) memory
+    // ===========================================================================================
+
+    /**
+     * Getting the uniform random sample of at most {@code k} elements of the stream (see {@link ReservoirSample}).
+     *
+     * @param k the maximal number of elements in the sample
+     * @return a {@link Collector} that picks the elements by Algorithm L into the list of at most {@code k} elements
+     * @param <T> the type of elements
+     */
+    public <T> Collector<T, ?, List<T>> toSample(int k) {
+        return Collectors.collectingAndThen(toReservoirSample(k), ReservoirSample::toList);
+    }
+
+    /**
+     * @param k the maximal number of elements in the sample
+     * @return a {@link Collector} that picks the elements by Algorithm L into {@link ReservoirSample},
+     * which is mergeable - so, the collector could be used by parallel streams as well
+     * @param <T> the type of elements
+     */
+    public <T> Collector<T, ?, ReservoirSample<T>> toReservoirSample(int k) {
+        return reservoirCollector(k, null);
+    }
+
+    /**
+     * Getting the weighted random sample of at most {@code k} elements of the stream, where the probability
+     * of each element to be picked is proportional to its weight (the elements of zero weight are never picked).
+     *
+     * @param k the maximal number of elements in the sample
+     * @param weigher the function to get the non-negative finite weight of each element
+     * @return a {@link Collector} that picks the elements by Algorithm A-Res into the list of at most {@code k} elements
+     * @param <T> the type of elements
+     */
+    public <T> Collector<T, ?, List<T>> toWeightedSample(int k, ToDoubleFunction<? super T> weigher) {
+        return Collectors.collectingAndThen(toWeightedReservoirSample(k, weigher), ReservoirSample::toList);
+    }
+
+    /**
+     * @param k the maximal number of elements in the sample
+     * @param weigher the function to get the non-negative finite weight of each element
+     * @return a {@link Collector} that picks the elements by Algorithm A-Res into the mergeable {@link ReservoirSample}
+     * @param <T> the type of elements
+     */
+    public <T> Collector<T, ?, ReservoirSample<T>> toWeightedReservoirSample(int k, ToDoubleFunction<? super T> weigher) {
+        if (weigher == null) {
+            throw new IllegalArgumentException("the weigher of weighted sample must not be << NULL >>");
+        }
+        return reservoirCollector(k, weigher);
+    }
+
+    private <T> Collector<T, ?, ReservoirSample<T>> reservoirCollector(int k, ToDoubleFunction<? super T> weigher) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("the capacity of reservoir sample must be positive, but it's " + k);
+        }
+        return Collector.of(
+            () -> new ReservoirSample<>(k, forkGenerator(), weigher),
+            ReservoirSample::accept,
+            ReservoirSample::merge,
+            Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    /**
+     * Creating the own random generator for each container of collector, which is seeded by this one
+     * (so, the containers of parallel stream do not share the same generator)
+     *
+     * @return a new instance of {@link RandomHelper} that is seeded by the next random value of this one
+     */
+    RandomHelper forkGenerator() {
+        return new RandomHelper(nextLong());
+    }
 }
@@ -0,0 +1,371 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A memoizing {@link Iterable}, which pulls the elements from the one-shot source (like {@link Stream} or {@link Iterator})
+ * only once and buffers them into the chunks of fixed size - so, the same elements could be re-streamed many times
+ * sequentially or in parallel without re-reading the source (which could be expensive or even impossible).
+ * <hr/>
+ * The sequential iteration is lazy - the source is pulled only as far as the most advanced consumer has requested,
+ * but {@link #parallelStream()} and {@link #size()} buffer the whole source at first, because the balanced splitting
+ * requires the exact size. All the consumers could run concurrently - the pulling from the source is synchronized.
+ * <hr/>
+ * When the memory threshold is set (see {@link CoreStreamUtils#replayable(Stream, int)}) the full chunks beyond
+ * that threshold are serialized and spilled into the temporary file, which is read back on replaying. So, the elements
+ * must be {@link java.io.Serializable} in that case, and the instance must be closed by {@link #close()} to delete the file.
+ *
+ * @param <T> the type of elements
+ */
+public final class ReplayableIterable<T> implements Iterable<T>, AutoCloseable {
+
+    /**
+     * The number of elements in each chunk
+     */
+    static final int CHUNK_SIZE = 1024;
+
+    private Iterator<T> source;
+    private AutoCloseable sourceToClose;
+    private final int memoryChunks;
+    private final List<Object[]> chunks = new ArrayList<>();
+    private int size = 0;
+
+    private FileChannel spillChannel = null;
+    private final LongList spillOffsets = new LongList();
+    private long spillEnd = 0L;
+    private boolean closed = false;
+
+    /**
+     * @param source the iterator of one-shot source
+     * @param sourceToClose the resource to close when the source is exhausted or this instance is closed (or {@code null})
+     * @param memoryThreshold the number of elements to keep in memory (the full chunks beyond it are spilled to disk)
+     */
+    ReplayableIterable(Iterator<T> source, AutoCloseable sourceToClose, int memoryThreshold) {
+        if (memoryThreshold < 0) {
+            throw new IllegalArgumentException("the memory threshold must not be negative, but it's " + memoryThreshold);
+        }
+        this.source = source;
+        this.sourceToClose = sourceToClose;
+        this.memoryChunks = (int) (((long) memoryThreshold + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    /**
+     * @return {@code true} if the source is exhausted and all its elements are buffered
+     */
+    public synchronized boolean isFullyBuffered() {
+        return source == null;
+    }
+
+    /**
+     * @return the number of elements that are already pulled from the source
+     */
+    public synchronized int bufferedSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of chunks that are spilled into the temporary file
+     */
+    public synchronized int spilledChunks() {
+        return spillOffsets.size();
+    }
+
+    /**
+     * Pulling all the remaining elements from the source (if it's not done yet).
+     *
+     * @return the total number of elements
+     * @throws IllegalStateException if the source has more than {@link Integer#MAX_VALUE} elements
+     */
+    public int size() {
+        return pull(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ReplayIterator();
+    }
+
+    /**
+     * @return the sized spliterator if the source is exhausted, and the lazy one (of unknown size) otherwise
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return isFullyBuffered()
+            ? new ChunkSpliterator(0, size())
+            : Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * @return the lazy sequential stream of elements, which pulls the source only as far as it's consumed
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return the parallel stream of elements over all the chunks (the whole source is buffered at first)
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(new ChunkSpliterator(0, size()), true);
+    }
+
+    /**
+     * Closing the source (if it's not exhausted yet) and deleting the temporary file of spilled chunks.
+     * The elements that were spilled cannot be replayed after that.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        closeSource();
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();  // <-- the file is deleted on close
+            } catch (IOException ioEx) {
+                throw new IllegalStateException("could not close the temporary file of spilled chunks", ioEx);
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ReplayableIterable(buffered=%d; spilledChunks=%d; %s)",
+            size, spillOffsets.size(), source == null ? "exhausted" : "pending");
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * @param required the number of elements that should be buffered
+     * @return the number of buffered elements (it's less than {@code required} only if the source is exhausted)
+     */
+    private synchronized int pull(int required) {
+        while (size < required && source != null) {
+            if (closed) {
+                throw new IllegalStateException("the replayable iterable is already closed");
+            }
+            if (!source.hasNext()) {
+                closeSource();
+                break;
+            }
+            append(source.next());
+        }
+        if (size == Integer.MAX_VALUE && source != null) {
+            if (source.hasNext()) {
+                throw new IllegalStateException(
+                    "the replayable iterable cannot buffer more than " + Integer.MAX_VALUE + " elements");
+            }
+            closeSource();
+        }
+        return size;
+    }
+
+    private void append(T elem) {
+        int chunkIndex = size / CHUNK_SIZE;
+        int chunkOffset = size % CHUNK_SIZE;
+        if (chunkOffset == 0) {
+            chunks.add(new Object[CHUNK_SIZE]);
+        }
+        Object[] chunk = chunks.get(chunkIndex);
+        chunk[chunkOffset] = elem;
+        size++;
+        if (chunkOffset == CHUNK_SIZE - 1 && chunkIndex >= memoryChunks) {
+            spill(chunkIndex, chunk);
+        }
+    }
+
+    private void closeSource() {
+        source = null;
+        if (sourceToClose != null) {
+            try {
+                sourceToClose.close();
+            } catch (Exception ex) {
+                throw new IllegalStateException("could not close the source of replayable iterable", ex);
+            } finally {
+                sourceToClose = null;
+            }
+        }
+    }
+
+    private void spill(int chunkIndex, Object[] chunk) {
+        try {
+            if (spillChannel == null) {
+                Path spillFile = Files.createTempFile("replayable-", ".chunks");
+                spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytesOut)) {
+                objectOut.writeObject(chunk);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytesOut.toByteArray());
+            long position = spillEnd;
+            while (buffer.hasRemaining()) {
+                position += spillChannel.write(buffer, position);
+            }
+            spillOffsets.add(spillEnd);
+            spillEnd = position;
+            chunks.set(chunkIndex, null);
+        } catch (IOException ioEx) {
+            throw new IllegalStateException(String.format(
+                "could not spill the chunk #%d into the temporary file (the elements must be serializable)",
+                chunkIndex), ioEx);
+        }
+    }
+
+    private Object[] chunk(int chunkIndex) {
+        FileChannel channel;
+        long from;
+        long to;
+        synchronized (this) {
+            Object[] chunk = chunks.get(chunkIndex);
+            if (chunk != null) {
+                return chunk;
+            }
+            if (closed) {
+                throw new IllegalStateException("the spilled chunks cannot be replayed after closing");
+            }
+            int spillIndex = chunkIndex - memoryChunks;
+            from = spillOffsets.get(spillIndex);
+            to = spillIndex + 1 < spillOffsets.size() ? spillOffsets.get(spillIndex + 1) : spillEnd;
+            channel = spillChannel;  // <-- the field is read under the same lock as by "close()"
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+            long position = from;
+            while (buffer.hasRemaining()) {
+                int bytesRead = channel.read(buffer, position);
+                if (bytesRead < 0) {
+                    throw new IOException("unexpected end of the temporary file of spilled chunks");
+                }
+                position += bytesRead;
+            }
+            try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(buffer.array()))) {
+                return (Object[]) objectIn.readObject();
+            }
+        } catch (ClosedChannelException closedEx) {
+            throw new IllegalStateException("the spilled chunks cannot be replayed after closing", closedEx);
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new IllegalStateException(String.format(
+                "could not read the spilled chunk #%d from the temporary file", chunkIndex), ex);
+        }
+    }
+
+    /**
+     * The lazy iterator, which pulls the source only when the buffered elements are over
+     */
+    private final class ReplayIterator implements Iterator<T> {
+
+        private int cursor = 0;
+        private int available = 0;
+        private int chunkIndex = -1;
+        private Object[] chunk = null;
+
+        @Override
+        public boolean hasNext() {
+            if (cursor < available) {
+                return true;
+            }
+            available = pull(cursor + 1);
+            return cursor < available;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("there are no more elements in the replayable iterable");
+            }
+            if (cursor / CHUNK_SIZE != chunkIndex) {
+                chunkIndex = cursor / CHUNK_SIZE;
+                chunk = chunk(chunkIndex);
+            }
+            return (T) chunk[cursor++ % CHUNK_SIZE];
+        }
+    }
+
+    /**
+     * The sized spliterator over the range {@code [from;to)} of already buffered elements,
+     * which is split in halves at the boundaries of chunks (if possible)
+     */
+    private final class ChunkSpliterator implements Spliterator<T> {
+
+        private int from;
+        private final int to;
+        private int chunkIndex = -1;
+        private Object[] chunk = null;
+
+        private ChunkSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(elementAt(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (from < to) {
+                action.accept(elementAt(from++));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (from + to) >>> 1;
+            int chunkMid = mid - mid % CHUNK_SIZE;
+            if (chunkMid > from) {
+                mid = chunkMid;  // <-- each half reads (or de-serializes) its own chunks only
+            }
+            if (mid == from) {
+                return null;
+            }
+            ChunkSpliterator prefix = new ChunkSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T elementAt(int index) {
+            if (index / CHUNK_SIZE != chunkIndex) {
+                chunkIndex = index / CHUNK_SIZE;
+                chunk = chunk(chunkIndex);
+            }
+            return (T) chunk[index % CHUNK_SIZE];
+        }
+    }
+}
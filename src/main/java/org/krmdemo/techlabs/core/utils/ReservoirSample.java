@@ -0,0 +1,260 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * A fixed-memory random sample of at most {@link #capacity()} elements of unbounded stream, where the elements
+ * are picked by the {@link RandomHelper} that the sample is created with (so, the sample is reproducible by its seed):<ul>
+ *     <li>the <b>uniform</b> sample is maintained by
+ *     <a href="https://dl.acm.org/doi/10.1145/198429.198435">Algorithm L</a> (Li), which draws the number of elements
+ *     to skip rather than a random number per each element - so, it takes {@code O(k * (1 + log(N/k)))} random draws</li>
+ *     <li>the <b>weighted</b> sample is maintained by
+ *     <a href="https://doi.org/10.1016/j.ipl.2005.11.003">Algorithm A-Res</a> (Efraimidis, Spirakis), where each element
+ *     gets the key {@code u^(1/weight)} and the elements with {@code k} largest keys are kept in a binary min-heap</li>
+ * </ul>
+ * Two samples are mergeable (see {@link RandomHelper#toReservoirSample(int)} for parallel streams): the weighted ones keep
+ * {@code k} largest keys of both, and the uniform ones draw from each sample in proportion to the number of elements
+ * that the sample has seen (so, the merged one is the uniform sample of both parts as well).
+ * <hr/>
+ * <u><i>Note:</i></u> the sample of parallel stream depends on how the stream is split, and so it's reproducible only for
+ * sequential streams. The collectors of {@link RandomHelper} create each sample with its own generator, which is seeded
+ * (or {@link SplittableRandomHelper#split() split}) from the generator of collector - so, the samples of parallel stream
+ * never share the same generator.
+ * <hr/>
+ * The public API of this class is <b>read-only</b>.
+ *
+ * @param <T> the type of sampled elements
+ */
+public final class ReservoirSample<T> {
+
+    private final int capacity;
+    private final RandomHelper rnd;
+    private final ToDoubleFunction<? super T> weigher;
+    private final Object[] items;
+    private final double[] keys;
+    private int size = 0;
+    private long seen = 0L;
+
+    // the state of Algorithm L - the largest of k smallest uniform keys and the number of element to pick next
+    private double maxKey = 0.0;
+    private long nextPick = 0L;
+    private boolean merged = false;
+
+    /**
+     * @param capacity the maximal number of elements in the sample
+     * @param rnd the random generator to pick the elements
+     * @param weigher the function to get the weight of element, or {@code null} for the uniform sample
+     */
+    ReservoirSample(int capacity, RandomHelper rnd, ToDoubleFunction<? super T> weigher) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the capacity of reservoir sample must be positive, but it's " + capacity);
+        }
+        if (rnd == null) {
+            throw new IllegalArgumentException("the random generator of reservoir sample must not be << NULL >>");
+        }
+        this.capacity = capacity;
+        this.rnd = rnd;
+        this.weigher = weigher;
+        this.items = new Object[capacity];
+        this.keys = weigher == null ? null : new double[capacity];
+    }
+
+    /**
+     * @return the maximal number of elements in the sample
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the current number of elements in the sample (that is {@code min(capacity, seen)} for the uniform one)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the total number of elements that the sample has seen (the length of stream)
+     */
+    public long seen() {
+        return seen;
+    }
+
+    /**
+     * @return {@code true} if the sample is weighted (by Algorithm A-Res)
+     */
+    public boolean isWeighted() {
+        return weigher != null;
+    }
+
+    /**
+     * @return the unmodifiable list of sampled elements (the order of elements is not specified)
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) Arrays.copyOf(items, size)));
+    }
+
+    /**
+     * @return the stream of sampled elements
+     */
+    public Stream<T> stream() {
+        return toList().stream();
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    void accept(T elem) {
+        if (weigher != null) {
+            acceptWeighted(elem);
+            return;
+        }
+        if (merged && seen >= capacity) {
+            throw new IllegalStateException("the merged uniform reservoir sample cannot accept new elements");
+        }
+        seen++;
+        if (size < capacity) {
+            items[size++] = elem;
+            if (size == capacity) {
+                maxKey = Math.exp(Math.log(nextUniform()) / capacity);
+                nextPick = saturatedAdd(seen, skipCount() + 1);
+            }
+        } else if (seen == nextPick) {
+            items[rnd.nextInt(capacity)] = elem;
+            maxKey *= Math.exp(Math.log(nextUniform()) / capacity);
+            nextPick = saturatedAdd(nextPick, skipCount() + 1);
+        }
+    }
+
+    ReservoirSample<T> merge(ReservoirSample<T> other) {
+        if (other.seen == 0) {
+            return this;
+        }
+        if (seen == 0) {
+            return other;
+        }
+        if (weigher != null) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.keys[i], other.items[i]);
+            }
+            seen += other.seen;
+            return this;
+        }
+        // each next element is drawn from the left part with probability "leftSeen / (leftSeen + rightSeen)"
+        Object[] left = Arrays.copyOf(items, size);
+        Object[] right = Arrays.copyOf(other.items, other.size);
+        int leftSize = left.length;
+        int rightSize = right.length;
+        long leftSeen = seen;
+        long rightSeen = other.seen;
+        int mergedSize = (int) Math.min(capacity, leftSeen + rightSeen);
+        for (int i = 0; i < mergedSize; i++) {
+            if (rnd.nextDouble() * ((double) leftSeen + rightSeen) < leftSeen) {
+                int j = rnd.nextInt(leftSize);
+                items[i] = left[j];
+                left[j] = left[--leftSize];
+                leftSeen--;
+            } else {
+                int j = rnd.nextInt(rightSize);
+                items[i] = right[j];
+                right[j] = right[--rightSize];
+                rightSeen--;
+            }
+        }
+        size = mergedSize;
+        seen += other.seen;
+        merged = true;  // <-- the state of Algorithm L is not restored, because the collectors do not accumulate after merging
+        return this;
+    }
+
+    private void acceptWeighted(T elem) {
+        double weight = weigher.applyAsDouble(elem);
+        if (!(weight >= 0.0 && weight < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("the weight of sampled element must be non-negative and finite, but it's " + weight);
+        }
+        seen++;
+        if (weight > 0.0) {
+            offer(Math.log(nextUniform()) / weight, elem);  // <-- the logarithm of "u^(1/weight)" does not underflow
+        }
+    }
+
+    private void offer(double key, Object elem) {
+        if (size < capacity) {
+            keys[size] = key;
+            items[size] = elem;
+            siftUp(size++);
+        } else if (key > keys[0]) {
+            keys[0] = key;
+            items[0] = elem;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= keys[index]) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int least = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && keys[left] < keys[least]) {
+                least = left;
+            }
+            if (right < size && keys[right] < keys[least]) {
+                least = right;
+            }
+            if (least == index) {
+                return;
+            }
+            swap(index, least);
+            index = least;
+        }
+    }
+
+    private void swap(int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        Object item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+
+    /**
+     * @return the number of elements to skip before the next pick, which is geometrically distributed
+     */
+    private long skipCount() {
+        double skip = Math.floor(Math.log(nextUniform()) / Math.log1p(-maxKey));
+        return skip < Long.MAX_VALUE ? (long) skip : Long.MAX_VALUE - 1;
+    }
+
+    /**
+     * @return the uniform random number in {@code (0;1]} (to avoid the logarithm of zero)
+     */
+    private double nextUniform() {
+        return 1.0 - rnd.nextDouble();
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < a ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,248 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SequencedMap;
+
+/**
+ * A fixed-memory summary of the most frequent elements in unbounded stream, which is based on
+ * <a href="https://www.cs.ucsb.edu/sites/default/files/documents/2005-23.pdf">Space-Saving algorithm</a>
+ * (Metwally, Agrawal, El Abbadi), where at most {@link #capacity()} elements are monitored at the same time.
+ * <hr/>
+ * When a new element arrives and all counters are busy, the element with the minimal counter is replaced
+ * with the new one, which inherits that minimal counter as its maximal over-estimation ({@link #error(Object)}).
+ * So, for the stream of {@code N} elements:<ul>
+ *     <li>the estimated count is never less than the real one and exceeds it not more than {@code N / capacity}</li>
+ *     <li>any element whose real count is greater than {@code N / capacity} is guaranteed to be monitored</li>
+ * </ul>
+ * The counters are kept in the indexed binary min-heap - so, each update takes {@code O(log(capacity))}.
+ * Two sketches are mergeable (see {@link CountingUtils#toSpaceSavingSketch(int)} for parallel streams).
+ * <hr/>
+ * The public API of this class is <b>read-only</b>.
+ *
+ * @param <V> the type of counted elements (with properly implemented {@link Object#equals} and {@link Object#hashCode})
+ */
+public final class SpaceSavingSketch<V> {
+
+    /**
+     * The monitored element with its estimated count and the maximal over-estimation
+     */
+    private static final class Counter<V> {
+        V key;
+        long count;
+        long error;
+        int heapIndex;
+    }
+
+    /**
+     * The initial length of the heap, which grows twice up to the capacity (so, the sketch of large capacity
+     * takes the memory in proportion to the number of monitored elements only)
+     */
+    static final int INITIAL_HEAP_SIZE = 16;
+
+    private final int capacity;
+    private final Map<V, Counter<V>> countersMap = new HashMap<>();
+    private Counter<V>[] heap;
+    private int heapSize = 0;
+    private long total = 0L;
+
+    SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the capacity of Space-Saving sketch must be positive, but it's " + capacity);
+        }
+        this.capacity = capacity;
+        @SuppressWarnings("unchecked")
+        Counter<V>[] heapArr = (Counter<V>[]) new Counter<?>[Math.min(capacity, INITIAL_HEAP_SIZE)];
+        this.heap = heapArr;
+    }
+
+    /**
+     * @return the maximal number of monitored elements
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of currently monitored elements
+     */
+    public int size() {
+        return heapSize;
+    }
+
+    /**
+     * @return the total number of counted elements (the length of stream)
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @return the upper bound of over-estimation for any element (that is {@code total / capacity})
+     */
+    public long maxError() {
+        return total / capacity;
+    }
+
+    /**
+     * @param key the element to get the estimated number of occurrences
+     * @return the estimated (upper bound) number of occurrences of monitored {@code key} or zero if it's not monitored
+     */
+    public long count(V key) {
+        Counter<V> counter = countersMap.get(key);
+        return counter == null ? 0L : counter.count;
+    }
+
+    /**
+     * @param key the element to get the over-estimation
+     * @return the maximal over-estimation of monitored {@code key} or zero if it's not monitored
+     */
+    public long error(V key) {
+        Counter<V> counter = countersMap.get(key);
+        return counter == null ? 0L : counter.error;
+    }
+
+    /**
+     * @param key the element to get the guaranteed number of occurrences
+     * @return the lower bound of occurrences of monitored {@code key} (or zero if it's not monitored)
+     */
+    public long guaranteedCount(V key) {
+        Counter<V> counter = countersMap.get(key);
+        return counter == null ? 0L : counter.count - counter.error;
+    }
+
+    /**
+     * @return all monitored elements with their estimated counts ordered by frequency (the most frequent first)
+     */
+    public SequencedMap<V, Long> toSequencedMap() {
+        return topCounts(heapSize);
+    }
+
+    /**
+     * @param k the number of the most frequent elements to return
+     * @return at most {@code k} monitored elements with their estimated counts ordered by frequency
+     */
+    public SequencedMap<V, Long> topCounts(int k) {
+        Counter<V>[] sorted = Arrays.copyOf(heap, heapSize);
+        Arrays.sort(sorted, Comparator.<Counter<V>>comparingLong(c -> c.count).reversed()
+            .thenComparingLong(c -> c.error));
+        SequencedMap<V, Long> topMap = LinkedHashMap.newLinkedHashMap(Math.min(k, heapSize));
+        for (int i = 0; i < Math.min(k, sorted.length); i++) {
+            topMap.put(sorted[i].key, sorted[i].count);
+        }
+        return topMap;
+    }
+
+    @Override
+    public String toString() {
+        return toSequencedMap().toString();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    void increment(V key) {
+        add(key, 1L, 0L);
+    }
+
+    SpaceSavingSketch<V> merge(SpaceSavingSketch<V> other) {
+        // the unmonitored element of full sketch could have occurred up to its minimal counter times
+        long thisMin = heapSize == capacity ? heap[0].count : 0L;
+        long otherMin = other.heapSize == other.capacity ? other.heap[0].count : 0L;
+        Map<V, long[]> mergedMap = HashMap.newHashMap(heapSize + other.heapSize);
+        for (int i = 0; i < heapSize; i++) {
+            Counter<V> c = heap[i];
+            Counter<V> o = other.countersMap.get(c.key);
+            mergedMap.put(c.key, o == null
+                ? new long[] { c.count + otherMin, c.error + otherMin }
+                : new long[] { c.count + o.count, c.error + o.error });
+        }
+        for (int i = 0; i < other.heapSize; i++) {
+            Counter<V> o = other.heap[i];
+            mergedMap.putIfAbsent(o.key, new long[] { o.count + thisMin, o.error + thisMin });
+        }
+        long mergedTotal = total + other.total;
+        countersMap.clear();
+        Arrays.fill(heap, 0, heapSize, null);
+        heapSize = 0;
+        mergedMap.entrySet().stream()
+            .sorted(Comparator.comparing((Map.Entry<V, long[]> e) -> e.getValue()[0]).reversed())
+            .limit(capacity)
+            .forEach(e -> add(e.getKey(), e.getValue()[0], e.getValue()[1]));
+        total = mergedTotal;
+        return this;
+    }
+
+    private void add(V key, long count, long error) {
+        Objects.requireNonNull(key, "element cannot be counted as a null key");
+        total += count;
+        Counter<V> counter = countersMap.get(key);
+        if (counter != null) {
+            counter.count += count;
+            counter.error += error;
+            siftDown(counter.heapIndex);
+        } else if (heapSize < capacity) {
+            counter = new Counter<>();
+            counter.key = key;
+            counter.count = count;
+            counter.error = error;
+            counter.heapIndex = heapSize;
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(capacity, 2L * heap.length));
+            }
+            heap[heapSize++] = counter;
+            countersMap.put(key, counter);
+            siftUp(counter.heapIndex);
+        } else {
+            counter = heap[0];  // <-- the element with minimal counter is evicted
+            countersMap.remove(counter.key);
+            counter.key = key;
+            counter.error = counter.count + error;
+            counter.count += count;
+            countersMap.put(key, counter);
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        Counter<V> counter = heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            Counter<V> parent = heap[parentIndex];
+            if (parent.count <= counter.count) {
+                break;
+            }
+            place(parent, index);
+            index = parentIndex;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter<V> counter = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            Counter<V> child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if (rightIndex < heapSize && heap[rightIndex].count < child.count) {
+                childIndex = rightIndex;
+                child = heap[childIndex];
+            }
+            if (counter.count <= child.count) {
+                break;
+            }
+            place(child, index);
+            index = childIndex;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter<V> counter, int index) {
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+}
@@ -0,0 +1,541 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * The variant of {@link RandomHelper}, which is backed by {@link SplittableGenerator} (by default - {@value #DEFAULT_ALGORITHM})
+ * instead of the single {@link java.util.concurrent.atomic.AtomicLong atomic} seed of {@link java.util.Random}.
+ * All the methods of {@link RandomHelper} are available, but they are not serialized by compare-and-set
+ * of the shared seed, and the instance could be {@link #split() split} into the independent one per each thread or task.
+ * <hr/>
+ * The array generators with the flag {@code parallel} fill the blocks of {@value #BLOCK_SIZE} elements
+ * in fork-join pool, where each block has its own generator that is split from this one in advance - so,
+ * the result is reproducible by the seed and does not depend on the flag {@code parallel} or on the number of cores.
+ * The large arrays are shuffled in parallel by the random buckets of about {@value #SHUFFLE_BUCKET_SIZE} elements.
+ * <hr/>
+ * <u><i>Note:</i></u> unlike {@link java.util.Random} the instance of this class is <b>not thread-safe</b>
+ * (use {@link #split()} to get the instance per each thread), its seed cannot be changed by {@link #setSeed(long)},
+ * and it cannot be serialized (the {@link java.io.NotSerializableException} is thrown).
+ */
+@SuppressWarnings("serial")  // <-- the instance is serializable only formally (see the method "writeObject" below)
+public class SplittableRandomHelper extends RandomHelper {
+
+    /**
+     * The name of the default algorithm of {@link SplittableGenerator}
+     */
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    /**
+     * The number of elements in each block that is filled by its own generator
+     */
+    static final int BLOCK_SIZE = 1 << 16;
+
+    /**
+     * The average number of elements in each bucket of the parallel shuffle
+     */
+    static final int SHUFFLE_BUCKET_SIZE = 1 << 20;
+
+    private final SplittableGenerator generator;
+
+    /**
+     * Constructs an <b>un-reproducible</b> instance of {@link SplittableRandomHelper}
+     */
+    public SplittableRandomHelper() {
+        this(RandomGeneratorFactory.<SplittableGenerator>of(DEFAULT_ALGORITHM).create());
+    }
+
+    /**
+     * Constructs a <b>reproducible</b> instance of {@link SplittableRandomHelper}
+     */
+    public SplittableRandomHelper(long seed) {
+        this(DEFAULT_ALGORITHM, seed);
+    }
+
+    /**
+     * Constructs a <b>reproducible</b> instance of {@link SplittableRandomHelper} with the specified algorithm
+     *
+     * @param algorithm the name of algorithm of {@link SplittableGenerator} (like "L64X128MixRandom" or "SplittableRandom")
+     * @param seed the seed of the generator
+     */
+    public SplittableRandomHelper(String algorithm, long seed) {
+        this(RandomGeneratorFactory.<SplittableGenerator>of(algorithm).create(seed));
+    }
+
+    private SplittableRandomHelper(SplittableGenerator generator) {
+        super(0L);  // <-- the seed of java.util.Random is not used at all
+        this.generator = generator;
+    }
+
+    /**
+     * @return a new instance over the generator that is split from this one (to be used by another thread or task)
+     */
+    public SplittableRandomHelper split() {
+        return new SplittableRandomHelper(generator.split());
+    }
+
+    /**
+     * The generator of each container of collector is split from this one, where the splitting is synchronized,
+     * because the supplier of containers is invoked by several threads of parallel stream
+     *
+     * @return a new instance over the generator that is split from this one
+     */
+    @Override
+    synchronized RandomHelper forkGenerator() {
+        return split();
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException(getClass().getName() + " (its splittable generator is not serializable)");
+    }
+
+    // ===========================================================================================
+    //        Overriding the methods of java.util.Random to use the splittable generator
+    // ===========================================================================================
+
+    /**
+     * The seed of the splittable generator could be set only by the constructor
+     *
+     * @param seed the seed that is ignored
+     * @throws UnsupportedOperationException always (unless it's invoked by the constructor of {@link java.util.Random})
+     */
+    @Override
+    public void setSeed(long seed) {
+        if (generator != null) {  // <-- the constructor of java.util.Random invokes it before the generator is assigned
+            throw new UnsupportedOperationException(
+                "the seed of SplittableRandomHelper could be set only by the constructor (use a new instance instead)");
+        }
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (generator.nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        generator.nextBytes(bytes);
+    }
+
+    @Override
+    public int nextInt() {
+        return generator.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return generator.nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return generator.nextInt(origin, bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return generator.nextLong();
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        return generator.nextLong(bound);
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return generator.nextLong(origin, bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return generator.nextBoolean();
+    }
+
+    @Override
+    public float nextFloat() {
+        return generator.nextFloat();
+    }
+
+    @Override
+    public double nextDouble() {
+        return generator.nextDouble();
+    }
+
+    @Override
+    public double nextGaussian() {
+        return generator.nextGaussian();
+    }
+
+    @Override
+    public IntStream ints() {
+        return generator.ints();
+    }
+
+    @Override
+    public IntStream ints(long streamSize) {
+        return generator.ints(streamSize);
+    }
+
+    @Override
+    public IntStream ints(int randomNumberOrigin, int randomNumberBound) {
+        return generator.ints(randomNumberOrigin, randomNumberBound);
+    }
+
+    @Override
+    public IntStream ints(long streamSize, int randomNumberOrigin, int randomNumberBound) {
+        return generator.ints(streamSize, randomNumberOrigin, randomNumberBound);
+    }
+
+    @Override
+    public LongStream longs() {
+        return generator.longs();
+    }
+
+    @Override
+    public LongStream longs(long streamSize) {
+        return generator.longs(streamSize);
+    }
+
+    @Override
+    public LongStream longs(long randomNumberOrigin, long randomNumberBound) {
+        return generator.longs(randomNumberOrigin, randomNumberBound);
+    }
+
+    @Override
+    public LongStream longs(long streamSize, long randomNumberOrigin, long randomNumberBound) {
+        return generator.longs(streamSize, randomNumberOrigin, randomNumberBound);
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        return generator.doubles();
+    }
+
+    @Override
+    public DoubleStream doubles(long streamSize) {
+        return generator.doubles(streamSize);
+    }
+
+    @Override
+    public DoubleStream doubles(double randomNumberOrigin, double randomNumberBound) {
+        return generator.doubles(randomNumberOrigin, randomNumberBound);
+    }
+
+    @Override
+    public DoubleStream doubles(long streamSize, double randomNumberOrigin, double randomNumberBound) {
+        return generator.doubles(streamSize, randomNumberOrigin, randomNumberBound);
+    }
+
+    // ===========================================================================================
+    //        Array generators, which fill the blocks of array in parallel
+    // ===========================================================================================
+
+    /**
+     * Getting an array of {@code N} random integers in the range {@code [ lowBound, int highBound )}.
+     *
+     * @param N the size of array to return
+     * @param lowBound low boundary of random range (inclusive)
+     * @param highBound high boundary of random range (exclusive)
+     * @param parallel {@code true} to fill the blocks of array in parallel (it does not affect the result)
+     * @return an array of {@code N} integers in the range {@code [ lowBound, int highBound )}
+     */
+    public int[] randomIntArr(long N, int lowBound, int highBound, boolean parallel) {
+        checkBounds(lowBound, highBound);
+        int[] valuesArr = new int[checkSize(N)];
+        SplittableGenerator[] blockGenerators = blockGenerators(valuesArr.length);
+        range(blockGenerators.length, parallel).forEach(block -> {
+            SplittableGenerator blockGenerator = blockGenerators[block];
+            int to = Math.min(block * BLOCK_SIZE + BLOCK_SIZE, valuesArr.length);
+            for (int i = block * BLOCK_SIZE; i < to; i++) {
+                valuesArr[i] = blockGenerator.nextInt(lowBound, highBound);
+            }
+        });
+        return valuesArr;
+    }
+
+    /**
+     * The same as {@link #randomDistinctIntArr(long, int, int)}, but for the sparse ranges (greater than {@code 64*N})
+     * the duplicates are removed by the parallel sort of candidates (without boxing), which are generated
+     * by {@link #randomIntArr(long, int, int, boolean)}. For the dense ranges (or in a very rare case of shortage
+     * of candidates) the sequential sampling of {@link #randomDistinctIntArr(long, int, int)} is used instead.
+     *
+     * @param N the size of array to return (it must not exceed the size of range)
+     * @param lowBound low boundary of random range (inclusive)
+     * @param highBound high boundary of random range (exclusive)
+     * @param parallel {@code true} to generate the candidates and remove the duplicates in parallel
+     * @return an array of exactly {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}
+     */
+    public int[] randomDistinctIntArr(long N, int lowBound, int highBound, boolean parallel) {
+        long range = checkSampleSize(N, lowBound, highBound);
+        int size = (int) N;
+        if (range <= 64L * size) {
+            return randomDistinctIntArr(N, lowBound, highBound);
+        }
+        int[] candidates = randomIntArr(candidatesCount(size, range), lowBound, highBound, parallel);
+        // each key is the candidate in high bits and its index in low bits - so, the first occurrence is the least one
+        long[] keys = new long[candidates.length];
+        range(candidates.length, parallel).forEach(i -> keys[i] = ((long) candidates[i] << 32) | i);
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        boolean[] firstOccurrence = new boolean[candidates.length];
+        range(keys.length, parallel)
+            .filter(i -> i == 0 || (keys[i] >> 32) != (keys[i - 1] >> 32))
+            .forEach(i -> firstOccurrence[(int) keys[i]] = true);
+        int[] distinctArr = new int[size];
+        int count = 0;
+        for (int i = 0; i < candidates.length && count < size; i++) {
+            if (firstOccurrence[i]) {
+                distinctArr[count++] = candidates[i];
+            }
+        }
+        return count == size ? distinctArr : randomDistinctIntArr(N, lowBound, highBound);
+    }
+
+    /**
+     * Getting an array of {@code N} integers in the range {@code [ lowBound, int highBound )},
+     * which are <b>sorted</b> in <b>ascending</b> order, but <b>not distinct</b>.
+     *
+     * @param N the size of array to return
+     * @param lowBound low boundary of random range (inclusive)
+     * @param highBound high boundary of random range (exclusive)
+     * @param parallel {@code true} to generate and sort the array in parallel
+     * @return an array of {@code N} <b>sorted</b> integers in the range {@code [ lowBound, int highBound )}
+     */
+    public int[] randomSortedIntArr(long N, int lowBound, int highBound, boolean parallel) {
+        return sorted(randomIntArr(N, lowBound, highBound, parallel), parallel);
+    }
+
+    /**
+     * Getting an array of exactly {@code N} <b>distinct</b> integers in the range {@code [ lowBound, int highBound )},
+     * which are <b>sorted</b> in <b>ascending</b> order. For the dense ranges (not greater than {@code 64*N})
+     * it's the same as {@link #randomIncreasingIntArr(long, int, int)}, which scans the bitmap without sorting.
+     *
+     * @param N the size of array to return (it must not exceed the size of range)
+     * @param lowBound low boundary of random range (inclusive)
+     * @param highBound high boundary of random range (exclusive)
+     * @param parallel {@code true} to generate and sort the array in parallel
+     * @return an array of exactly {@code N} <b>sorted</b> and <b>distinct</b> integers in the range {@code [ lowBound, int highBound )}
+     */
+    public int[] randomIncreasingIntArr(long N, int lowBound, int highBound, boolean parallel) {
+        if (checkSampleSize(N, lowBound, highBound) <= 64L * N) {
+            return randomIncreasingIntArr(N, lowBound, highBound);
+        }
+        return sorted(randomDistinctIntArr(N, lowBound, highBound, parallel), parallel);
+    }
+
+    // ===========================================================================================
+    //        Parallel shuffles of large arrays by the random buckets
+    // ===========================================================================================
+
+    /**
+     * Getting the uniformly random permutation of the range {@code [0;N)} (see {@link #shuffleArr(int[], boolean)}).
+     *
+     * @param N the size of array to return
+     * @param parallel {@code true} to fill and shuffle the array in parallel (it does not affect the result)
+     * @return an array of all the integers in the range {@code [0;N)} in random order
+     */
+    public int[] randomPermutationArr(long N, boolean parallel) {
+        int size = checkSize(N);
+        if (size > SHUFFLE_BUCKET_SIZE) {
+            return shuffledIndexes(size, parallel);  // <-- the shuffled indexes of the range are the permutation itself
+        }
+        int[] permutationArr = new int[size];
+        range(size, parallel).forEach(i -> permutationArr[i] = i);
+        shuffleArr(permutationArr);
+        return permutationArr;
+    }
+
+    /**
+     * Shuffles the array, where each of {@code n!} permutations is equally likely. The array that is not greater
+     * than {@value #SHUFFLE_BUCKET_SIZE} elements is shuffled in place by {@link #shuffleArr(int[])}, but the larger one
+     * is shuffled by the random buckets (Sanders, "Random permutations on distributed, external and hierarchical memory"):<ul>
+     *     <li>each element gets the uniformly random bucket, so every block of array could be scattered into the buckets
+     *     independently (the elements are written to the few frontiers of buckets rather than to random positions)</li>
+     *     <li>each bucket of about {@value #SHUFFLE_BUCKET_SIZE} elements is shuffled independently by Fisher-Yates</li>
+     * </ul>
+     * All the generators are split from this one in advance - so, the result does not depend on the flag {@code parallel}.
+     * It takes {@code O(N)} additional memory for the buckets of elements and their positions.
+     *
+     * @param valuesArr an array to shuffle
+     * @param parallel {@code true} to scatter and shuffle the buckets in parallel
+     */
+    public void shuffleArr(int[] valuesArr, boolean parallel) {
+        if (valuesArr.length <= SHUFFLE_BUCKET_SIZE) {
+            shuffleArr(valuesArr);
+            return;
+        }
+        int[] indexes = shuffledIndexes(valuesArr.length, parallel);
+        int[] sourceArr = valuesArr.clone();
+        range(valuesArr.length, parallel).forEach(i -> valuesArr[i] = sourceArr[indexes[i]]);
+    }
+
+    /**
+     * @param valuesArr an array to shuffle (see {@link #shuffleArr(int[], boolean)})
+     * @param parallel {@code true} to scatter and shuffle the buckets in parallel
+     */
+    public void shuffleArr(long[] valuesArr, boolean parallel) {
+        if (valuesArr.length <= SHUFFLE_BUCKET_SIZE) {
+            shuffleArr(valuesArr);
+            return;
+        }
+        int[] indexes = shuffledIndexes(valuesArr.length, parallel);
+        long[] sourceArr = valuesArr.clone();
+        range(valuesArr.length, parallel).forEach(i -> valuesArr[i] = sourceArr[indexes[i]]);
+    }
+
+    /**
+     * @param valuesArr an array to shuffle (see {@link #shuffleArr(int[], boolean)})
+     * @param parallel {@code true} to scatter and shuffle the buckets in parallel
+     */
+    public void shuffleArr(double[] valuesArr, boolean parallel) {
+        if (valuesArr.length <= SHUFFLE_BUCKET_SIZE) {
+            shuffleArr(valuesArr);
+            return;
+        }
+        int[] indexes = shuffledIndexes(valuesArr.length, parallel);
+        double[] sourceArr = valuesArr.clone();
+        range(valuesArr.length, parallel).forEach(i -> valuesArr[i] = sourceArr[indexes[i]]);
+    }
+
+    /**
+     * @param valuesArr an array of objects to shuffle (see {@link #shuffleArr(int[], boolean)})
+     * @param parallel {@code true} to scatter and shuffle the buckets in parallel
+     * @param <T> the type of elements
+     */
+    public <T> void shuffleArr(T[] valuesArr, boolean parallel) {
+        if (valuesArr.length <= SHUFFLE_BUCKET_SIZE) {
+            shuffleArr(valuesArr);
+            return;
+        }
+        int[] indexes = shuffledIndexes(valuesArr.length, parallel);
+        T[] sourceArr = valuesArr.clone();
+        range(valuesArr.length, parallel).forEach(i -> valuesArr[i] = sourceArr[indexes[i]]);
+    }
+
+    /**
+     * The only implementation of the shuffle by the random buckets, which shuffles the indexes rather than the elements
+     * (so, the arrays of any type are shuffled by the same permutation and then gathered by it)
+     *
+     * @param size the size of array to shuffle
+     * @param parallel {@code true} to scatter and shuffle the buckets in parallel
+     * @return the index of source element at each position of the shuffled array
+     */
+    private int[] shuffledIndexes(int size, boolean parallel) {
+        ShufflePlan plan = shufflePlan(size, parallel);
+        int[] indexes = new int[size];
+        range(size, parallel).forEach(i -> indexes[plan.slots[i]] = i);
+        range(plan.bucketsCount(), parallel).forEach(bucket -> {
+            SplittableGenerator bucketGenerator = plan.bucketGenerators[bucket];
+            for (int i = plan.bucketStarts[bucket + 1] - 1, from = plan.bucketStarts[bucket]; i > from; i--) {
+                int j = from + bucketGenerator.nextInt(i - from + 1);
+                int tmp = indexes[i];
+                indexes[i] = indexes[j];
+                indexes[j] = tmp;
+            }
+        });
+        return indexes;
+    }
+
+    /**
+     * The positions of elements in the layout of buckets (one after another) and the generators to shuffle each bucket
+     */
+    private record ShufflePlan(int[] slots, int[] bucketStarts, SplittableGenerator[] bucketGenerators) {
+        int bucketsCount() {
+            return bucketGenerators.length;
+        }
+    }
+
+    private ShufflePlan shufflePlan(int size, boolean parallel) {
+        int bucketsCount = (size + SHUFFLE_BUCKET_SIZE - 1) / SHUFFLE_BUCKET_SIZE;  // <-- it's the number of blocks as well
+        SplittableGenerator[] generators = generator.splits(2L * bucketsCount).toArray(SplittableGenerator[]::new);
+        int[] slots = new int[size];  // <-- the bucket of each element at first, and then its position in the layout
+        int[][] blockOffsets = new int[bucketsCount][bucketsCount];
+        range(bucketsCount, parallel).forEach(block -> {
+            SplittableGenerator blockGenerator = generators[block];
+            int[] blockCounts = blockOffsets[block];
+            int to = (int) Math.min((long) block * SHUFFLE_BUCKET_SIZE + SHUFFLE_BUCKET_SIZE, size);
+            for (int i = block * SHUFFLE_BUCKET_SIZE; i < to; i++) {
+                int bucket = blockGenerator.nextInt(bucketsCount);
+                slots[i] = bucket;
+                blockCounts[bucket]++;
+            }
+        });
+        int[] bucketStarts = new int[bucketsCount + 1];
+        int offset = 0;
+        for (int bucket = 0; bucket < bucketsCount; bucket++) {
+            bucketStarts[bucket] = offset;
+            for (int block = 0; block < bucketsCount; block++) {
+                int count = blockOffsets[block][bucket];
+                blockOffsets[block][bucket] = offset;
+                offset += count;
+            }
+        }
+        bucketStarts[bucketsCount] = size;
+        range(bucketsCount, parallel).forEach(block -> {
+            int[] blockSlots = blockOffsets[block];
+            int to = (int) Math.min((long) block * SHUFFLE_BUCKET_SIZE + SHUFFLE_BUCKET_SIZE, size);
+            for (int i = block * SHUFFLE_BUCKET_SIZE; i < to; i++) {
+                slots[i] = blockSlots[slots[i]]++;
+            }
+        });
+        return new ShufflePlan(slots, bucketStarts, Arrays.copyOfRange(generators, bucketsCount, 2 * bucketsCount));
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private SplittableGenerator[] blockGenerators(int size) {
+        int blocksCount = (int) (((long) size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        return generator.splits(blocksCount).toArray(SplittableGenerator[]::new);
+    }
+
+    private static IntStream range(int size, boolean parallel) {
+        IntStream indexes = IntStream.range(0, size);
+        return parallel ? indexes.parallel() : indexes;
+    }
+
+    private static int[] sorted(int[] valuesArr, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSort(valuesArr);
+        } else {
+            Arrays.sort(valuesArr);
+        }
+        return valuesArr;
+    }
+
+    /**
+     * The expected number of uniform draws from the range to get {@code size} distinct values is
+     * {@code -range * ln(1 - size / range)}, which is increased by 5% to make the shortage very unlikely
+     */
+    private static long candidatesCount(int size, long range) {
+        long maxCount = Math.min(5L * size, MAX_ARRAY_SIZE);
+        double expectedDraws = -range * Math.log1p(-(double) size / range);
+        return Math.min((long) Math.ceil(expectedDraws * 1.05) + 64, maxCount);
+    }
+
+    private static int checkSize(long N) {
+        if (N < 0 || N > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("the size of array must be in range [0," + MAX_ARRAY_SIZE + "], but it's " + N);
+        }
+        return (int) N;
+    }
+
+    private static void checkBounds(int lowBound, int highBound) {
+        if (lowBound >= highBound) {
+            throw new IllegalArgumentException(String.format(
+                "the low bound %d must be less than the high bound %d", lowBound, highBound));
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package org.krmdemo.techlabs.core.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+
+/**
+ * An opt-in cache of the text content that is loaded by {@link CoreFileUtils#loadFileAsText(File)}
+ * and {@link CoreResourceUtils#resourceAsText(String)}, where each cached content is validated by the version
+ * of its source before it's returned (so, the repeated loading of unchanged files costs only one {@code stat}):<ul>
+ *     <li>the version of file is its size, the time of last modification and the {@link BasicFileAttributes#fileKey() file-key}
+ *     (which is changed when the file is replaced atomically)</li>
+ *     <li>the version of resource in jar-file is the size, the time and the CRC of {@link JarEntry}, the version of resource
+ *     in the directory is the version of file, and the version of any other resource is the length and the time
+ *     of last modification by {@link URLConnection}</li>
+ * </ul>
+ * The memory is bounded by the total number of cached characters, where the least recently used entries are evicted.
+ * In <b>soft</b> mode (see {@link #ofSoft(long)}) the content is kept by {@link SoftReference} - so, it could be
+ * collected by the garbage collector before the bound is reached, when the memory is low.
+ * <hr/>
+ * <u><i>Note:</i></u> the file that is changed in place without changing its size within the precision of file-system
+ * timestamps is not detected as changed - in order to avoid that the file should be written atomically
+ * (see {@link CoreFileUtils.WriteMode#ATOMIC}). The resources in jar-files are treated as immutable for the life of JVM,
+ * because the version of jar-entry is read from the {@link java.util.jar.JarFile} that is opened and cached by JDK
+ * (so, the jar-file that is replaced on disk still reports the old entries - the same as the class-loader does).
+ * <hr/>
+ * The instance is thread-safe. The content is loaded outside the lock, so the same content could be loaded
+ * by several threads at the same time.
+ */
+public final class TextContentCache {
+
+    /**
+     * The statistics of cache
+     *
+     * @param hits the number of loads that are served from the cache
+     * @param misses the number of loads of the content that was not cached (or collected in soft mode)
+     * @param staleLoads the number of loads of the content, which source is changed after caching
+     * @param evictions the number of entries that are evicted to keep the bound
+     * @param collected the number of entries, which content is collected by the garbage collector (in soft mode)
+     * @param entries the current number of cached entries
+     * @param cachedChars the current total number of cached characters
+     */
+    public record Stats(
+        long hits,
+        long misses,
+        long staleLoads,
+        long evictions,
+        long collected,
+        int entries,
+        long cachedChars
+    ) {
+        /**
+         * @return the ratio of hits to all the loads (or zero if there were no loads)
+         */
+        public double hitRate() {
+            long loads = hits + misses + staleLoads;
+            return loads == 0 ? 0.0 : (double) hits / loads;
+        }
+    }
+
+    private final long maxChars;
+    private final boolean soft;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<String> collectedQueue = new ReferenceQueue<>();
+    private long cachedChars = 0L;
+    private long hits = 0L;
+    private long misses = 0L;
+    private long staleLoads = 0L;
+    private long evictions = 0L;
+    private long collected = 0L;
+
+    /**
+     * @param maxChars the maximal total number of cached characters
+     * @param soft {@code true} to keep the content by soft references
+     */
+    TextContentCache(long maxChars, boolean soft) {
+        if (maxChars <= 0) {
+            throw new IllegalArgumentException("the maximal number of cached characters must be positive, but it's " + maxChars);
+        }
+        this.maxChars = maxChars;
+        this.soft = soft;
+    }
+
+    /**
+     * @param maxChars the maximal total number of cached characters
+     * @return the cache that keeps the content by strong references
+     */
+    public static TextContentCache of(long maxChars) {
+        return new TextContentCache(maxChars, false);
+    }
+
+    /**
+     * @param maxChars the maximal total number of cached characters
+     * @return the cache that keeps the content by soft references (so, it could be collected when the memory is low)
+     */
+    public static TextContentCache ofSoft(long maxChars) {
+        return new TextContentCache(maxChars, true);
+    }
+
+    /**
+     * The same as {@link CoreFileUtils#loadFileAsText(File)}, but the content is cached until the file is changed
+     *
+     * @param fileToLoad file to read the content
+     * @return the content of {@code fileToLoad} as {@link String}
+     */
+    public String loadFileAsText(File fileToLoad) {
+        if (fileToLoad == null || !fileToLoad.isFile()) {
+            throw new IllegalStateException(String.format(
+                "could not load the file %s as text, because it does not exist or it's not a normal file",
+                fileToLoad == null ? "<< NULL >>" : "'" + fileToLoad + "'"));
+        }
+        Path filePath = fileToLoad.toPath().toAbsolutePath().normalize();
+        String key = "file:" + filePath;
+        Version version;
+        try {
+            version = fileVersion(filePath);
+        } catch (IOException ioEx) {
+            invalidate(key);
+            throw new IllegalStateException(String.format(
+                "could not load the file '%s' as text, because of IOException", fileToLoad), ioEx);
+        }
+        String cachedContent = lookup(key, version);
+        return cachedContent != null ? cachedContent : store(key, version, CoreFileUtils.loadFileAsText(fileToLoad));
+    }
+
+    /**
+     * The same as {@link CoreResourceUtils#resourceAsText(String)}, but the content is cached until the resource is changed
+     *
+     * @param resourcePath the absolute path of classpath-resource (without leading {@code '/'}-slash)
+     * @return the content of classpath-resource by path {@code resourcePath} as {@link String}
+     */
+    public String resourceAsText(String resourcePath) {
+        URL resourceUrl = CoreResourceUtils.locateResource(resourcePath);
+        String key = "resource:" + resourceUrl;
+        Version version;
+        try {
+            version = resourceVersion(resourceUrl);
+        } catch (IOException | URISyntaxException ex) {
+            invalidate(key);
+            throw new IllegalArgumentException(
+                String.format("could not load the resource by path '%s' (resource URL is '%s')",
+                    resourcePath, resourceUrl), ex);
+        }
+        String cachedContent = lookup(key, version);
+        return cachedContent != null ? cachedContent : store(key, version, CoreResourceUtils.loadResourceText(resourcePath, resourceUrl));
+    }
+
+    /**
+     * @return the current statistics of cache
+     */
+    public synchronized Stats stats() {
+        purgeCollected();
+        return new Stats(hits, misses, staleLoads, evictions, collected, entries.size(), cachedChars);
+    }
+
+    /**
+     * Removing all the cached entries (the statistics of loads is kept)
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        cachedChars = 0L;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TextContentCache(maxChars=%d; %s; %s)", maxChars, soft ? "soft" : "strong", stats());
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The version of the source of content, which is compared with the cached one
+     *
+     * @param size the size of source in bytes
+     * @param modified the time of last modification (in nanoseconds for files and in milliseconds otherwise)
+     * @param fileKey the identity of file (like inode), or {@code null}
+     * @param crc the CRC of jar-entry, or {@code -1}
+     */
+    private record Version(long size, long modified, Object fileKey, long crc) {
+    }
+
+    /**
+     * The cached content with its version (the content is referenced either strongly or softly)
+     */
+    private static final class Entry {
+        final String key;
+        final Version version;
+        final int chars;
+        final String content;
+        final KeyedSoftReference softContent;
+
+        Entry(String key, Version version, String content, ReferenceQueue<String> queue, boolean soft) {
+            this.key = key;
+            this.version = version;
+            this.chars = content.length();
+            this.content = soft ? null : content;
+            this.softContent = soft ? new KeyedSoftReference(content, queue, this) : null;
+        }
+
+        String content() {
+            return softContent == null ? content : softContent.get();
+        }
+    }
+
+    private static final class KeyedSoftReference extends SoftReference<String> {
+        final Entry entry;
+
+        KeyedSoftReference(String content, ReferenceQueue<String> queue, Entry entry) {
+            super(content, queue);
+            this.entry = entry;
+        }
+    }
+
+    private synchronized String lookup(String key, Version version) {
+        purgeCollected();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        String content = entry.content();
+        if (content == null) {
+            removeEntry(entry);
+            collected++;
+            misses++;
+            return null;
+        }
+        if (!entry.version.equals(version)) {
+            removeEntry(entry);
+            staleLoads++;
+            return null;
+        }
+        hits++;
+        return content;
+    }
+
+    private synchronized String store(String key, Version version, String content) {
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            removeEntry(previous);  // <-- it's loaded by another thread at the same time
+        }
+        if (content.length() > maxChars) {
+            return content;  // <-- the content that is larger than the whole cache is not cached
+        }
+        Entry entry = new Entry(key, version, content, collectedQueue, soft);
+        entries.put(key, entry);
+        cachedChars += entry.chars;
+        Iterator<Entry> eldestIterator = entries.values().iterator();
+        while (cachedChars > maxChars && eldestIterator.hasNext()) {
+            Entry eldest = eldestIterator.next();
+            eldestIterator.remove();
+            cachedChars -= eldest.chars;
+            evictions++;
+        }
+        return content;
+    }
+
+    private synchronized void invalidate(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            removeEntry(entry);
+        }
+    }
+
+    private boolean removeEntry(Entry entry) {
+        if (entries.remove(entry.key, entry)) {  // <-- unlike "get" it does not change the access-order of other entries
+            cachedChars -= entry.chars;
+            return true;
+        }
+        return false;
+    }
+
+    private void purgeCollected() {
+        for (Reference<? extends String> ref = collectedQueue.poll(); ref != null; ref = collectedQueue.poll()) {
+            if (removeEntry(((KeyedSoftReference) ref).entry)) {
+                collected++;  // <-- the newer entry with the same key is kept
+            }
+        }
+    }
+
+    private static Version fileVersion(Path filePath) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
+        return new Version(attrs.size(), attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS), attrs.fileKey(), -1L);
+    }
+
+    private static Version resourceVersion(URL resourceUrl) throws IOException, URISyntaxException {
+        if ("file".equals(resourceUrl.getProtocol())) {
+            return fileVersion(Paths.get(resourceUrl.toURI()));
+        }
+        URLConnection connection = resourceUrl.openConnection();
+        if (connection instanceof JarURLConnection jarConnection) {
+            JarEntry jarEntry = jarConnection.getJarEntry();  // <-- the jar-file is opened once and cached by JDK (see above)
+            if (jarEntry == null) {
+                throw new NoSuchFileException(String.valueOf(resourceUrl));
+            }
+            return new Version(jarEntry.getSize(), jarEntry.getTime(), null, jarEntry.getCrc());
+        }
+        return new Version(connection.getContentLengthLong(), connection.getLastModified(), null, -1L);
+    }
+}
@@ -8,12 +8,18 @@ import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.mockito.MockedStatic;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.stream.Stream.concat;
@@ -87,6 +93,53 @@ public class CoreFileUtilsTest {
         assertThatIllegalArgumentException().isThrownBy(
             () -> imageFileData64(Paths.get("./pom.xml").toFile())
         ).withMessage("could not detect the mime-type of file './pom.xml' by extension '.xml'");
+        assertThatIllegalStateException().isThrownBy(() -> imageFileData64(null))
+            .withMessage("could not encode the file << NULL >> as data-URI, because it does not exist or it's not a normal file");
+    }
+
+    @Test
+    void testStreamingData64() throws IOException {
+        File jpegFile = Paths.get("./src/test/resources/jpeg-samples/NYC-Liberty.jpg").toFile();
+        String expectedData64 = "data:image/jpg;base64," + CoreFileUtils.encodeBase64(loadFileAsBytes(jpegFile));
+        assertThat(imageFileData64(jpegFile)).isEqualTo(expectedData64);
+        assertThat(CoreFileUtils.appendImageData64(jpegFile, new StringWriter())).hasToString(expectedData64);
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        CoreFileUtils.writeImageData64(jpegFile, bytesOut);
+        assertThat(bytesOut.toString(StandardCharsets.US_ASCII)).isEqualTo(expectedData64);
+
+        // the mime-type is detected by content (regardless of the wrong extension)
+        Path jpegAsBin = Paths.get(".", "target", "test-dir-1", "test-data64", "jpeg-image.bin");
+        CoreFileUtils.writeFileBytes(jpegAsBin, CoreFileUtils.WriteMode.DIRECT, out -> out.write(loadFileAsBytes(jpegFile)));
+        assertThat(imageFileData64(jpegAsBin.toFile())).isEqualTo(expectedData64);
+        Path svgFile = Paths.get("./src/test/resources/org/krmdemo/techlabs/core/dump/testMapOfLists/mapOfLists--expected.json.svg");
+        assertThat(imageFileData64(svgFile.toFile())).startsWith("data:image/svg+xml;base64,");
+
+        byte[] pngHead = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0 };
+        assertThat(CoreFileUtils.imageMimeType(pngHead, pngHead.length)).isEqualTo("image/png");
+        assertThat(CoreFileUtils.imageMimeType(pngHead, 7)).isNull();
+        byte[] gifHead = "GIF89a...".getBytes(StandardCharsets.US_ASCII);
+        assertThat(CoreFileUtils.imageMimeType(gifHead, gifHead.length)).isEqualTo("image/gif");
+        byte[] webpHead = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+        assertThat(CoreFileUtils.imageMimeType(webpHead, webpHead.length)).isEqualTo("image/webp");
+        byte[] svgHead = "\uFEFF  <?xml version=\"1.0\"?>\n<!-- comment -->\n<svg xmlns=\"http://www.w3.org/2000/svg\">"
+            .getBytes(StandardCharsets.UTF_8);
+        assertThat(CoreFileUtils.imageMimeType(svgHead, svgHead.length)).isEqualTo("image/svg+xml");
+        byte[] htmlHead = "<!DOCTYPE html><html><body><svg></svg>".getBytes(StandardCharsets.US_ASCII);
+        assertThat(CoreFileUtils.imageMimeType(htmlHead, htmlHead.length)).isNull();
+        byte[] xhtmlHead = "<?xml version=\"1.0\"?>\n<html xmlns=\"http://www.w3.org/1999/xhtml\"><body><svg/></body></html>"
+            .getBytes(StandardCharsets.US_ASCII);
+        assertThat(CoreFileUtils.imageMimeType(xhtmlHead, xhtmlHead.length)).isNull();
+        byte[] doctypeSvgHead = "<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" [ <!ENTITY a \"b\"> ]>\n<svg width=\"1\"/>"
+            .getBytes(StandardCharsets.US_ASCII);
+        assertThat(CoreFileUtils.imageMimeType(doctypeSvgHead, doctypeSvgHead.length)).isEqualTo("image/svg+xml");
+        byte[] svgzHead = "<svgz/>".getBytes(StandardCharsets.US_ASCII);
+        assertThat(CoreFileUtils.imageMimeType(svgzHead, svgzHead.length)).isNull();
+
+        assertThat(CoreFileUtils.appendDataUri("image/svg+xml", "<svg/>".getBytes(), new StringBuilder()))
+            .hasToString("data:image/svg+xml;base64," + CoreFileUtils.encodeBase64("<svg/>"));
+        assertThat(CoreFileUtils.appendDataUri("text/plain", new byte[0], new StringBuilder())).hasToString("data:text/plain;base64,");
+        assertThat(CoreFileUtils.base64Length(0)).isZero();
+        assertThat(CoreFileUtils.base64Length(4)).isEqualTo(8);
     }
 
     @Test
@@ -134,6 +187,243 @@ public class CoreFileUtilsTest {
 
     }
 
+    @Test
+    void testStreamFileLines() {
+        Path linesPath = Paths.get(".", "target", "test-dir-1", "test-lines.txt");
+        saveFileContent(linesPath.toFile(), "first line\r\n\nпривет, мир\r\n\tlast line without separator");
+        List<String> expectedLines = loadFileLines(linesPath);
+        assertThat(expectedLines).containsExactly("first line", "", "привет, мир", "\tlast line without separator");
+        assertThat(CoreFileUtils.streamFileLines(linesPath).toList()).isEqualTo(expectedLines);
+        try (Stream<String> lines = CoreFileUtils.streamFileLines(linesPath)) {
+            assertThat(lines.findFirst()).contains("first line");  // <-- the file is closed by try-with-resources
+        }
+        assertThat(CoreFileUtils.mappedFileLines(linesPath).toList()).isEqualTo(expectedLines);
+        assertThat(CoreFileUtils.mappedFileLines(linesPath, StandardCharsets.UTF_8, true, 8, 32).toList())
+            .isEqualTo(expectedLines);
+
+        // the lines are split between cores at line boundaries (down to the chunks of 64 KB)
+        List<String> manyLines = IntStream.range(0, 50_000).mapToObj(i -> "line #" + i + " ".repeat(i % 7)).toList();
+        Path manyLinesPath = Paths.get(".", "target", "test-dir-1", "test-many-lines.txt");
+        saveFileContent(manyLinesPath.toFile(), String.join("\n", manyLines) + "\n");
+        assertThat(CoreFileUtils.mappedFileLines(manyLinesPath, StandardCharsets.UTF_8, true).toList()).isEqualTo(manyLines);
+        assertThat(CoreFileUtils.mappedFileLines(manyLinesPath, StandardCharsets.UTF_8, true, 1000, 100).toList())
+            .isEqualTo(manyLines);
+        assertThat(CoreFileUtils.mappedFileLines(manyLinesPath, StandardCharsets.UTF_8, true)
+            .mapToLong(String::length).sum()).isEqualTo(manyLines.stream().mapToLong(String::length).sum());
+
+        // the separator bytes cannot be searched in UTF-16, so it's read sequentially
+        Path utf16Path = Paths.get(".", "target", "test-dir-1", "test-lines-utf16.txt");
+        try {
+            Files.writeString(utf16Path, "один\nдва\n", StandardCharsets.UTF_16);
+        } catch (IOException ioEx) {
+            throw new IllegalStateException(ioEx);
+        }
+        assertThat(CoreFileUtils.mappedFileLines(utf16Path, StandardCharsets.UTF_16, true).toList()).containsExactly("один", "два");
+
+        assertThatIllegalStateException().isThrownBy(
+            () -> CoreFileUtils.mappedFileLines(linesPath, StandardCharsets.UTF_8, false, 8, 4).toList()
+        ).withMessage("the line at position 13 of file './target/test-dir-1/test-lines.txt' is longer than 4 bytes");
+        assertThatIllegalStateException().isThrownBy(() -> CoreFileUtils.streamFileLines(null))
+            .withMessage("the path to file to stream lines MUST NOT be null");
+        assertThatIllegalStateException().isThrownBy(() -> CoreFileUtils.streamFileLines(Paths.get("./target/no-such-file.txt")))
+            .withMessage("could not open the file './target/no-such-file.txt' to stream lines, because of IOException");
+        assertThatIllegalStateException().isThrownBy(() -> CoreFileUtils.mappedFileLines(Paths.get("./target/no-such-file.txt")))
+            .withMessage("could not map the file './target/no-such-file.txt' into memory, because of IOException");
+    }
+
+    @Test
+    void testMirrorDir() throws IOException {
+        Path sourceDir = Paths.get(".", "target", "test-dir-1", "test-mirror-source");
+        Path targetDir = Paths.get(".", "target", "test-dir-1", "test-mirror-target");
+        Path linksDir = Paths.get(".", "target", "test-dir-1", "test-mirror-links");
+        Stream.of(sourceDir, targetDir, linksDir).map(Path::toFile).forEach(CoreFileUtils::removeSilent);
+        IntStream.range(0, 100).forEach(i -> saveFileContent(
+            sourceDir.resolve("dir-" + i % 7).resolve("file-" + i + (i % 2 == 0 ? ".txt" : ".html")).toFile(),
+            "content of file #" + i + "\n".repeat(i)));
+        long totalBytes = 0;
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            totalBytes = files.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+
+        CoreFileUtils.MirrorResult result = CoreFileUtils.mirrorDir(sourceDir, targetDir);
+        assertThat(result.filesScanned()).isEqualTo(100);
+        assertThat(result.filesCopied()).isEqualTo(100);
+        assertThat(result.bytesCopied()).isEqualTo(totalBytes);
+        assertThat(result.isSuccess()).isTrue();
+        Path someFile = Paths.get("dir-3", "file-10.txt");
+        assertThat(loadFileAsText(targetDir.resolve(someFile).toFile()))
+            .isEqualTo(loadFileAsText(sourceDir.resolve(someFile).toFile()));
+        assertThat(Files.getLastModifiedTime(targetDir.resolve(someFile)))
+            .isEqualTo(Files.getLastModifiedTime(sourceDir.resolve(someFile)));
+
+        // the second mirroring skips all the unchanged files
+        result = CoreFileUtils.mirrorDir(sourceDir, targetDir);
+        assertThat(result.filesSkipped()).isEqualTo(100);
+        assertThat(result.filesCopied()).isZero();
+        assertThat(result.bytesCopied()).isZero();
+
+        // the file with the same size and content, but another time of modification, is skipped only by CONTENT
+        Files.setLastModifiedTime(sourceDir.resolve(someFile), FileTime.fromMillis(1_000_000_000_000L));
+        result = CoreFileUtils.mirrorDir(sourceDir, targetDir, CoreFileUtils.MirrorOptions.of(CoreFileUtils.ChangeDetection.CONTENT));
+        assertThat(result.filesSkipped()).isEqualTo(100);
+        result = CoreFileUtils.mirrorDir(sourceDir, targetDir, CoreFileUtils.MirrorOptions.of().withMaxConcurrency(1));
+        assertThat(result.filesCopied()).isEqualTo(1);
+        assertThat(result.filesSkipped()).isEqualTo(99);
+        result = CoreFileUtils.mirrorDir(sourceDir, targetDir, CoreFileUtils.MirrorOptions.of(CoreFileUtils.ChangeDetection.ALWAYS)
+            .withFilter(path -> path.toString().endsWith(".html")));
+        assertThat(result.filesScanned()).isEqualTo(50);
+        assertThat(result.filesCopied()).isEqualTo(50);
+
+        // the hard-links share the same file, so the next mirroring skips them
+        result = CoreFileUtils.mirrorDir(sourceDir, linksDir, CoreFileUtils.MirrorOptions.of().withHardLinks(true));
+        assertThat(result.filesLinked() + result.filesCopied()).isEqualTo(100);
+        if (result.filesLinked() > 0) {
+            assertThat(Files.isSameFile(sourceDir.resolve(someFile), linksDir.resolve(someFile))).isTrue();
+        }
+        assertThat(CoreFileUtils.mirrorDir(sourceDir, linksDir).filesSkipped()).isEqualTo(100);
+        String someContent = loadFileAsText(sourceDir.resolve(someFile).toFile());
+        result = CoreFileUtils.mirrorDir(sourceDir, linksDir, CoreFileUtils.MirrorOptions.of(CoreFileUtils.ChangeDetection.ALWAYS));
+        assertThat(result.filesSkipped() + result.filesCopied()).isEqualTo(100);
+        assertThat(loadFileAsText(sourceDir.resolve(someFile).toFile())).isEqualTo(someContent);
+
+        // the target that is a hard-link to another file is replaced by the copy, but not truncated in place
+        Path linkedFile = linksDir.resolve(someFile);
+        Path outsideFile = linksDir.resolve("outside-file.txt");
+        saveFileContent(outsideFile.toFile(), "outside content");
+        Files.delete(linkedFile);
+        Files.createLink(linkedFile, outsideFile);
+        CoreFileUtils.mirrorDir(sourceDir, linksDir, CoreFileUtils.MirrorOptions.of(CoreFileUtils.ChangeDetection.ALWAYS));
+        assertThat(loadFileAsText(linkedFile.toFile())).isEqualTo(someContent);
+        assertThat(loadFileAsText(outsideFile.toFile())).isEqualTo("outside content");
+        try (Stream<Path> files = Files.walk(linksDir)) {
+            assertThat(files.map(String::valueOf)).noneMatch(path -> path.endsWith(".tmp"));
+        }
+
+        assertThatIllegalStateException().isThrownBy(() -> CoreFileUtils.mirrorDir(Paths.get("./target/no-such-dir"), targetDir))
+            .withMessage("could not mirror the directory './target/no-such-dir', because it does not exist or it's not a directory");
+        assertThatIllegalStateException().isThrownBy(() -> CoreFileUtils.mirrorDir(null, targetDir))
+            .withMessage("could not mirror the directory << NULL >>, because it does not exist or it's not a directory");
+        assertThatIllegalArgumentException().isThrownBy(() -> CoreFileUtils.MirrorOptions.of().withMaxConcurrency(0))
+            .withMessage("the maximal concurrency must be positive, but it's 0");
+    }
+
+    @Test
+    void testRemoveTree() {
+        Path treeDir = Paths.get(".", "target", "test-dir-1", "test-remove-tree");
+        for (boolean parallel : new boolean[] { false, true }) {
+            IntStream.range(0, 60).forEach(i -> saveFileContent(
+                treeDir.resolve("dir-" + i % 3).resolve("sub-dir-" + i % 4).resolve("file-" + i + ".txt").toFile(),
+                "x".repeat(i)));
+            CoreFileUtils.RemoveResult result = CoreFileUtils.removeTree(treeDir, parallel);
+            assertThat(result.filesRemoved()).isEqualTo(60);
+            assertThat(result.dirsRemoved()).isEqualTo(1 + 3 + 3 * 4);
+            assertThat(result.bytesRemoved()).isEqualTo(IntStream.range(0, 60).sum());
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(Files.exists(treeDir)).isFalse();
+            assertThat(CoreFileUtils.removeTree(treeDir, parallel).removedCount()).isZero();
+        }
+
+        Path singleFile = treeDir.resolve("single-file.txt");
+        saveFileContent(singleFile.toFile(), "single");
+        assertThat(CoreFileUtils.removeTree(singleFile, true))
+            .extracting(CoreFileUtils.RemoveResult::filesRemoved, CoreFileUtils.RemoveResult::bytesRemoved)
+            .containsExactly(1, 6L);
+        assertThat(CoreFileUtils.removeSilent(treeDir.toFile())).isEqualTo(1);
+        assertThat(CoreFileUtils.removeSilent(null)).isEqualTo(-1);
+        assertThatIllegalStateException().isThrownBy(() -> CoreFileUtils.removeTree(null))
+            .withMessage("the path to remove MUST NOT be null");
+    }
+
+    @Test
+    void testAtomicWrite() throws IOException {
+        Path writeDir = Paths.get(".", "target", "test-dir-1", "test-atomic-write");
+        CoreFileUtils.removeTree(writeDir);
+        Path writePath = writeDir.resolve("sub-dir").resolve("test-atomic.txt");
+        saveFileContent(writePath.toFile(), "atomic content", CoreFileUtils.WriteMode.ATOMIC);
+        assertThat(loadFileAsText(writePath.toFile())).isEqualTo("atomic content");
+        saveFileContent(writePath.toFile(), "durable content", CoreFileUtils.WriteMode.ATOMIC_DURABLE);
+        assertThat(loadFileAsText(writePath.toFile())).isEqualTo("durable content");
+
+        // the large content is streamed through the pooled buffer without being kept as one string
+        CoreFileUtils.writeFileContent(writePath, StandardCharsets.UTF_8, CoreFileUtils.WriteMode.ATOMIC, writer -> {
+            for (int i = 0; i < 20_000; i++) {
+                writer.write("строка #" + i + "\n");
+            }
+        });
+        List<String> lines = loadFileLines(writePath);
+        assertThat(lines).hasSize(20_000).startsWith("строка #0").endsWith("строка #19999");
+        byte[] largeBytes = new byte[3 * CoreFileUtils.WRITE_BUFFER_SIZE + 7];
+        Arrays.fill(largeBytes, (byte) 'z');
+        CoreFileUtils.writeFileBytes(writePath, CoreFileUtils.WriteMode.DIRECT, out -> {
+            out.write('a');
+            out.write(largeBytes);
+            out.write(largeBytes, 0, 10);
+        });
+        assertThat(Files.size(writePath)).isEqualTo(1 + largeBytes.length + 10);
+
+        // the previous content is kept and the temporary file is removed, if the content could not be written
+        saveFileContent(writePath.toFile(), "previous content", CoreFileUtils.WriteMode.ATOMIC);
+        assertThatIllegalStateException().isThrownBy(() ->
+            CoreFileUtils.writeFileContent(writePath, StandardCharsets.UTF_8, CoreFileUtils.WriteMode.ATOMIC, writer -> {
+                writer.write("half-written content");
+                throw new IOException("test IOException");
+            })
+        ).withMessage("could not save the content into the file " + writePath);
+        assertThat(loadFileAsText(writePath.toFile())).isEqualTo("previous content");
+        try (Stream<Path> files = Files.list(writePath.getParent())) {
+            assertThat(files.map(Path::getFileName).map(String::valueOf)).containsExactly("test-atomic.txt");
+        }
+        assertThatIllegalStateException().isThrownBy(
+            () -> CoreFileUtils.writeFileBytes(null, CoreFileUtils.WriteMode.ATOMIC, out -> out.write(1))
+        ).withMessage("could not write the file, because the path to write is null");
+    }
+
+    @Test
+    void testTextContentCache() throws IOException {
+        Path cacheDir = Paths.get(".", "target", "test-dir-1", "test-content-cache");
+        File firstFile = cacheDir.resolve("first.txt").toFile();
+        File secondFile = cacheDir.resolve("second.txt").toFile();
+        saveFileContent(firstFile, "first content");
+        saveFileContent(secondFile, "second content");
+        TextContentCache cache = TextContentCache.of(30);
+        assertThat(cache.loadFileAsText(firstFile)).isEqualTo("first content");
+        assertThat(cache.loadFileAsText(firstFile)).isSameAs(cache.loadFileAsText(firstFile));
+        assertThat(cache.stats()).isEqualTo(new TextContentCache.Stats(2, 1, 0, 0, 0, 1, 13));
+
+        // the content is reloaded when the file is changed (or replaced atomically with the same size)
+        saveFileContent(firstFile, "FIRST CONTENT", CoreFileUtils.WriteMode.ATOMIC);
+        assertThat(cache.loadFileAsText(firstFile)).isEqualTo("FIRST CONTENT");
+        Files.setLastModifiedTime(firstFile.toPath(), FileTime.fromMillis(1_000_000_000_000L));
+        assertThat(cache.loadFileAsText(firstFile)).isEqualTo("FIRST CONTENT");
+        assertThat(cache.stats().staleLoads()).isEqualTo(2);
+
+        // the least recently used entry is evicted, when the total number of characters exceeds the bound
+        assertThat(cache.loadFileAsText(secondFile)).isEqualTo("second content");
+        assertThat(cache.stats()).extracting(TextContentCache.Stats::entries, TextContentCache.Stats::cachedChars)
+            .containsExactly(2, 27L);
+        saveFileContent(cacheDir.resolve("third.txt").toFile(), "third");
+        cache.loadFileAsText(cacheDir.resolve("third.txt").toFile());
+        assertThat(cache.stats()).extracting(TextContentCache.Stats::evictions, TextContentCache.Stats::entries)
+            .containsExactly(1L, 2);
+        cache.loadFileAsText(secondFile);
+        assertThat(cache.stats().hits()).isEqualTo(3);
+        saveFileContent(cacheDir.resolve("large.txt").toFile(), "x".repeat(31));
+        assertThat(cache.loadFileAsText(cacheDir.resolve("large.txt").toFile())).hasSize(31);
+        assertThat(cache.stats().entries()).isEqualTo(2);  // <-- the content larger than the cache is not cached
+        assertThat(cache.stats().hitRate()).isEqualTo(3.0 / 9);
+        cache.invalidateAll();
+        assertThat(cache.stats().cachedChars()).isZero();
+
+        TextContentCache softCache = TextContentCache.ofSoft(1000);
+        assertThat(softCache.loadFileAsText(secondFile)).isSameAs(softCache.loadFileAsText(secondFile));
+        assertThat(softCache.toString()).startsWith("TextContentCache(maxChars=1000; soft; Stats[hits=1, misses=1");
+
+        assertThatIllegalStateException().isThrownBy(() -> cache.loadFileAsText(null))
+            .withMessage("could not load the file << NULL >> as text, because it does not exist or it's not a normal file");
+        assertThatIllegalArgumentException().isThrownBy(() -> TextContentCache.of(0))
+            .withMessage("the maximal number of cached characters must be positive, but it's 0");
+    }
+
     private static String fileContent(TestInfo testInfo) {
         return String.format("""
             ... this file is saved during JUnit-test: ...
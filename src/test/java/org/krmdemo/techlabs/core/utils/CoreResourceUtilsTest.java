@@ -33,6 +33,25 @@ public class CoreResourceUtilsTest {
             }""");
     }
 
+    @Test
+    void testResourceCache() {
+        TextContentCache cache = TextContentCache.of(1_000_000);
+        String jsonText = cache.resourceAsText("vars/var-aaa.json");
+        assertThat(jsonText).isEqualTo(CoreResourceUtils.resourceAsText("vars/var-aaa.json"));
+        assertThat(cache.resourceAsText("vars/var-aaa.json")).isSameAs(jsonText);
+
+        // the resource in jar-file is validated by the CRC of its entry
+        String noticeText = cache.resourceAsText("META-INF/LICENSE.txt");
+        assertThat(noticeText).isEqualTo(CoreResourceUtils.resourceAsText("META-INF/LICENSE.txt"));
+        assertThat(cache.resourceAsText("META-INF/LICENSE.txt")).isSameAs(noticeText);
+        assertThat(cache.stats()).extracting(TextContentCache.Stats::hits, TextContentCache.Stats::misses)
+            .containsExactly(2L, 2L);
+
+        assertThatIllegalArgumentException().isThrownBy(
+            () -> cache.resourceAsText("some-unknown-resource")
+        ).withMessageContaining("could not locate teh resource by path 'some-unknown-resource'");
+    }
+
     @Test
     void testResourceAsTextOpt() {
         assertThatExceptionOfType(NullPointerException.class).isThrownBy(
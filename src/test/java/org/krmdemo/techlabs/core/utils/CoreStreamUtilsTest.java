@@ -8,24 +8,60 @@ import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.krmdemo.techlabs.core.dump.DumpUtils;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
+import java.util.RandomAccess;
 import java.util.SequencedMap;
 import java.util.SequencedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.batches;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.frozenSortedMap;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.frozenSortedSet;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.intList;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.intsList;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.intsListRange;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.keyValue;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.linkedMap;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.linkedSet;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.listTwiceOf;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.longList;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.mergeSorted;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.nameValue;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.pairwise;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.replayable;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.reversed;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.reversedArr;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.reversedIntList;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.reversedLinkedList;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.reversedList;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.reversedStream;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.sortedMap;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.sortedSet;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.streamOf;
+import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.windows;
 
 /**
  * A unit-test to verify the utility-class {@link CoreStreamUtils}
@@ -166,6 +202,454 @@ public class CoreStreamUtilsTest {
         ).withMessage("attempt to overwrite the value 'two' with the value 'couple', which is NOT allowed");
     }
 
+    @Test @Order(6)
+    @DisplayName("Test of reversedList(...) and reversedLinkedList(...)")
+    void testReversedList() {
+        assertThat(reversedList()).isEmpty();
+        assertThat(reversedList(1, 2, 3, 4, 5)).containsExactly(5, 4, 3, 2, 1);
+        assertThat(reversedList(new LinkedList<>(List.of("a", "b", "c")))).containsExactly("c", "b", "a");
+        assertThat(reversedList(Stream.of("a", "b", "c"))).containsExactly("c", "b", "a");
+        assertThat(reversedLinkedList(IntStream.range(0, 5))).containsExactly(4, 3, 2, 1, 0);
+
+        final int SIZE = 100_000;
+        List<Integer> expectedList = intsList(IntStream.range(0, SIZE).map(i -> SIZE - 1 - i));
+        assertThat(reversedList(IntStream.range(0, SIZE))).isEqualTo(expectedList);
+        assertThat(reversedList(IntStream.range(0, SIZE).parallel())).isEqualTo(expectedList);
+        assertThat(reversedLinkedList(IntStream.range(0, SIZE).parallel())).isEqualTo(expectedList);
+        assertThat(IntStream.range(0, SIZE).boxed().parallel().collect(CoreCollectors.toDequeReversed()))
+            .containsExactlyElementsOf(expectedList);
+    }
+
+    @Test @Order(7)
+    @DisplayName("Test of mergeSorted(...)")
+    void testMergeSorted() {
+        assertThat(mergeSorted(Stream.of(1, 4, 7), Stream.of(2, 5, 8), Stream.of(3, 6, 9)))
+            .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(mergeSorted(Stream.of("a", "c"), Stream.empty(), Stream.of("b", "c", "d")))
+            .containsExactly("a", "b", "c", "c", "d");
+        assertThat(mergeSorted(Comparator.reverseOrder(), Stream.of(9, 5, 1), Stream.of(8, 2)))
+            .containsExactly(9, 8, 5, 2, 1);
+        assertThat(CoreStreamUtils.<Integer>mergeSorted()).isEmpty();
+
+        RandomHelper rnd = new RandomHelper(123);
+        int[][] partitions = new int[5][];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = rnd.randomSortedIntArr(10_000, 0, 50_000);
+        }
+        @SuppressWarnings("unchecked")
+        Stream<Integer>[] sortedStreams = Arrays.stream(partitions)
+            .map(arr -> Arrays.stream(arr).boxed()).toArray(Stream[]::new);
+        assertThat(mergeSorted(sortedStreams))
+            .isEqualTo(Arrays.stream(partitions).flatMapToInt(Arrays::stream).sorted().boxed().toList());
+
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        try (Stream<Integer> merged = mergeSorted(
+                Stream.iterate(0, i -> i + 2).peek(i -> consumed.incrementAndGet()).onClose(closed::incrementAndGet),
+                Stream.iterate(1, i -> i + 2).peek(i -> consumed.incrementAndGet()).onClose(closed::incrementAndGet))) {
+            assertThat(consumed).hasValue(0);  // <-- nothing is consumed until the terminal operation
+            assertThat(merged.limit(5)).containsExactly(0, 1, 2, 3, 4);
+            assertThat(consumed.get()).isLessThanOrEqualTo(7);
+        }
+        assertThat(closed).hasValue(2);
+    }
+
+    @Test @Order(8)
+    @DisplayName("Test of mergeSorted(MergeFunction, ...)")
+    void testMergeSortedEntries() {
+        List<Map.Entry<Integer, String>> merged_OVERWRITE = mergeSorted(MergeFunction.OVERWRITE,
+            Stream.of(keyValue(1, "one"), keyValue(2, "two"), keyValue(4, "four")),
+            Stream.of(keyValue(2, "couple"), keyValue(3, "three"), keyValue(4, null)),
+            Stream.of(keyValue(2, "pair"), null, keyValue(5, "five"))
+        ).toList();
+        assertThat(merged_OVERWRITE).containsExactly(
+            keyValue(1, "one"), keyValue(2, "pair"), keyValue(3, "three"), keyValue(4, "four"), keyValue(5, "five"));
+
+        Stream<Map.Entry<Integer, String>> merged_IGNORE = mergeSorted(MergeFunction.IGNORE,
+            Stream.of(keyValue(1, "one"), keyValue(2, "two")),
+            Stream.of(keyValue(2, "couple"), keyValue(3, "three")));
+        assertThat(linkedMap(merged_IGNORE)).containsExactly(
+            Map.entry(1, "one"), Map.entry(2, "two"), Map.entry(3, "three"));
+
+        Stream<Map.Entry<String, Integer>> merged_REVERSED = mergeSorted(Comparator.reverseOrder(), MergeFunction.OVERWRITE,
+            Stream.of(nameValue("b", 2), nameValue("a", 1)),
+            Stream.of(nameValue("c", 3), nameValue("a", 10)));
+        assertThat(merged_REVERSED.map(Map.Entry::getKey)).containsExactly("c", "b", "a");
+
+        assertThatIllegalStateException().isThrownBy(() ->
+            mergeSorted(MergeFunction.THROW,
+                Stream.of(keyValue(1, "one"), keyValue(2, "two")),
+                Stream.of(keyValue(2, "couple"))
+            ).toList()
+        ).withMessage("attempt to overwrite the value 'two' with the value 'couple', which is NOT allowed");
+    }
+
+    @Test @Order(9)
+    @DisplayName("Test of frozenSortedSet(...)")
+    void testFrozenSortedSet() {
+        int[] randomArr = new RandomHelper(777).ints(1000, 0, 500).toArray();
+        NavigableSet<Integer> treeSet = new TreeSet<>(intsList(randomArr));
+        NavigableSet<Integer> frozenSet = frozenSortedSet(Arrays.stream(randomArr).boxed().parallel());
+        assertThat(frozenSet).isInstanceOf(FrozenSortedSet.class);
+        assertThat(frozenSet).containsExactlyElementsOf(treeSet).isEqualTo(treeSet);
+        assertThat(frozenSet.hashCode()).isEqualTo(treeSet.hashCode());
+        assertThat(frozenSet.first()).isEqualTo(treeSet.first());
+        assertThat(frozenSet.last()).isEqualTo(treeSet.last());
+        for (int value = -2; value <= 502; value++) {
+            assertThat(frozenSet.contains(value)).isEqualTo(treeSet.contains(value));
+            assertThat(frozenSet.lower(value)).isEqualTo(treeSet.lower(value));
+            assertThat(frozenSet.floor(value)).isEqualTo(treeSet.floor(value));
+            assertThat(frozenSet.ceiling(value)).isEqualTo(treeSet.ceiling(value));
+            assertThat(frozenSet.higher(value)).isEqualTo(treeSet.higher(value));
+        }
+        assertThat(frozenSet.subSet(100, 200)).containsExactlyElementsOf(treeSet.subSet(100, 200));
+        assertThat(frozenSet.subSet(100, false, 200, true)).containsExactlyElementsOf(treeSet.subSet(100, false, 200, true));
+        assertThat(frozenSet.headSet(50, true)).containsExactlyElementsOf(treeSet.headSet(50, true));
+        assertThat(frozenSet.tailSet(450, false)).containsExactlyElementsOf(treeSet.tailSet(450, false));
+        assertThat(frozenSet.subSet(100, true, 200, false).headSet(150, false).lower(120)).isEqualTo(treeSet.lower(120));
+        assertThat(frozenSet.subSet(100, true, 200, false).ceiling(300)).isNull();
+        assertThat(frozenSet.descendingSet()).containsExactlyElementsOf(treeSet.descendingSet());
+        assertThat(frozenSet.descendingSet().floor(250)).isEqualTo(treeSet.descendingSet().floor(250));
+        assertThat(frozenSet.stream().toList()).containsExactlyElementsOf(treeSet);
+
+        NavigableSet<String> frozenReversed = Stream.of("b", "c", "a", "b")
+            .collect(CoreCollectors.toFrozenSortedSet(Comparator.<String>reverseOrder()));
+        assertThat(frozenReversed).containsExactly("c", "b", "a");
+        assertThat(frozenReversed.higher("b")).isEqualTo("a");
+        assertThat(frozenReversed.descendingSet()).containsExactly("a", "b", "c");
+
+        NavigableSet<Integer> emptySet = frozenSortedSet(Stream.<Integer>empty());
+        assertThat(emptySet).isEmpty();
+        assertThrows(java.util.NoSuchElementException.class, emptySet::first);
+        assertThrows(UnsupportedOperationException.class, () -> frozenSet.add(1000));
+        assertThrows(UnsupportedOperationException.class, () -> frozenSet.remove(treeSet.first()));
+        assertThrows(UnsupportedOperationException.class, frozenSet::pollFirst);
+        assertThrows(IllegalArgumentException.class, () -> frozenSet.subSet(200, 100));
+    }
+
+    @Test @Order(10)
+    @DisplayName("Test of frozenSortedMap(...)")
+    void testFrozenSortedMap() {
+        List<Map.Entry<Integer, String>> numberWords = List.of(
+            keyValue(3, "three"), keyValue(1, "one"), keyValue(2, "two"),
+            keyValue(2, "couple"), keyValue(5, "five"), keyValue(4, null)
+        );
+        NavigableMap<Integer, String> frozenMap = frozenSortedMap(numberWords.stream());
+        assertThat(frozenMap).isInstanceOf(FrozenSortedMap.class);
+        assertThat(frozenMap).isEqualTo(sortedMap(numberWords.stream()));
+        assertThat(frozenMap.sequencedKeySet()).containsExactly(1, 2, 3, 5);
+        assertThat(frozenMap.get(2)).isEqualTo("couple");
+        assertThat(frozenMap.get(4)).isNull();
+        assertThat(frozenSortedMap(MergeFunction.IGNORE, numberWords.stream()).get(2)).isEqualTo("two");
+        assertThatIllegalStateException().isThrownBy(() ->
+            frozenSortedMap(MergeFunction.THROW, numberWords.stream())
+        ).withMessage("attempt to overwrite the value 'two' with the value 'couple', which is NOT allowed");
+
+        NavigableMap<Integer, String> treeMap = new TreeMap<>();
+        new RandomHelper(777).ints(1000, 0, 500).forEach(value -> treeMap.put(value, "v-" + value));
+        NavigableMap<Integer, String> frozenCopy = frozenSortedMap(treeMap);
+        assertThat(frozenCopy).isEqualTo(treeMap);
+        assertThat(frozenCopy.hashCode()).isEqualTo(treeMap.hashCode());
+        assertThat(frozenCopy.toString()).isEqualTo(treeMap.toString());
+        for (int key = -2; key <= 502; key++) {
+            assertThat(frozenCopy.get(key)).isEqualTo(treeMap.get(key));
+            assertThat(frozenCopy.lowerEntry(key)).isEqualTo(treeMap.lowerEntry(key));
+            assertThat(frozenCopy.floorEntry(key)).isEqualTo(treeMap.floorEntry(key));
+            assertThat(frozenCopy.ceilingKey(key)).isEqualTo(treeMap.ceilingKey(key));
+            assertThat(frozenCopy.higherKey(key)).isEqualTo(treeMap.higherKey(key));
+        }
+        assertThat(frozenCopy.firstEntry()).isEqualTo(treeMap.firstEntry());
+        assertThat(frozenCopy.lastEntry()).isEqualTo(treeMap.lastEntry());
+        assertThat(frozenCopy.subMap(100, 200)).isEqualTo(treeMap.subMap(100, 200));
+        assertThat(frozenCopy.headMap(50, true)).isEqualTo(treeMap.headMap(50, true));
+        assertThat(frozenCopy.tailMap(450, false)).isEqualTo(treeMap.tailMap(450, false));
+        assertThat(frozenCopy.tailMap(450, false).values()).containsExactlyElementsOf(treeMap.tailMap(450, false).values());
+        assertThat(frozenCopy.subMap(100, 200).firstEntry()).isEqualTo(treeMap.subMap(100, 200).firstEntry());
+        assertThat(frozenCopy.descendingMap().entrySet()).containsExactlyElementsOf(treeMap.descendingMap().entrySet());
+        assertThat(frozenCopy.descendingKeySet()).containsExactlyElementsOf(treeMap.descendingKeySet());
+
+        assertThat(frozenSortedMap(Stream.<Map.Entry<String, Integer>>empty()).firstEntry()).isNull();
+        assertThrows(UnsupportedOperationException.class, () -> frozenCopy.put(1000, "v-1000"));
+        assertThrows(UnsupportedOperationException.class, () -> frozenCopy.remove(treeMap.firstKey()));
+        assertThrows(UnsupportedOperationException.class, frozenCopy::pollLastEntry);
+        assertThrows(UnsupportedOperationException.class, frozenCopy::clear);
+        assertThrows(UnsupportedOperationException.class, () -> frozenCopy.entrySet().iterator().remove());
+    }
+
+    @Test @Order(11)
+    @DisplayName("Test of MergeFunction reducers")
+    void testMergeFunctionReducers() {
+        List<Map.Entry<String, Integer>> wordLengths = List.of(
+            nameValue("one", 1), nameValue("two", 2), nameValue("one", 3), nameValue("two", 4), nameValue("one", 5));
+        assertThat(sortedMap(MergeFunction.SUM, wordLengths.stream())).containsExactly(
+            Map.entry("one", 9), Map.entry("two", 6));
+        assertThat(sortedMap(MergeFunction.MIN, wordLengths.stream())).containsExactly(
+            Map.entry("one", 1), Map.entry("two", 2));
+        assertThat(linkedMap(MergeFunction.MAX, wordLengths.stream())).containsExactly(
+            Map.entry("one", 5), Map.entry("two", 4));
+        assertThat(wordLengths.stream().collect(CoreCollectors.toLinkedMap(
+            Map.Entry::getKey, e -> List.of(e.getValue()), MergeFunction.COLLECT_TO_LIST))
+        ).containsExactly(Map.entry("one", List.of(1, 3, 5)), Map.entry("two", List.of(2, 4)));
+        assertThat(Stream.of("one", "two", "one").collect(CoreCollectors.toLinkedMap(
+            Function.identity(), List::of, MergeFunction.COLLECT_TO_LIST)).get("two")
+        ).isInstanceOf(List.of("two").getClass());  // <-- the value of the key that occurs only once is not merged
+        assertThat(wordLengths.stream().collect(CoreCollectors.toSortedMap(
+            Map.Entry::getKey, Map.Entry::getValue, (Integer left, Integer right) -> left * right))
+        ).containsExactly(Map.entry("one", 15), Map.entry("two", 8));
+
+        assertThat(MergeFunction.SUM.<Long>op().apply(1L, 2L)).isEqualTo(3L);
+        assertThat(MergeFunction.SUM.<BigDecimal>op().apply(BigDecimal.ONE, BigDecimal.TEN)).isEqualTo(BigDecimal.valueOf(11));
+        assertThat(MergeFunction.MIN.<String>op().apply("b", "a")).isEqualTo("a");
+        assertThrows(IllegalArgumentException.class, () -> MergeFunction.SUM.<Object>op().apply(1, 2L));
+        assertThrows(IllegalArgumentException.class, () -> MergeFunction.MAX.<Object>op().apply(new Object(), 1));
+        assertThrows(IllegalArgumentException.class, () -> MergeFunction.COLLECT_TO_LIST.<Object>op().apply(1, 2));
+    }
+
+    @Test @Order(12)
+    @DisplayName("Test of concurrent map collectors")
+    void testConcurrentMapCollectors() {
+        final int SIZE = 200_000;
+        int[] randomArr = new RandomHelper(555).ints(SIZE, 0, 1000).toArray();
+        NavigableMap<Integer, Integer> expectedSums = Arrays.stream(randomArr).boxed()
+            .collect(CoreCollectors.toSortedMap(Function.identity(), v -> 1, MergeFunction.SUM));
+
+        ConcurrentNavigableMap<Integer, Integer> concurrentSums = Arrays.stream(randomArr).boxed().parallel()
+            .collect(CoreCollectors.toConcurrentSortedMap(Function.identity(), v -> 1, MergeFunction.SUM));
+        assertThat(concurrentSums).containsExactlyEntriesOf(expectedSums);
+        assertThat(Arrays.stream(randomArr).boxed().parallel()
+            .collect(CoreCollectors.toConcurrentSortedMap(Function.identity(), v -> List.of(v), MergeFunction.COLLECT_TO_LIST))
+            .values().stream().mapToInt(List::size).sum()
+        ).isEqualTo(SIZE);
+
+        SequencedMap<Integer, Integer> linkedSums = Arrays.stream(randomArr).boxed()
+            .collect(CoreCollectors.toConcurrentLinkedMap(Function.identity(), v -> 1, Integer::sum));
+        assertThat(linkedSums.sequencedKeySet()).containsExactlyElementsOf(
+            linkedSet(Arrays.stream(randomArr).boxed()));  // <-- arrival order is encounter order for sequential stream
+        assertThat(linkedSums).isEqualTo(expectedSums);
+        assertThat(Arrays.stream(randomArr).boxed().parallel()
+            .collect(CoreCollectors.toConcurrentLinkedMap(Function.identity(), v -> 1, MergeFunction.SUM))
+        ).isEqualTo(expectedSums);
+
+        assertThat(CoreCollectors.toConcurrentSortedMap().characteristics())
+            .contains(java.util.stream.Collector.Characteristics.CONCURRENT);
+        assertThat(Stream.of(keyValue("b", 1), keyValue("a", 2), keyValue("b", 3))
+            .collect(CoreCollectors.toConcurrentLinkedMap())
+        ).containsExactly(Map.entry("b", 3), Map.entry("a", 2));
+    }
+
+    @Test @Order(13)
+    @DisplayName("Test of IntList and LongList")
+    void testPrimitiveLists() {
+        IntList ints = intList(IntStream.range(0, 25));
+        assertThat(ints.size()).isEqualTo(25);
+        assertThat(ints.get(24)).isEqualTo(24);
+        ints.add(100);
+        ints.addAll(101, 102);
+        assertThat(ints.stream().boxed().toList()).isEqualTo(intsList(IntStream.concat(
+            IntStream.range(0, 25), IntStream.of(100, 101, 102))));
+        assertThat(ints.set(0, -1)).isZero();
+        assertThat(ints.indexOf(100)).isEqualTo(25);
+        assertThat(ints.contains(-1)).isTrue();
+        assertThat(ints.hashCode()).isEqualTo(intsList(ints.toArray()).hashCode());
+        assertThat(ints).isEqualTo(IntList.of(ints.toArray()));
+
+        IntList reversedView = ints.reversed();
+        assertThat(reversedView.toArray()).containsExactly(reversedArr(ints.toArray()));
+        assertThat(reversedView.get(0)).isEqualTo(102);
+        assertThat(reversedView.reversed()).isEqualTo(ints);
+        assertThat(reversedView.slice(0, 3).toArray()).containsExactly(102, 101, 100);
+        assertThat(reversedView.slice(25, 28).reversed().toArray()).containsExactly(-1, 1, 2);
+        assertThat(ints.slice(1, 4).toString()).isEqualTo("[1, 2, 3]");
+        assertThat(reversedView.parallelStream().sum()).isEqualTo(ints.stream().sum());
+        assertThat(reversed(ints).toArray()).containsExactly(reversedView.toArray());
+        ints.set(1, 1000);
+        assertThat(reversedView.get(reversedView.size() - 2)).isEqualTo(1000);  // <-- the view shares the array
+        assertThrows(UnsupportedOperationException.class, () -> reversedView.add(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.slice(5, 100));
+        assertThrows(IndexOutOfBoundsException.class, () -> reversedView.get(-1));
+        int sum = 0;
+        for (int value : ints.slice(0, 3)) {
+            sum += value;
+        }
+        assertThat(sum).isEqualTo(-1 + 1000 + 2);
+
+        final int SIZE = 100_000;
+        assertThat(reversedIntList(IntStream.range(0, SIZE).parallel()).toArray())
+            .containsExactly(reversedArr(IntStream.range(0, SIZE).toArray()));
+        assertThat(IntList.of(IntStream.range(0, SIZE).parallel())).isEqualTo(intList(IntStream.range(0, SIZE)));
+        assertThat(reversedIntList(1, 2, 3)).isEqualTo(IntList.of(3, 2, 1));
+
+        LongList longs = longList(LongStream.rangeClosed(1, 5).map(i -> i * 1_000_000_000_000L));
+        longs.add(7L);
+        assertThat(longs.reversed().toArray()).containsExactly(
+            7L, 5_000_000_000_000L, 4_000_000_000_000L, 3_000_000_000_000L, 2_000_000_000_000L, 1_000_000_000_000L);
+        assertThat(longs.stream().sum()).isEqualTo(15_000_000_000_007L);
+        assertThat(longs.reversed().slice(0, 2).stream().boxed().toList()).containsExactly(7L, 5_000_000_000_000L);
+        assertThat(longs.hashCode()).isEqualTo(LongStream.of(longs.toArray()).boxed().toList().hashCode());
+        assertThat(longList(1L, 2L)).isEqualTo(LongList.of(LongStream.of(1L, 2L)));
+    }
+
+    @Test @Order(14)
+    @DisplayName("Test of reversed(List<Integer>) over LinkedList")
+    void testReversedLinkedList() {
+        final int SIZE = 100_000;
+        LinkedList<Integer> linkedList = new LinkedList<>(intsList(IntStream.range(0, SIZE)));
+        // the positional access to LinkedList would take minutes for quadratic implementation
+        assertThat(reversed(linkedList).toArray()).containsExactly(reversedArr(IntStream.range(0, SIZE)));
+        assertThat(reversed(intsList(1, 2, 3)).toArray()).containsExactly(3, 2, 1);
+    }
+
+    @Test @Order(15)
+    @DisplayName("Test of sized and evenly split spliterators")
+    void testSplittableSpliterators() {
+        final int SIZE = 100_000;
+        int[] valuesArr = IntStream.range(0, SIZE).toArray();
+        Spliterator.OfInt reversedSpliterator = reversed(valuesArr).spliterator();
+        assertThat(reversedSpliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        Spliterator.OfInt prefix = reversedSpliterator.trySplit();
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.estimateSize()).isEqualTo(SIZE / 2);
+        assertThat(reversedSpliterator.estimateSize()).isEqualTo(SIZE / 2);
+        prefix.tryAdvance((int value) -> assertThat(value).isEqualTo(SIZE - 1));
+        reversedSpliterator.tryAdvance((int value) -> assertThat(value).isEqualTo(SIZE / 2 - 1));
+        assertThat(reversed(valuesArr).parallel().toArray()).containsExactly(reversedArr(valuesArr));
+        assertThat(reversed(intsList(valuesArr)).parallel().toArray()).containsExactly(reversedArr(valuesArr));
+        assertThat(intList(valuesArr).reversed().parallelStream().toArray()).containsExactly(reversedArr(valuesArr));
+        assertThat(longList(LongStream.range(0, SIZE).toArray()).reversed().parallelStream().sum())
+            .isEqualTo((long) SIZE * (SIZE - 1) / 2);
+
+        List<Integer> arrayList = intsList(valuesArr);
+        assertThat(reversedStream(arrayList, true).toList()).isEqualTo(reversedList(arrayList));
+        assertThat(reversedStream(new LinkedList<>(arrayList), true).toList()).isEqualTo(reversedList(arrayList));
+        assertThat(reversedStream(List.of("a", "b", "c")).toList()).containsExactly("c", "b", "a");
+        assertThat(reversedStream(List.of()).spliterator().trySplit()).isNull();
+
+        // the custom random-access list, whose spliterator is based on iterator and is split by batches
+        class CustomList extends AbstractList<Integer> implements RandomAccess {
+            @Override public Integer get(int index) { return arrayList.get(index); }
+            @Override public int size() { return arrayList.size(); }
+            @Override public Spliterator<Integer> spliterator() { return Spliterators.spliterator(this, 0); }
+        }
+        CustomList customList = new CustomList();
+        assertThat(customList.spliterator().trySplit().estimateSize()).isEqualTo(1024);  // <-- the first batch of iterator
+        Stream<Integer> customStream = streamOf(customList, true);
+        assertThat(customStream.isParallel()).isTrue();
+        assertThat(customStream.spliterator().trySplit().estimateSize()).isEqualTo(SIZE / 2);
+        assertThat(streamOf(customList, true).toList()).isEqualTo(arrayList);
+        assertThat(streamOf(arrayList).isParallel()).isFalse();
+        assertThat(streamOf(new LinkedList<>(arrayList), true).mapToLong(Integer::longValue).sum())
+            .isEqualTo((long) SIZE * (SIZE - 1) / 2);
+    }
+
+    @Test @Order(16)
+    @DisplayName("Test of replayable streams")
+    void testReplayable() {
+        final int SIZE = 10_000;
+        AtomicInteger pulledCount = new AtomicInteger();
+        AtomicInteger closedCount = new AtomicInteger();
+        ReplayableIterable<Integer> replayable = replayable(IntStream.range(0, SIZE).boxed()
+            .peek(value -> pulledCount.incrementAndGet())
+            .onClose(closedCount::incrementAndGet));
+        assertThat(replayable.stream().limit(10).toList()).isEqualTo(intsListRange(0, 10));
+        assertThat(replayable.bufferedSize()).isEqualTo(10);
+        assertThat(replayable.isFullyBuffered()).isFalse();
+        assertThat(replayable.stream().mapToInt(Integer::intValue).sum()).isEqualTo(SIZE * (SIZE - 1) / 2);
+        assertThat(replayable.isFullyBuffered()).isTrue();
+        assertThat(replayable.parallelStream().toList()).isEqualTo(intsListRange(0, SIZE));
+        assertThat(replayable.parallelStream().spliterator().trySplit().estimateSize()).isEqualTo(4 * 1024);  // <-- split at the boundary of chunks
+        int sum = 0;
+        for (int value : replayable) {
+            sum += value;
+        }
+        assertThat(sum).isEqualTo(SIZE * (SIZE - 1) / 2);
+        assertThat(replayable.size()).isEqualTo(SIZE);
+        assertThat(pulledCount.get()).isEqualTo(SIZE);
+        assertThat(closedCount.get()).isEqualTo(1);
+        assertThat(replayable).hasToString("ReplayableIterable(buffered=10000; spilledChunks=0; exhausted)");
+
+        // the lazy sequential replay of an infinite source
+        ReplayableIterable<Integer> infinite = replayable(Stream.iterate(0, value -> value + 1));
+        assertThat(infinite.stream().limit(3).toList()).containsExactly(0, 1, 2);
+        assertThat(infinite.stream().skip(3).limit(2).toList()).containsExactly(3, 4);
+        assertThat(infinite.bufferedSize()).isEqualTo(5);
+
+        ReplayableIterable<Integer> spilled = replayable(IntStream.range(0, SIZE).boxed(), 2000);
+        assertThat(spilled.parallelStream().toList()).isEqualTo(intsListRange(0, SIZE));
+        assertThat(spilled.spilledChunks()).isEqualTo(SIZE / 1024 - 2);
+        assertThat(spilled.stream().toList()).isEqualTo(intsListRange(0, SIZE));
+        spilled.close();
+        assertThat(spilled.stream().limit(2048).count()).isEqualTo(2048);  // <-- only the memory chunks
+        assertThatIllegalStateException().isThrownBy(() -> spilled.stream().toList())
+            .withMessage("the spilled chunks cannot be replayed after closing");
+        try (ReplayableIterable<Object> notSerializable = replayable(Stream.generate(Object::new).limit(SIZE), 0)) {
+            assertThatIllegalStateException().isThrownBy(notSerializable::size)
+                .withMessageContaining("the elements must be serializable");
+        }
+        assertThrows(IllegalArgumentException.class, () -> replayable(Stream.of(1), -1));
+
+        Iterable<Integer> oneShot = Stream.of(1, 2, 3)::iterator;
+        assertThat(listTwiceOf(oneShot)).containsExactly(1, 2, 3, 1, 2, 3);
+        assertThat(listTwiceOf(replayable(List.of("a", "b")))).containsExactly("a", "b", "a", "b");
+    }
+
+    @Test @Order(17)
+    @DisplayName("Test of batches, sliding windows and pairwise")
+    void testBatchesWindowsPairwise() {
+        assertThat(batches(IntStream.range(0, 7).boxed(), 3).toList())
+            .containsExactly(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6));
+        assertThat(batches(Stream.<Integer>empty(), 3).toList()).isEmpty();
+        assertThat(batches(IntStream.range(0, 100_000).boxed(), 500).mapToInt(List::size).summaryStatistics())
+            .returns(200L, IntSummaryStatistics::getCount)
+            .returns(500, IntSummaryStatistics::getMin);
+        assertThat(batches(Stream.of("aaa", "bb", "c", "dddddd", "ee", "f"), 4, String::length).toList())
+            .containsExactly(List.of("aaa"), List.of("bb", "c"), List.of("dddddd"), List.of("ee", "f"));
+        AtomicInteger closedCount = new AtomicInteger();
+        try (Stream<List<Integer>> batchesStream = batches(Stream.of(1, 2, 3).onClose(closedCount::incrementAndGet), 2)) {
+            assertThat(batchesStream.toList()).containsExactly(List.of(1, 2), List.of(3));
+        }
+        assertThat(closedCount.get()).isEqualTo(1);
+
+        // the fake clock advances by 10 nanos per each reading (at the start of batch and after each element)
+        long[] nanoTime = { 0L };
+        assertThat(CoreStreamUtils.batches(IntStream.range(0, 10).boxed(), 100, Duration.ofNanos(25),
+            () -> nanoTime[0] += 10).toList())
+            .containsExactly(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6, 7, 8), List.of(9));
+        assertThat(batches(IntStream.range(0, 10).boxed(), 4, Duration.ofHours(1)).toList())
+            .containsExactly(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9));
+
+        assertThat(windows(Stream.of(1, 2, 3, 4), 2).toList())
+            .containsExactly(List.of(1, 2), List.of(2, 3), List.of(3, 4));
+        assertThat(windows(Stream.of(1, 2, 3), 5).toList()).isEmpty();
+        assertThat(windows(IntStream.range(0, 10).boxed(), 2, 4).toList())
+            .containsExactly(List.of(0, 1), List.of(4, 5), List.of(8, 9));
+        assertThat(windows(IntStream.range(0, 7).boxed(), 3, 2).toList())
+            .containsExactly(List.of(0, 1, 2), List.of(2, 3, 4), List.of(4, 5, 6));
+        final int SIZE = 10_000;
+        List<List<Integer>> windowsList = windows(IntStream.range(0, SIZE).boxed(), 100).toList();
+        assertThat(windowsList).hasSize(SIZE - 99);
+        for (int i = 0; i < windowsList.size(); i++) {
+            // all windows remain valid, even after the buffer was replaced many times
+            assertThat(windowsList.get(i)).isEqualTo(intsListRange(i, i + 100));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> windowsList.getFirst().set(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> windows(Stream.of(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> batches(Stream.of(1), 0));
+        assertThatIllegalArgumentException().isThrownBy(() -> batches(Stream.of(1), 2, (Duration) null))
+            .withMessage("the max latency of batch must not be << NULL >>");
+        assertThatIllegalArgumentException().isThrownBy(() -> batches(Stream.of(1), 2, Duration.ZERO))
+            .withMessage("the max latency of batch must be positive, but it's PT0S");
+        assertThrows(IllegalArgumentException.class, () -> batches(Stream.of(1), 2, Duration.ofMillis(-1)));
+        assertThat(batches(Stream.of(1, 2, 3), 2, Duration.ofSeconds(Long.MAX_VALUE)).toList())
+            .containsExactly(List.of(1, 2), List.of(3));
+        assertThrows(IllegalArgumentException.class, () -> batches(Stream.of("a"), 0L, String::length));
+
+        assertThat(pairwise(Stream.of(1, 4, 9, 16), (prev, next) -> next - prev).toList()).containsExactly(3, 5, 7);
+        assertThat(pairwise(Stream.of("a", "b", "c")).toList())
+            .containsExactly(keyValue("a", "b"), keyValue("b", "c"));
+        assertThat(pairwise(Stream.of("a")).toList()).isEmpty();
+        assertThat(pairwise(Stream.empty()).toList()).isEmpty();
+    }
+
     @Test
     void testCreationIsProhibited() {
         UnsupportedOperationException uoExCSU = assertThrows(UnsupportedOperationException.class,
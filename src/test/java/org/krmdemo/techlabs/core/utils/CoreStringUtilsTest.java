@@ -77,6 +77,22 @@ public class CoreStringUtilsTest {
         assertThat(reverseJoined).isEqualTo(StringUtils.reverse(forwardJoined));
     }
 
+    @Test
+    void testJoinReversed_Large() {
+        final int SIZE = 200_000;
+        String expected = IntStream.range(0, SIZE)
+            .map(i -> SIZE - 1 - i)
+            .mapToObj(Integer::toString)
+            .collect(joining(", ", "[ ", " ]"));
+        CharSequence sequential = IntStream.range(0, SIZE).boxed()
+            .collect(joiningReversed(", ", "[ ", " ]"));
+        CharSequence parallel = IntStream.range(0, SIZE).boxed().parallel()
+            .collect(joiningReversed(", ", "[ ", " ]"));
+        assertThat(sequential.toString()).isEqualTo(expected);
+        assertThat(parallel.toString()).isEqualTo(expected);
+        assertThat(((StringBuilder) parallel).capacity()).isEqualTo(expected.length());
+    }
+
     @Test
     void testHasNoNewLine() {
         assertThat(hasNoNewLineAtTheEnd(null)).isFalse();
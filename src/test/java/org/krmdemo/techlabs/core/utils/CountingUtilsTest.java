@@ -4,19 +4,34 @@ import org.junit.jupiter.api.Test;
 import org.krmdemo.techlabs.core.dump.DumpUtils;
 import org.krmdemo.techlabs.core.dump.PrintUtils;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.SequencedMap;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assertions.withinPercentage;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.krmdemo.techlabs.core.utils.CoreStringUtils.splitWords;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.countingCharMap;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.countingConcurrentMap;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.countingIntMap;
 import static org.krmdemo.techlabs.core.utils.CountingUtils.countingLinkedMap;
 import static org.krmdemo.techlabs.core.utils.CountingUtils.countingMap;
 import static org.krmdemo.techlabs.core.utils.CountingUtils.countingMapLong;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.countingObjMap;
 import static org.krmdemo.techlabs.core.utils.CountingUtils.countingSortedMap;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.heavyHitters;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.hyperLogLog;
+import static org.krmdemo.techlabs.core.utils.CountingUtils.topCounts;
 
 /**
  * A unit-test to verify the utility-class {@link CountingUtils}
@@ -54,6 +69,151 @@ public class CountingUtilsTest {
         assertThat(firstFiveWords).containsExactly("MIT", "License", "Copyright", "c", "2025");
     }
 
+    @Test
+    void testCountingIntMap() {
+        IntCountingMap intCountingMap = countingIntMap(3, 1, 3, 2, 3, 1, -7, 0);
+        assertThat(intCountingMap.size()).isEqualTo(5);
+        assertThat(intCountingMap.total()).isEqualTo(8);
+        assertThat(intCountingMap.count(3)).isEqualTo(3);
+        assertThat(intCountingMap.count(0)).isEqualTo(1);
+        assertThat(intCountingMap.count(42)).isZero();
+        assertThat(intCountingMap.containsKey(-7)).isTrue();
+        assertThat(intCountingMap.containsKey(42)).isFalse();
+        assertThat(intCountingMap.keysArr()).containsExactly(3, 1, 2, -7, 0);
+        assertThat(intCountingMap.toLinkedMap().keySet()).containsExactly(3, 1, 2, -7, 0);
+        assertThat(intCountingMap.toSortedMap().keySet()).containsExactly(-7, 0, 1, 2, 3);
+
+        int[] randomInts = new RandomHelper(123).ints(100_000, -500, 500).toArray();
+        Map<Integer, Integer> expectedMap = countingMap(Arrays.stream(randomInts).boxed());
+        assertThat(countingIntMap(randomInts).toMap()).isEqualTo(expectedMap);
+        assertThat(countingIntMap(Arrays.stream(randomInts).parallel()).toMap()).isEqualTo(expectedMap);
+        assertThat(countingIntMap(IntStream.range(0, 100_000)).size()).isEqualTo(100_000);
+    }
+
+    @Test
+    void testCountingCharMap() {
+        CharCountingMap charCountingMap = countingCharMap("la-la-la");
+        assertThat(charCountingMap.size()).isEqualTo(3);
+        assertThat(charCountingMap.total()).isEqualTo(8);
+        assertThat(charCountingMap.count('l')).isEqualTo(3);
+        assertThat(charCountingMap.count('-')).isEqualTo(2);
+        assertThat(charCountingMap.count('z')).isZero();
+        assertThat(charCountingMap.keysArr()).containsExactly('l', 'a', '-');
+        assertThat(charCountingMap.toSortedMap().keySet()).containsExactly('-', 'a', 'l');
+        assertThat(countingCharMap(LICENSE_TEXT).toMap())
+            .isEqualTo(countingMap(LICENSE_TEXT.chars().mapToObj(ch -> (char) ch)));
+        assertThat(countingCharMap("").isEmpty()).isTrue();
+    }
+
+    @Test
+    void testCountingObjMap() {
+        ObjCountingMap<String> objCountingMap = countingObjMap(splitWords(LICENSE_TEXT));
+        assertThat(objCountingMap.size()).isEqualTo(117);
+        assertThat(objCountingMap.toMap()).isEqualTo(countingMap(splitWords(LICENSE_TEXT)));
+        assertThat(objCountingMap.toSortedMap()).isEqualTo(countingSortedMap(splitWords(LICENSE_TEXT)));
+        assertThat(objCountingMap.toLinkedMap().sequencedKeySet())
+            .containsExactlyElementsOf(countingLinkedMap(splitWords(LICENSE_TEXT)).sequencedKeySet());
+        assertThat(countingObjMap(splitWords(LICENSE_TEXT).parallel()).toMap())
+            .isEqualTo(objCountingMap.toMap());
+        assertThat(objCountingMap.count("la-la-la")).isZero();
+        assertThat(objCountingMap.total()).isEqualTo(splitWords(LICENSE_TEXT).count());
+    }
+
+    @Test
+    void testCountingConcurrentMap() {
+        assertThat(CountingUtils.toConcurrentCountingMap().characteristics())
+            .contains(Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+        ConcurrentCountingMap<String> concurrentMap = countingConcurrentMap(splitWords(LICENSE_TEXT).parallel());
+        assertThat(concurrentMap.size()).isEqualTo(117);
+        assertThat(concurrentMap.toMap()).isEqualTo(countingMapLong(splitWords(LICENSE_TEXT)));
+        assertThat(concurrentMap.toSortedMap().firstKey()).isEqualTo("2025");
+        assertThat(concurrentMap.count("la-la-la")).isZero();
+
+        int[] randomInts = new RandomHelper(321).ints(200_000, 0, 1000).toArray();
+        assertThat(countingConcurrentMap(Arrays.stream(randomInts).boxed().parallel()).toMap())
+            .isEqualTo(countingMapLong(Arrays.stream(randomInts).boxed()));
+        assertThat(countingConcurrentMap(Arrays.stream(randomInts).boxed()).total()).isEqualTo(200_000);
+    }
+
+    @Test
+    void testTopCounts() {
+        SequencedMap<String, Integer> top5 = topCounts(splitWords(LICENSE_TEXT), 5);
+        assertThat(top5).hasSize(5);
+        List<Map.Entry<String, Integer>> expectedTop5 = countingLinkedMap(splitWords(LICENSE_TEXT))
+            .entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())  // <-- stable sort
+            .limit(5)
+            .toList();
+        assertThat(top5.sequencedEntrySet()).containsExactlyElementsOf(expectedTop5);
+        assertThat(topCounts(splitWords(LICENSE_TEXT).parallel(), 5)).isEqualTo(top5);
+        assertThat(topCounts(splitWords(LICENSE_TEXT), 1000)).hasSize(117);
+        assertThat(topCounts(splitWords(LICENSE_TEXT), 0)).isEmpty();
+        assertThrows(IllegalArgumentException.class, () -> CountingUtils.toTopCounts(-1));
+    }
+
+    @Test
+    void testHeavyHitters() {
+        int[] zipfArr = IntStream.rangeClosed(1, 500)
+            .flatMap(value -> IntStream.range(0, 10_000 / value).map(i -> value))
+            .toArray();
+        new RandomHelper(321).shuffleArr(zipfArr);
+        List<Integer> zipfList = Arrays.stream(zipfArr).boxed().toList();
+        double epsilon = 0.001;
+        long maxError = (long) Math.ceil(zipfArr.length * epsilon);
+
+        SequencedMap<Integer, Long> hitters = heavyHitters(zipfList.stream(), 10, epsilon);
+        assertThat(hitters.sequencedKeySet()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        hitters.forEach((value, estimated) ->
+            assertThat(estimated).isBetween((long) (10_000 / value), 10_000 / value + maxError));
+        assertThat(heavyHitters(zipfList.parallelStream(), 10, epsilon).sequencedKeySet())
+            .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        SpaceSavingSketch<Integer> sketch = zipfList.stream().collect(CountingUtils.toSpaceSavingSketch(100));
+        assertThat(sketch.size()).isEqualTo(100);
+        assertThat(sketch.total()).isEqualTo(zipfArr.length);
+        assertThat(sketch.guaranteedCount(1)).isLessThanOrEqualTo(10_000).isGreaterThan(10_000 - sketch.maxError());
+        assertThat(sketch.count(1) - sketch.error(1)).isEqualTo(sketch.guaranteedCount(1));
+        assertThrows(IllegalArgumentException.class, () -> heavyHitters(zipfList.stream(), 10, 1.5));
+        assertThatIllegalArgumentException().isThrownBy(() -> heavyHitters(zipfList.stream(), 10, 1e-9))
+            .withMessage("the relative error must be in range [1.0E-7,1), but it's 1.0E-9");
+        // the heap of sketch grows on demand - so, the large capacity does not allocate it in advance
+        assertThat(Stream.of(1, 2, 2).parallel().collect(CountingUtils.toHeavyHitters(1, CountingUtils.MIN_RELATIVE_ERROR)))
+            .containsExactly(Map.entry(2, 2L));
+        assertThrows(IllegalArgumentException.class, () -> CountingUtils.toSpaceSavingSketch(0));
+    }
+
+    @Test
+    void testHyperLogLog() {
+        HyperLogLogSketch wordsSketch = hyperLogLog(splitWords(LICENSE_TEXT));
+        assertThat(wordsSketch.cardinality()).isCloseTo(117L, within(2L));  // <-- linear counting for small ones
+        assertThat(hyperLogLog(splitWords(LICENSE_TEXT).parallel())).isEqualTo(wordsSketch);
+
+        HyperLogLogSketch intsSketch = hyperLogLog(IntStream.range(0, 1_000_000), 14);
+        assertThat(intsSketch.standardError()).isCloseTo(0.0081, within(0.0001));
+        assertThat(intsSketch.cardinality()).isCloseTo(1_000_000L, withinPercentage(3 * 0.81));
+        assertThat(hyperLogLog(IntStream.range(0, 1_000_000).parallel(), 14)).isEqualTo(intsSketch);
+
+        HyperLogLogSketch leftSketch = hyperLogLog(LongStream.range(0, 600_000), 12);
+        HyperLogLogSketch rightSketch = hyperLogLog(LongStream.range(400_000, 1_000_000), 12);
+        HyperLogLogSketch unionSketch = leftSketch.union(rightSketch);
+        assertThat(unionSketch.cardinality()).isCloseTo(1_000_000L, withinPercentage(3 * 1.625));
+        assertThat(unionSketch).isEqualTo(hyperLogLog(LongStream.range(0, 1_000_000), 12));
+        assertThat(leftSketch.cardinality()).isCloseTo(600_000L, withinPercentage(3 * 1.625));
+
+        HyperLogLogSketch restoredSketch = HyperLogLogSketch.fromBytes(unionSketch.toBytes());
+        assertThat(restoredSketch).isEqualTo(unionSketch);
+        assertThat(restoredSketch.precision()).isEqualTo(12);
+        assertThat(restoredSketch.cardinality()).isEqualTo(unionSketch.cardinality());
+        assertThat(hyperLogLog(IntStream.empty(), 4).isEmpty()).isTrue();
+        assertThat(hyperLogLog(IntStream.empty(), 4).cardinality()).isZero();
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLogSketch.fromBytes(new byte[] { 1, 12, 0 }));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLogSketch.fromBytes(new byte[] { 2, 4 }));
+        assertThrows(IllegalArgumentException.class, () -> leftSketch.union(intsSketch));
+        assertThrows(IllegalArgumentException.class, () -> CountingUtils.toHyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> hyperLogLog(IntStream.empty(), 19));
+    }
+
     @Test
     void testCreationIsProhibited() {
         UnsupportedOperationException uoEx = assertThrows(UnsupportedOperationException.class,
@@ -1,13 +1,27 @@
 package org.krmdemo.techlabs.core.utils;
 
 import org.junit.jupiter.api.Test;
+import org.krmdemo.techlabs.core.utils.RandomHelper.Alphabet;
 
+import java.io.ByteArrayOutputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.intsList;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.linkedSet;
 import static org.krmdemo.techlabs.core.utils.CoreStreamUtils.reversed;
@@ -58,16 +72,314 @@ public class RandomHelperTest {
         assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomUpperCase(-125));
     }
 
+    @Test
+    void testBulkRandomStrings() {
+        String lowerCase = new RandomHelper(123).randomString(100_000, Alphabet.LOWER_CASE);
+        assertThat(lowerCase).hasSize(100_000).isLowerCase().doesNotContainAnyWhitespaces();
+        assertThat(CountingUtils.countingMap(lowerCase.chars().boxed()).size()).isEqualTo(26);
+        assertThat(new String(new RandomHelper(123).randomChars(100_000, Alphabet.LOWER_CASE))).isEqualTo(lowerCase);
+        assertThat(new String(new RandomHelper(123).randomAsciiBytes(100_000, Alphabet.LOWER_CASE), StandardCharsets.US_ASCII))
+            .isEqualTo(lowerCase);
+        assertThat(rnd.randomString(1000, Alphabet.HEX)).matches("[0-9a-f]{1000}");
+        assertThat(rnd.randomString(1000, Alphabet.ALPHANUMERIC)).matches("[0-9a-zA-Z]{1000}");
+        assertThat(rnd.randomString(7, Alphabet.of("x"))).isEqualTo("xxxxxxx");
+        assertThat(rnd.randomString(3, 5, Alphabet.DIGITS)).matches("[0-9]{3,5}");
+        assertThat(rnd.randomString(0, Alphabet.UPPER_CASE)).isEmpty();
+
+        char[] buffer = new char[10];
+        rnd.fillRandomChars(buffer, 2, 8, Alphabet.UPPER_CASE);
+        assertThat(new String(buffer, 2, 6)).matches("[A-Z]{6}");
+        assertThat(buffer[0]).isEqualTo('\0');
+        assertThat(buffer[9]).isEqualTo('\0');
+        byte[] bytesBuffer = new byte[10];
+        rnd.fillRandomAsciiBytes(bytesBuffer, 0, 10, Alphabet.DIGITS);
+        assertThat(new String(bytesBuffer, StandardCharsets.US_ASCII)).matches("[0-9]{10}");
+
+        Alphabet cyrillic = Alphabet.of("абвгд€z");
+        assertThat(cyrillic.isAscii()).isFalse();
+        String cyrillicStr = new RandomHelper(5).randomString(1000, cyrillic);
+        assertThat(cyrillicStr).matches("[абвгд€z]{1000}");
+        assertThat(new String(new RandomHelper(5).randomUtf8Bytes(1000, cyrillic), StandardCharsets.UTF_8))
+            .isEqualTo(cyrillicStr);
+        assertThat(rnd.randomUtf8Bytes(10, Alphabet.DIGITS)).hasSize(10);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomAsciiBytes(10, cyrillic))
+            .withMessage("the alphabet 'абвгд€z' contains non-ASCII symbols");
+        assertThatIllegalArgumentException().isThrownBy(() -> Alphabet.of(""));
+        assertThatIllegalArgumentException().isThrownBy(() -> Alphabet.of(null))
+            .withMessage("the alphabet must not be empty, but it's << NULL >>");
+        assertThatIllegalArgumentException().isThrownBy(() -> Alphabet.of("a\uD83D"));
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomChars(-1, Alphabet.DIGITS));
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomString(5, 3, Alphabet.DIGITS));
+        assertThrows(IndexOutOfBoundsException.class, () -> rnd.fillRandomChars(buffer, 5, 11, Alphabet.DIGITS));
+    }
+
+    @Test
+    void testSplittableRandomHelper() {
+        SplittableRandomHelper splittable = new SplittableRandomHelper(123);
+        assertThat(splittable.randomLowerCase(10)).isEqualTo(new SplittableRandomHelper(123).randomLowerCase(10));
+        assertThat(splittable.randomLowerCase(10)).isLowerCase().hasSize(10);
+        assertThat(splittable.split().randomRangeArr(0, 100)).containsExactlyInAnyOrder(IntStream.range(0, 100).toArray());
+        assertThat(splittable.ints(1000, 5, 10).parallel().allMatch(value -> value >= 5 && value < 10)).isTrue();
+        assertThat(new SplittableRandomHelper("SplittableRandom", 1).nextLong())
+            .isEqualTo(new SplittableRandomHelper("SplittableRandom", 1).nextLong());
+        assertThrows(UnsupportedOperationException.class, () -> splittable.setSeed(2));
+        assertThrows(NotSerializableException.class,
+            () -> new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(splittable));
+
+        // the blocks are filled by the generators that are split in advance - so, the result does not depend on parallelism
+        final int SIZE = 3 * SplittableRandomHelper.BLOCK_SIZE + 123;
+        int[] sequentialArr = new SplittableRandomHelper(5).randomIntArr(SIZE, -100, 100, false);
+        int[] parallelArr = new SplittableRandomHelper(5).randomIntArr(SIZE, -100, 100, true);
+        assertThat(parallelArr).hasSize(SIZE).isEqualTo(sequentialArr);
+        assertThat(Arrays.stream(parallelArr).min().orElseThrow()).isEqualTo(-100);
+        assertThat(Arrays.stream(parallelArr).max().orElseThrow()).isEqualTo(99);
+
+        int[] distinctArr = new SplittableRandomHelper(7).randomDistinctIntArr(SIZE, 0, 1_000_000, true);
+        assertThat(distinctArr).hasSize(SIZE).doesNotHaveDuplicates()
+            .isEqualTo(new SplittableRandomHelper(7).randomDistinctIntArr(SIZE, 0, 1_000_000, false));
+        assertThat(distinctArr).isNotEqualTo(sorted(distinctArr));  // <-- the encounter order remains random
+        assertThat(new SplittableRandomHelper(7).randomDistinctIntArr(SIZE, Integer.MIN_VALUE, Integer.MAX_VALUE, true))
+            .hasSize(SIZE).doesNotHaveDuplicates();
+        assertThat(splittable.randomDistinctIntArr(100, 0, 100, true))
+            .containsExactlyInAnyOrder(IntStream.range(0, 100).toArray());  // <-- the small range is exhausted
+        assertThatIllegalArgumentException().isThrownBy(() -> splittable.randomDistinctIntArr(200, 0, 100, true))
+            .withMessage("cannot pick 200 distinct integers from the range [0;100) of size 100");
+
+        assertThat(splittable.randomSortedIntArr(SIZE, 0, 10, true)).hasSize(SIZE).isSorted();
+        assertThat(splittable.randomIncreasingIntArr(SIZE, 0, 10 * SIZE, true)).hasSize(SIZE).isSorted().doesNotHaveDuplicates();
+        assertThat(splittable.randomIntArr(0, 0, 1, true)).isEmpty();
+        assertThatIllegalArgumentException().isThrownBy(() -> splittable.randomIntArr(10, 5, 5, true))
+            .withMessage("the low bound 5 must be less than the high bound 5");
+        assertThatIllegalArgumentException().isThrownBy(() -> splittable.randomIntArr(-1, 0, 5, true));
+    }
+
+    @Test
+    void testShuffles() {
+        assertThat(rnd.randomRangeArr(5, 35)).containsExactlyInAnyOrder(IntStream.range(5, 35).toArray());
+        assertThat(rnd.randomRangeArr(3, 3)).isEmpty();
+        assertThat(rnd.randomRangeArr(5, 3)).isEmpty();
+        assertThat(rnd.randomRangeClosedArr(-2, 2)).containsExactlyInAnyOrder(-2, -1, 0, 1, 2);
+        assertThat(new RandomHelper(9).randomRangeArr(0, 50)).isEqualTo(new RandomHelper(9).randomRangeArr(0, 50));
+
+        long[] longsArr = LongStream.range(0, 100).toArray();
+        rnd.shuffleArr(longsArr);
+        assertThat(longsArr).containsExactlyInAnyOrder(LongStream.range(0, 100).toArray()).isNotEqualTo(LongStream.range(0, 100).toArray());
+        double[] doublesArr = { 0.5, 1.5, 2.5, 3.5 };
+        rnd.shuffleArr(doublesArr);
+        assertThat(doublesArr).containsExactlyInAnyOrder(0.5, 1.5, 2.5, 3.5);
+        char[] charsArr = "abcdef".toCharArray();
+        rnd.shuffleArr(charsArr);
+        assertThat(charsArr).containsExactlyInAnyOrder('a', 'b', 'c', 'd', 'e', 'f');
+        String[] stringsArr = { "one", "two", "three" };
+        rnd.shuffleArr(stringsArr);
+        assertThat(stringsArr).containsExactlyInAnyOrder("one", "two", "three");
+        List<Integer> linkedList = new LinkedList<>(List.of(1, 2, 3, 4, 5));
+        rnd.shuffleList(linkedList);
+        assertThat(linkedList).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+
+        // each of 3! permutations is equally likely (the former shuffle was biased to some of them)
+        Map<String, Integer> permutationCounts = new TreeMap<>();
+        RandomHelper rnd7 = new RandomHelper(7);
+        for (int i = 0; i < 6000; i++) {
+            int[] valuesArr = { 1, 2, 3 };
+            rnd7.shuffleArr(valuesArr);
+            permutationCounts.merge(Arrays.toString(valuesArr), 1, Integer::sum);
+        }
+        assertThat(permutationCounts).hasSize(6);
+        assertThat(permutationCounts.values()).allMatch(count -> count > 880 && count < 1120);
+    }
+
+    @Test
+    void testLazyPermutation() {
+        RandomHelper.Permutation permutation = new RandomHelper(11).randomPermutation(1000);
+        assertThat(permutation.size()).isEqualTo(1000);
+        long[] visited = new long[1000];
+        PrimitiveIterator.OfLong iterator = permutation.iterator();
+        for (int i = 0; i < visited.length; i++) {
+            visited[i] = iterator.nextLong();
+            assertThat(permutation.get(i)).isEqualTo(visited[i]);
+        }
+        assertThat(iterator.hasNext()).isFalse();
+        assertThrows(NoSuchElementException.class, iterator::nextLong);
+        assertThat(visited).containsExactlyInAnyOrder(LongStream.range(0, 1000).toArray())
+            .isNotEqualTo(LongStream.range(0, 1000).toArray());
+        assertThat(permutation.longs().parallel().toArray()).isEqualTo(visited);
+        assertThat(permutation.ints().asLongStream().toArray()).isEqualTo(visited);
+        assertThat(new RandomHelper(11).randomPermutation(1000).longs().toArray()).isEqualTo(visited);
+
+        assertThat(rnd.randomPermutation(0).longs()).isEmpty();
+        assertThat(rnd.randomPermutation(1).longs()).containsExactly(0L);
+        assertThat(rnd.randomPermutation(3).longs()).containsExactlyInAnyOrder(0L, 1L, 2L);
+        RandomHelper.Permutation hugePermutation = rnd.randomPermutation(1L << 40);
+        assertThat(LongStream.range(0, 10_000).map(hugePermutation::get).distinct().count()).isEqualTo(10_000);
+        assertThat(LongStream.range(0, 10_000).map(hugePermutation::get).allMatch(value -> value >= 0 && value < 1L << 40)).isTrue();
+        assertThat(hugePermutation.toString()).isEqualTo("Permutation(size=1099511627776; bits=40)");
+        assertThrows(IllegalStateException.class, hugePermutation::ints);
+        assertThrows(IllegalStateException.class, () -> rnd.randomPermutation(1L << 31).ints());
+        // the domain of 64 bits exceeds the range of non-negative longs - so, the values are compared as unsigned ones
+        RandomHelper.Permutation maxPermutation = rnd.randomPermutation(Long.MAX_VALUE);
+        assertThat(LongStream.range(0, 10_000).map(maxPermutation::get).allMatch(value -> value >= 0)).isTrue();
+        assertThat(maxPermutation.get(Long.MAX_VALUE - 1)).isNotNegative();
+        assertThrows(IndexOutOfBoundsException.class, () -> permutation.get(1000));
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomPermutation(-1));
+    }
+
+    @Test
+    void testParallelShuffles() {
+        final int SIZE = 2 * SplittableRandomHelper.SHUFFLE_BUCKET_SIZE + 123;
+        int[] sequentialArr = new SplittableRandomHelper(3).randomPermutationArr(SIZE, false);
+        int[] parallelArr = new SplittableRandomHelper(3).randomPermutationArr(SIZE, true);
+        assertThat(parallelArr).isEqualTo(sequentialArr);
+        assertThat(sorted(parallelArr)).isEqualTo(IntStream.range(0, SIZE).toArray());
+        // about a half of elements from the first half of the range remain in the first half of array
+        long remainingCount = IntStream.range(0, SIZE / 2).filter(i -> parallelArr[i] < SIZE / 2).count();
+        assertThat(remainingCount).isBetween(SIZE / 4 - SIZE / 200L, SIZE / 4 + SIZE / 200L);
+
+        int[] intsArr = IntStream.range(0, SIZE).toArray();
+        new SplittableRandomHelper(3).shuffleArr(intsArr, false);
+        assertThat(intsArr).isEqualTo(sequentialArr);  // <-- all the arrays are shuffled by the same permutation
+        long[] longsArr = LongStream.range(0, SIZE).toArray();
+        new SplittableRandomHelper(3).shuffleArr(longsArr, true);
+        assertThat(longsArr).isEqualTo(Arrays.stream(sequentialArr).asLongStream().toArray());
+        Integer[] boxedArr = IntStream.range(0, SIZE).boxed().toArray(Integer[]::new);
+        new SplittableRandomHelper(3).shuffleArr(boxedArr, true);
+        assertThat(Arrays.stream(boxedArr).mapToInt(Integer::intValue).toArray()).isEqualTo(sequentialArr);
+        double[] doublesArr = { 1.0, 2.0, 3.0 };
+        new SplittableRandomHelper(3).shuffleArr(doublesArr, true);
+        assertThat(doublesArr).containsExactlyInAnyOrder(1.0, 2.0, 3.0);
+        assertThat(new SplittableRandomHelper(3).randomPermutationArr(10, true)).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void testDistinctSampling() {
+        RandomHelper rnd = new RandomHelper(17);
+        // the partial Fisher-Yates shuffle of the dense range
+        assertThat(rnd.randomDistinctIntArr(100, 0, 100)).containsExactlyInAnyOrder(IntStream.range(0, 100).toArray());
+        int[] denseArr = rnd.randomDistinctIntArr(60, -50, 50);
+        assertThat(denseArr).hasSize(60).doesNotHaveDuplicates();
+        assertThat(inRange(denseArr, -50, 50)).isTrue();
+        // Floyd's algorithm over the bitmap and over the hash-set
+        int[] bitmapArr = rnd.randomDistinctIntArr(1000, 5, 10_005);
+        assertThat(bitmapArr).hasSize(1000).doesNotHaveDuplicates();
+        assertThat(inRange(bitmapArr, 5, 10_005)).isTrue();
+        assertThat(bitmapArr).isNotEqualTo(sorted(bitmapArr));  // <-- the order of Floyd's sample is shuffled
+        int[] hashSetArr = rnd.randomDistinctIntArr(1000, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertThat(hashSetArr).hasSize(1000).doesNotHaveDuplicates();
+        assertThat(hashSetArr).isNotEqualTo(sorted(hashSetArr));
+        assertThat(rnd.randomDistinctIntArr(1, Integer.MIN_VALUE, Integer.MIN_VALUE + 1)).containsExactly(Integer.MIN_VALUE);
+        assertThat(rnd.randomDistinctIntArr(0, 0, 1)).isEmpty();
+
+        // the sorted variant scans the bitmap without sorting (or sorts the sample of the hash-set)
+        assertThat(rnd.randomIncreasingIntArr(64, 0, 64)).containsExactly(IntStream.range(0, 64).toArray());
+        int[] increasingArr = rnd.randomIncreasingIntArr(1000, -3000, 3000);
+        assertThat(increasingArr).hasSize(1000).isSorted().doesNotHaveDuplicates();
+        assertThat(inRange(increasingArr, -3000, 3000)).isTrue();
+        assertThat(rnd.randomIncreasingIntArr(1000, Integer.MIN_VALUE, Integer.MAX_VALUE)).hasSize(1000).isSorted()
+            .doesNotHaveDuplicates();
+        assertThat(rnd.randomDecreasingIntArr(10, 0, 10)).containsExactly(9, 8, 7, 6, 5, 4, 3, 2, 1, 0);
+        assertThat(new RandomHelper(5).randomIncreasingIntArr(500, 0, 2000))
+            .isEqualTo(new RandomHelper(5).randomIncreasingIntArr(500, 0, 2000));
+
+        // each value of the range is picked with the same probability
+        int[] hits = new int[10];
+        for (int i = 0; i < 10_000; i++) {
+            for (int value : rnd.randomDistinctIntArr(3, 0, 10)) {
+                hits[value]++;
+            }
+        }
+        assertThat(inRange(hits, 2700, 3300)).isTrue();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomDistinctIntArr(11, 0, 10))
+            .withMessage("cannot pick 11 distinct integers from the range [0;10) of size 10");
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomIncreasingIntArr(-1, 0, 10));
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.randomDecreasingIntArr(1, 10, 10))
+            .withMessage("the low bound 10 must be less than the high bound 10");
+    }
+
+    @Test
+    void testReservoirSampling() {
+        List<Integer> sample = IntStream.range(0, 10_000).boxed().collect(new RandomHelper(3).toSample(10));
+        assertThat(sample).hasSize(10).doesNotHaveDuplicates()
+            .isEqualTo(IntStream.range(0, 10_000).boxed().collect(new RandomHelper(3).toSample(10)));
+        assertThat(IntStream.range(0, 7).boxed().collect(rnd.toSample(10))).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(Stream.<String>empty().collect(rnd.toSample(3))).isEmpty();
+
+        ReservoirSample<Integer> parallelSample = IntStream.range(0, 100_000).boxed().parallel()
+            .collect(rnd.toReservoirSample(50));
+        assertThat(parallelSample.seen()).isEqualTo(100_000);
+        assertThat(parallelSample.capacity()).isEqualTo(50);
+        assertThat(parallelSample.toList()).hasSize(50).doesNotHaveDuplicates();
+        assertThat(parallelSample.isWeighted()).isFalse();
+
+        // each element is picked with the same probability "k/N" (for sequential and merged samples)
+        RandomHelper rnd5 = new RandomHelper(5);
+        int[] hits = new int[100];
+        int[] parallelHits = new int[100];
+        for (int i = 0; i < 5000; i++) {
+            IntStream.range(0, 100).boxed().collect(rnd5.toSample(10)).forEach(value -> hits[value]++);
+            IntStream.range(0, 100).boxed().parallel().collect(rnd5.toSample(10)).forEach(value -> parallelHits[value]++);
+        }
+        assertThat(inRange(hits, 400, 600)).isTrue();
+        assertThat(inRange(parallelHits, 400, 600)).isTrue();
+
+        // the containers of parallel stream get their own generators, which are split from the not thread-safe one
+        SplittableRandomHelper splittable = new SplittableRandomHelper(5);
+        assertThat(IntStream.range(0, 10_000).boxed().collect(splittable.toSample(10)))
+            .isEqualTo(IntStream.range(0, 10_000).boxed().collect(new SplittableRandomHelper(5).toSample(10)));
+        ReservoirSample<Integer> splittableSample = IntStream.range(0, 100_000).boxed().parallel()
+            .collect(splittable.toReservoirSample(50));
+        assertThat(splittableSample.seen()).isEqualTo(100_000);
+        assertThat(splittableSample.toList()).hasSize(50).doesNotHaveDuplicates();
+        int[] splittableHits = new int[100];
+        for (int i = 0; i < 5000; i++) {
+            IntStream.range(0, 100).boxed().parallel().collect(splittable.toSample(10)).forEach(value -> splittableHits[value]++);
+        }
+        assertThat(inRange(splittableHits, 400, 600)).isTrue();
+
+        // the probability of element is proportional to its weight (the elements of zero weight are never picked)
+        int heavyHits = 0;
+        for (int i = 0; i < 4000; i++) {
+            List<Integer> weighted = IntStream.range(0, 200).boxed()
+                .collect(rnd5.toWeightedSample(1, value -> value == 0 ? 100.0 : value % 2));
+            assertThat(weighted).hasSize(1).allMatch(value -> value == 0 || value % 2 == 1);
+            heavyHits += weighted.getFirst() == 0 ? 1 : 0;
+        }
+        assertThat(heavyHits).isBetween(1800, 2200);  // <-- the probability is 100 / (100 + 100)
+        ReservoirSample<Integer> weightedSample = IntStream.range(0, 10_000).boxed().parallel()
+            .collect(rnd.toWeightedReservoirSample(20, value -> 1.0 + value));
+        assertThat(weightedSample.seen()).isEqualTo(10_000);
+        assertThat(weightedSample.toList()).hasSize(20).doesNotHaveDuplicates();
+        assertThat(weightedSample.isWeighted()).isTrue();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.toSample(0))
+            .withMessage("the capacity of reservoir sample must be positive, but it's 0");
+        assertThatIllegalArgumentException().isThrownBy(() -> rnd.toWeightedSample(1, null))
+            .withMessage("the weigher of weighted sample must not be << NULL >>");
+        assertThatIllegalArgumentException().isThrownBy(() -> Stream.of("a", "b").collect(rnd.toWeightedSample(1, str -> -1.0)))
+            .withMessage("the weight of sampled element must be non-negative and finite, but it's -1.0");
+    }
+
+    private static boolean inRange(int[] valuesArr, int lowBound, int highBound) {
+        return Arrays.stream(valuesArr).allMatch(value -> value >= lowBound && value < highBound);
+    }
+
+    private static int[] sorted(int[] valuesArr) {
+        int[] sortedArr = valuesArr.clone();
+        Arrays.sort(sortedArr);
+        return sortedArr;
+    }
+
     @Test
     void testRandomArrays() {
         assertThat(rnd123.randomIncreasingIntArr(15, 1, 100))
-            .containsExactly(9, 12, 21, 32, 33, 41, 44, 54, 64, 67, 76, 78, 82, 87, 99);
+            .containsExactly(25, 31, 35, 43, 44, 54, 62, 63, 65, 72, 74, 76, 78, 79, 87);
         assertThat(rnd123.randomDecreasingIntArr(15, 1, 100))
-            .containsExactly(86, 72, 70, 64, 60, 55, 40, 39, 38, 26, 23, 18, 15, 9, 2);
+            .containsExactly(99, 87, 78, 71, 69, 59, 55, 51, 41, 34, 33, 26, 24, 9, 5);
         assertThat(rnd123.randomSortedIntArr(15, 1, 30))
-            .containsExactly(2, 6, 8, 11, 13, 14, 18, 20, 22, 23, 23, 24, 24, 28, 29);
+            .containsExactly(2, 6, 8, 13, 14, 14, 18, 20, 22, 23, 23, 24, 24, 28, 29);
         assertThat(rnd123.randomSortedReversedIntArr(15, 1, 30))
-            .containsExactly(27, 24, 21, 21, 20, 20, 18, 18, 16, 14, 13, 12, 9, 2, 2);
+            .containsExactly(27, 24, 21, 20, 18, 18, 16, 14, 13, 12, 11, 9, 8, 2, 2);
     }
 
     @Test
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.krmdemo.techlabs.core.dump.DumpUtils;
 import org.krmdemo.techlabs.core.utils.CoreFileUtils;
+import org.krmdemo.techlabs.core.utils.CoreFileUtils.WriteMode;
 import org.thymeleaf.templateresolver.FileTemplateResolver;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -17,6 +18,7 @@ import picocli.CommandLine.ParentCommand;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,15 +31,16 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.summingInt;
+import static java.util.stream.Collectors.toSet;
 import static org.krmdemo.techlabs.core.utils.CoreCollectors.toSortedSet;
-import static org.krmdemo.techlabs.core.utils.CoreFileUtils.copyFile;
-import static org.krmdemo.techlabs.core.utils.CoreFileUtils.saveFileContent;
+import static org.krmdemo.techlabs.core.utils.CoreFileUtils.writeFileContent;
 
 /**
  * Sub-command {@code process} of <b>{@code th-tool}</b> that transforms the input-templates
@@ -134,16 +137,33 @@ public class ThymeleafToolProcDir implements Callable<Integer> {
         Result result = new Result();
         System.out.println("- processing result before --> " + DumpUtils.dumpAsJsonTxt(result));
         if (result.countTotal() > 0 && outputLocation != null && cleanOutput) {
-            int removedCount = CoreFileUtils.removeSilent(outputLocation);
-            if (removedCount > 0) {
-                System.out.printf("- output directory has been cleaned (%d items were removed);%n", removedCount);
+            CoreFileUtils.RemoveResult removeResult = CoreFileUtils.removeTree(outputLocation.toPath(), true);
+            if (removeResult.removedCount() > 0) {
+                System.out.printf("- output directory has been cleaned (%d items were removed);%n", removeResult.removedCount());
             }
+            if (!removeResult.isSuccess()) {
+                System.out.println("- could not clean the output directory --> " + removeResult.failedPaths());
+            }
+        }
+
+        boolean copiedSuccessfully = true;
+        if (result.countToCopy() > 0 && outputLocation != null) {
+            // all the files that are not Thymeleaf-templates are mirrored concurrently (the unchanged ones are skipped)
+            Set<Path> inputsToCopy = result.processPairs.stream()
+                .filter(pair -> !pair.isProcessing())
+                .map(pair -> pair.input.toPath().toAbsolutePath().normalize())
+                .collect(toSet());
+            CoreFileUtils.MirrorResult mirrorResult = CoreFileUtils.mirrorDir(
+                inputLocation.toPath(), outputLocation.toPath(), CoreFileUtils.MirrorOptions.of()
+                    .withFilter(walkPath -> inputsToCopy.contains(walkPath.toAbsolutePath().normalize())));
+            System.out.println("- copying result --> " + DumpUtils.dumpAsJsonTxt(mirrorResult));
+            copiedSuccessfully = mirrorResult.isSuccess();
         }
 
         result.processPairs.forEach(Result.Pair::handle);
         System.out.println("- processing result after ---> " + DumpUtils.dumpAsJsonTxt(result));
 
-        return 0;
+        return copiedSuccessfully ? 0 : 1;
     }
 
     private enum HandleStatus {
@@ -213,12 +233,13 @@ public class ThymeleafToolProcDir implements Callable<Integer> {
                     handleStatus = HandleStatus.NO_OUTPUT;
                 } else if (isProcessing()) {
                     tt.varsCtx.getThToolHelper().setInputFile(input);
-                    String outputContent = tt.templateEngine.process(input.getPath(), tt.varsCtx);
-                    saveFileContent(output, outputContent);
+                    // the output is rendered directly into the temporary file, which replaces the previous one atomically
+                    writeFileContent(output.toPath(), StandardCharsets.UTF_8, WriteMode.ATOMIC,
+                        writer -> tt.templateEngine.process(input.getPath(), tt.varsCtx, writer));
                     handleStatus = HandleStatus.PROCESSED;
                 } else {
-                    copyFile(input, output);
-                    handleStatus = HandleStatus.COPIED;
+                    // the files to copy are already mirrored by 'CoreFileUtils.mirrorDir(...)'
+                    handleStatus = output.isFile() ? HandleStatus.COPIED : HandleStatus.UNHANDLED;
                 }
             }
         }